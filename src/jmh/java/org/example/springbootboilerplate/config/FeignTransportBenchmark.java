@@ -0,0 +1,89 @@
+package org.example.springbootboilerplate.config;
+
+import com.sun.net.httpserver.HttpServer;
+import feign.Client;
+import feign.Feign;
+import feign.RequestLine;
+import feign.hc5.ApacheHttp5Client;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로컬 stub 서버 (JDK HttpServer) 를 대상으로 한 Feign transport 부하 비교.
+ * 기본 HttpURLConnection Client 와 FeignConfig 가 사용하는 pooling HttpClient 5 Client 를 여러 스레드에서 동시에 호출한다.
+ * <pre>
+ *     ./gradlew jmh -Pjmh.includes=FeignTransportBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(16)
+public class FeignTransportBenchmark {
+
+    private static final byte[] BODY = "{\"status\":\"ok\"}".getBytes(StandardCharsets.UTF_8);
+
+    interface StubApi {
+        @RequestLine("GET /status")
+        String status();
+    }
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private CloseableHttpClient pooledHttpClient;
+    private StubApi defaultApi;
+    private StubApi pooledApi;
+
+    @Setup
+    public void setup() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        server.createContext("/status", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, BODY.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(BODY);
+            }
+        });
+        serverExecutor = Executors.newFixedThreadPool(32);
+        server.setExecutor(serverExecutor);
+        server.start();
+        String url = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        // spring.cloud.openfeign.httpclient.* 의 기본 설정과 같은 연결 수
+        pooledHttpClient = HttpClients.custom()
+                .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                        .setMaxConnTotal(200)
+                        .setMaxConnPerRoute(50)
+                        .build())
+                .build();
+        defaultApi = Feign.builder().client(new Client.Default(null, null)).target(StubApi.class, url);
+        pooledApi = Feign.builder().client(new ApacheHttp5Client(pooledHttpClient)).target(StubApi.class, url);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        pooledHttpClient.close();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public String defaultClient() {
+        return defaultApi.status();
+    }
+
+    @Benchmark
+    public String pooledClient() {
+        return pooledApi.status();
+    }
+}
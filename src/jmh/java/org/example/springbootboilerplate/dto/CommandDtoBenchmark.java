@@ -0,0 +1,91 @@
+package org.example.springbootboilerplate.dto;
+
+import org.example.springbootboilerplate.properties.K8SProperties;
+import org.example.springbootboilerplate.util.Util;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CommandDto 의 toCMD (CommandTemplate) 와 기존 방식 (매번 인자 배열을 만들고 Util.concatAllArray 로 합치기) 비교
+ * <pre>
+ *     ./gradlew jmh -Pjmh.includes=CommandDtoBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CommandDtoBenchmark {
+
+    private static final String[] installBase = {"helm", "install"};
+    private static final String[] patchBase = {"kubectl", "patch", "-p"};
+
+    private K8SProperties k8SProperties;
+    private String spaceId;
+    private String resourceQuota;
+
+    @Setup
+    public void setup() {
+        k8SProperties = new K8SProperties();
+        k8SProperties.setKubeConfigPath("/home/app/.kube/config");
+        new CommandDto(k8SProperties).init();
+        spaceId = "space-0001";
+        resourceQuota = "{\"spec\":{\"hard\":{\"requests.cpu\":\"4\",\"requests.memory\":\"8Gi\"}}}";
+    }
+
+    @Benchmark
+    public String[] installTemplate() {
+        return CommandDto.InstallCommand.builder()
+                .spaceId(spaceId)
+                .vclusterNamespace("vcluster-" + spaceId)
+                .chartPath("/charts/values.yaml")
+                .build()
+                .toCMD();
+    }
+
+    @Benchmark
+    public String[] installLegacy() {
+        String[] preCommand = {
+                spaceId,
+                "--create-namespace",
+                "-n",
+                "vcluster-" + spaceId,
+                "--repo",
+                "https://charts.loft.sh",
+                "vcluster",
+                "--version",
+                "0.15.5",
+                "-f",
+                "/charts/values.yaml"
+        };
+        return Util.concatAllArray(installBase, withKubeConfig(false), preCommand);
+    }
+
+    @Benchmark
+    public String[] patchTemplate() {
+        return CommandDto.ResourceQuotaPatch.builder()
+                .spaceId(spaceId)
+                .resourceQuota(resourceQuota)
+                .build()
+                .toCMD();
+    }
+
+    @Benchmark
+    public String[] patchLegacy() {
+        String[] preCommand = {
+                resourceQuota,
+                "resourcequota",
+                spaceId + "-quota",
+                "--namespace",
+                "vcluster-" + spaceId
+        };
+        return Util.concatAllArray(patchBase, preCommand, withKubeConfig(false));
+    }
+
+    private String[] withKubeConfig(Boolean isVcluster) {
+        return Objects.nonNull(k8SProperties.getKubeConfigPath())
+                ? new String[]{isVcluster ? "--kube-config" : "--kubeconfig", k8SProperties.getKubeConfigPath()}
+                : new String[]{};
+    }
+}
@@ -0,0 +1,163 @@
+package org.example.springbootboilerplate.repository;
+
+import org.example.springbootboilerplate.entity.JobState;
+import org.example.springbootboilerplate.entity.ProvisioningJob;
+import org.example.springbootboilerplate.entity.ProvisioningJobSummary;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.sql.init.SqlInitializationAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * /jobs/search/scroll 가 호출하는 {@link ProvisioningJobRepository#scroll} 와 offset 방식 비교.
+ * schema.sql 로 만든 H2 메모리 DB 에 JPA 로 조회하며, 조건마다 전체의 90% 지점 page 를 조회한다.
+ * keyset 은 row 수가 늘어나도 비슷한 시간이어야 하고, offset 은 row 수에 비례해서 늘어난다.
+ * <pre>
+ *     ./gradlew jmh -Pjmh.includes=JobPagingBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JobPagingBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+    private static final int SPACES = 50;
+    private static final JobState[] STATES = {
+            JobState.SUCCEEDED, JobState.SUCCEEDED, JobState.SUCCEEDED, JobState.FAILED, JobState.RUNNING};
+
+    private static final String INSERT_SQL = "insert into provisioning_job "
+            + "(id, operation, space_id, state, queued_at, finished_at, exit_code, stderr) values (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String OFFSET_SQL = "select id, operation, space_id, state, queued_at, finished_at, exit_code "
+            + "from provisioning_job %s order by queued_at desc, id desc limit ? offset ?";
+
+    public enum Filter {
+        NONE,
+        STATE,
+        SPACE
+    }
+
+    @SpringBootConfiguration
+    @ImportAutoConfiguration({
+            DataSourceAutoConfiguration.class,
+            SqlInitializationAutoConfiguration.class,
+            HibernateJpaAutoConfiguration.class,
+            TransactionAutoConfiguration.class,
+            JdbcTemplateAutoConfiguration.class
+    })
+    @EntityScan(basePackageClasses = ProvisioningJob.class)
+    @EnableJpaRepositories(basePackageClasses = ProvisioningJobRepository.class)
+    static class PagingContext {
+    }
+
+    @Param({"10000", "100000", "1000000"})
+    private int rows;
+
+    @Param({"NONE", "STATE", "SPACE"})
+    private Filter filter;
+
+    private ConfigurableApplicationContext context;
+    private ProvisioningJobRepository repository;
+    private JdbcTemplate jdbcTemplate;
+    private JobState state;
+    private String spaceId;
+    private String offsetSql;
+    private Object[] offsetArguments;
+    private Instant cursorQueuedAt;
+    private String cursorId;
+
+    @Setup
+    public void setup() {
+        context = new SpringApplicationBuilder(PagingContext.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:paging-" + rows + "-" + filter + ";DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=none",
+                        "spring.sql.init.mode=always")
+                .run();
+        repository = context.getBean(ProvisioningJobRepository.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        Instant base = Instant.parse("2024-01-01T00:00:00Z");
+        List<Object[]> batch = new ArrayList<>(1000);
+        for (int i = 0; i < rows; i++) {
+            Instant queuedAt = base.plusSeconds(i);
+            batch.add(new Object[]{String.format("job-%09d", i), "INSTALL", "space-" + (i % SPACES),
+                    STATES[i % STATES.length].name(), queuedAt.atOffset(ZoneOffset.UTC),
+                    queuedAt.plusSeconds(30).atOffset(ZoneOffset.UTC), 0, "x".repeat(200)});
+            if (batch.size() == 1000) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+        }
+
+        state = filter == Filter.STATE ? JobState.SUCCEEDED : null;
+        spaceId = filter == Filter.SPACE ? "space-7" : null;
+        long matching = switch (filter) {
+            case NONE -> rows;
+            case STATE -> rows * 3L / 5;
+            case SPACE -> rows / SPACES;
+        };
+        String where = switch (filter) {
+            case NONE -> "";
+            case STATE -> "where state = 'SUCCEEDED'";
+            case SPACE -> "where space_id = 'space-7'";
+        };
+        int deepOffset = (int) (matching * 0.9);
+        offsetSql = String.format(OFFSET_SQL, where);
+        offsetArguments = new Object[]{PAGE_SIZE, deepOffset};
+
+        // 같은 지점의 page 를 keyset 으로 조회하기 위한 cursor
+        jdbcTemplate.query(String.format(OFFSET_SQL, where), resultSet -> {
+            cursorQueuedAt = resultSet.getObject(5, OffsetDateTime.class).toInstant();
+            cursorId = resultSet.getString(1);
+        }, 1, deepOffset - 1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        jdbcTemplate.execute("drop all objects");
+        context.close();
+    }
+
+    @Benchmark
+    public void keysetDeepPage(Blackhole blackhole) {
+        Slice<ProvisioningJobSummary> page = repository.scroll(
+                state, spaceId, null, null, cursorQueuedAt, cursorId, PageRequest.ofSize(PAGE_SIZE));
+        for (ProvisioningJobSummary job : page) {
+            blackhole.consume(job.getId());
+            blackhole.consume(job.getQueuedAt());
+        }
+    }
+
+    @Benchmark
+    public void offsetDeepPage(Blackhole blackhole) {
+        jdbcTemplate.query(offsetSql, resultSet -> {
+            blackhole.consume(resultSet.getString(1));
+            blackhole.consume(resultSet.getObject(5));
+        }, offsetArguments);
+    }
+}
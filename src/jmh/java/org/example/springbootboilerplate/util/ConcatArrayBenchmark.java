@@ -0,0 +1,76 @@
+package org.example.springbootboilerplate.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Util.concatAllArray (단일 할당 + System.arraycopy) 와 기존 방식 (Stream + Array.newInstance 로 두 개씩 합치기) 비교
+ * <pre>
+ *     ./gradlew jmh -Pjmh.includes=ConcatArrayBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ConcatArrayBenchmark {
+
+    /**
+     * 합칠 배열 갯수
+     */
+    @Param({"3", "16"})
+    private int arrayCount;
+
+    /**
+     * 배열 하나의 길이
+     */
+    @Param({"4", "1024"})
+    private int arrayLength;
+
+    private String[][] arrays;
+
+    @Setup
+    public void setup() {
+        arrays = new String[arrayCount][];
+        for (int i = 0; i < arrayCount; i++) {
+            String[] array = new String[arrayLength];
+            Arrays.fill(array, "arg-" + i);
+            arrays[i] = array;
+        }
+    }
+
+    @Benchmark
+    public String[] singlePass() {
+        return Util.concatAllArray(arrays);
+    }
+
+    @Benchmark
+    public String[] legacy() {
+        return legacyConcatAllArray(arrays);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T[] legacyConcatArray(T[] firstArray, T[] secondArray) {
+        return Stream.concat(Arrays.stream(firstArray), Arrays.stream(secondArray)).toArray(size ->
+                (T[]) Array.newInstance(
+                        firstArray.getClass().getComponentType(), size));
+    }
+
+    @SafeVarargs
+    private static <T> T[] legacyConcatAllArray(T[]... arrays) {
+        T[] result = null;
+        for (T[] array : arrays) {
+            if (Objects.isNull(result)) {
+                result = array;
+            }
+            else {
+                result = legacyConcatArray(result, array);
+            }
+        }
+        return result;
+    }
+}
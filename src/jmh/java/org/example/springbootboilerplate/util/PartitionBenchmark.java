@@ -0,0 +1,99 @@
+package org.example.springbootboilerplate.util;
+
+import org.apache.commons.lang3.tuple.Triple;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Partitioner 를 이용한 분기와 기존 방식 (stream().reduce + classifier 여러번 호출) 비교.
+ * parallelism 별로 ForkJoinPool 을 따로 만들어 parallel Collector 가 코어 수에 따라 어떻게 늘어나는지 확인한다.
+ * <pre>
+ *     ./gradlew jmh -Pjmh.includes=PartitionBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PartitionBenchmark {
+
+    private static final String[] FLAGS = {"U", "D", "A"};
+
+    @Param({"10000", "1000000"})
+    private int size;
+
+    @Param({"1", "2", "4", "8"})
+    private int parallelism;
+
+    private List<Member> members;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setup() {
+        members = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            members.add(new Member("member-" + i, FLAGS[i % FLAGS.length]));
+        }
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Benchmark
+    public Triple<List<Member>, List<Member>, List<Member>> presizedSequential() {
+        return Util.getTripleWithCollectionsByFlag(members, Member::getActionFlag, FLAGS);
+    }
+
+    @Benchmark
+    public List<List<Member>> parallelCollector() {
+        return pool.submit(() -> members.parallelStream()
+                .collect(Partitioner.byKeys(Member::getActionFlag, FLAGS))).join();
+    }
+
+    @Benchmark
+    public Triple<List<Member>, List<Member>, List<Member>> legacyReduce() {
+        return members.stream().reduce(
+                Triple.of(new ArrayList<>(), new ArrayList<>(), new ArrayList<>()),
+                (pre, t) -> {
+                    if (t.getActionFlag().equals(FLAGS[0])) {
+                        pre.getLeft().add(t);
+                    } else if (t.getActionFlag().equals(FLAGS[1])) {
+                        pre.getMiddle().add(t);
+                    } else if (t.getActionFlag().equals(FLAGS[2])) {
+                        pre.getRight().add(t);
+                    }
+                    return pre;
+                },
+                (pre, curr) -> {
+                    pre.getLeft().addAll(curr.getLeft());
+                    pre.getMiddle().addAll(curr.getMiddle());
+                    pre.getRight().addAll(curr.getRight());
+                    return pre;
+                }
+        );
+    }
+
+    public static class Member {
+        private final String name;
+        private final String actionFlag;
+
+        public Member(String name, String actionFlag) {
+            this.name = name;
+            this.actionFlag = actionFlag;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getActionFlag() {
+            return actionFlag;
+        }
+    }
+}
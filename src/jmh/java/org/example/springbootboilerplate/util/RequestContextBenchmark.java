@@ -0,0 +1,73 @@
+package org.example.springbootboilerplate.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 작업 하나를 RequestContext 로 감쌌을 때 추가되는 비용 (capture + restore + 되돌리기) 측정.
+ * <pre>
+ *     ./gradlew jmh -Pjmh.includes=RequestContextBenchmark
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RequestContextBenchmark {
+
+    /**
+     * 0 이면 header 가 없는 스레드 (배치, 스케줄러 등)
+     */
+    @Param({"0", "16"})
+    private int headerCount;
+
+    private long counter;
+    private Runnable task;
+
+    @Setup
+    public void setup() {
+        task = () -> counter++;
+        if (headerCount == 0) {
+            RequestHolder.clearRequestHeaders();
+            return;
+        }
+        Map<String, String> headers = new HashMap<>();
+        for (int i = 0; i < headerCount; i++) {
+            headers.put("x-header-" + i, "value-" + i);
+        }
+        RequestHolder.setRequestHeaders(headers);
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestHolder.clearRequestHeaders();
+    }
+
+    @Benchmark
+    public long plain() {
+        task.run();
+        return counter;
+    }
+
+    @Benchmark
+    public long wrapped() {
+        RequestContext.wrap(task).run();
+        return counter;
+    }
+
+    /**
+     * 다른 스레드에서 실행되는 경우처럼 비어있는 스레드에 snapshot 을 설정하고 비우는 비용
+     */
+    @Benchmark
+    public long restoreOnEmptyThread() {
+        RequestContext context = RequestContext.capture();
+        RequestHolder.clearRequestHeaders();
+        try (RequestContext.Scope ignored = context.restore()) {
+            task.run();
+        }
+        RequestHolder.restoreRequestHeaders(context.isEmpty() ? null : context.getHeaders());
+        return counter;
+    }
+}
@@ -0,0 +1,98 @@
+package org.example.springbootboilerplate.util;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기존 Pair List 생성 후 순회와 ZipView / IntKeyedColumns 순회 비교.
+ * build.gradle 의 gc profiler 가 출력하는 gc.alloc.rate.norm 으로 op 당 할당량 차이를 확인한다.
+ * <pre>
+ *     ./gradlew jmh -Pjmh.includes=ZipBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ZipBenchmark {
+
+    @Param({"10000", "1000000"})
+    private int size;
+
+    private List<String> spaceIds;
+    private List<String> namespaces;
+    private List<Space> spaces;
+
+    @Setup
+    public void setup() {
+        spaceIds = new ArrayList<>(size);
+        namespaces = new ArrayList<>(size);
+        spaces = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            spaceIds.add("space-" + i);
+            namespaces.add("vcluster-space-" + i);
+            spaces.add(new Space(i, "space-" + i));
+        }
+    }
+
+    @Benchmark
+    public void eagerPairList(Blackhole blackhole) {
+        for (Pair<String, String> pair : Util.getListPairByTwoList(spaceIds, namespaces)) {
+            blackhole.consume(pair.getLeft());
+            blackhole.consume(pair.getRight());
+        }
+    }
+
+    @Benchmark
+    public void lazyZipForEach(Blackhole blackhole) {
+        ZipView.of(spaceIds, namespaces).forEach((spaceId, namespace) -> {
+            blackhole.consume(spaceId);
+            blackhole.consume(namespace);
+        });
+    }
+
+    @Benchmark
+    public long lazyZipParallelStream() {
+        return ZipView.of(spaceIds, namespaces).parallelStream()
+                .filter(pair -> pair.getRight().endsWith(pair.getLeft()))
+                .count();
+    }
+
+    @Benchmark
+    public void eagerBoxedKeys(Blackhole blackhole) {
+        for (Pair<Integer, String> pair : Util.getListPairByFunctions(spaces, Space::getId, Space::getName)) {
+            blackhole.consume(pair.getLeft().intValue());
+            blackhole.consume(pair.getRight());
+        }
+    }
+
+    @Benchmark
+    public void intKeyedColumns(Blackhole blackhole) {
+        IntKeyedColumns.of(spaces, Space::getId, Space::getName).forEach((name, id) -> {
+            blackhole.consume(id);
+            blackhole.consume(name);
+        });
+    }
+
+    public static class Space {
+        private final int id;
+        private final String name;
+
+        public Space(int id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+}
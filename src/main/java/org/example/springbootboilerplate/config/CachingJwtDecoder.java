@@ -0,0 +1,76 @@
+package org.example.springbootboilerplate.config;
+
+import org.example.springbootboilerplate.util.LruCache;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 한번 검증에 성공한 token 을 exp 까지 보관해, 같은 Bearer token 으로 다시 들어온 요청은 서명 검증을 생략하는 JwtDecoder.
+ * token 원문 대신 SHA-256 hash 를 key 로 사용하며, exp 가 없는 token 은 보관하지 않는다.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private final JwtDecoder delegate;
+    private final LruCache<String, Jwt> validated;
+    private final Clock clock;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    public CachingJwtDecoder(JwtDecoder delegate, int maxEntries) {
+        this(delegate, maxEntries, Clock.systemUTC());
+    }
+
+    CachingJwtDecoder(JwtDecoder delegate, int maxEntries, Clock clock) {
+        this.delegate = delegate;
+        this.validated = new LruCache<>(maxEntries);
+        this.clock = clock;
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        String key = hash(token);
+        Jwt cached = validated.get(key);
+        Instant now = clock.instant();
+        if (cached != null) {
+            if (cached.getExpiresAt().isAfter(now)) {
+                hitCount.increment();
+                return cached;
+            }
+            validated.remove(key);
+        }
+
+        missCount.increment();
+        Jwt jwt = delegate.decode(token);
+        if (jwt.getExpiresAt() != null && jwt.getExpiresAt().isAfter(now)) {
+            validated.put(key, jwt);
+        }
+        return jwt;
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(digest);
+        }
+        catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package org.example.springbootboilerplate.config;
+
+import feign.RequestInterceptor;
+import org.example.springbootboilerplate.properties.FeignProperties;
+import org.example.springbootboilerplate.properties.KeycloakProperties;
+import org.example.springbootboilerplate.service.KeycloakTokenManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * OpenFeign 공통 설정.
+ * feign-hc5 가 classpath 에 있으면 spring-cloud-openfeign 이 pooling HttpClient 5 를 Feign Client 로 사용하며,
+ * 연결 수 / keep-alive / timeout 은 application.properties 의 spring.cloud.openfeign.httpclient.* 로 조정한다.
+ * custom.keycloak.client.feign-audiences 에 등록된 client 는 요청 header 대신 service token 으로 호출한다.
+ * 아직 Feign client 가 없으므로 @EnableFeignClients 는 첫 client 를 추가할 때 함께 선언한다.
+ */
+@Configuration
+public class FeignConfig {
+
+    @Bean
+    public RequestInterceptor headerForwardingInterceptor(FeignProperties feignProperties) {
+        return new HeaderForwardingInterceptor(feignProperties);
+    }
+
+    @Bean
+    public RequestInterceptor serviceTokenInterceptor(
+            KeycloakTokenManager keycloakTokenManager,
+            KeycloakProperties keycloakProperties) {
+        return new ServiceTokenInterceptor(keycloakTokenManager, keycloakProperties);
+    }
+}
@@ -0,0 +1,97 @@
+package org.example.springbootboilerplate.config;
+
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+import org.example.springbootboilerplate.properties.FeignProperties;
+import org.example.springbootboilerplate.util.Util;
+
+import java.util.*;
+
+/**
+ * 현재 요청 (혹은 {@link org.example.springbootboilerplate.util.RequestHolder}) 의 header 중 allow-list 에 있는 header 만 Feign 요청에 추가한다.
+ * allow-list 는 생성 시 한번만 정리하며, 원본 header Map 은 변경하지 않는다. Feign 요청에 이미 있는 header 는 덮어쓰지 않는다.
+ * 인증 header 는 custom.feign.client-forward-headers 로 명시한 client 에만 전달한다.
+ */
+public class HeaderForwardingInterceptor implements RequestInterceptor {
+
+    /**
+     * 연결마다 다시 계산되어야 하는 header 는 설정에 있더라도 전달하지 않는다.
+     */
+    private static final Set<String> NEVER_FORWARD = Set.of(
+            "content-length",
+            "host",
+            "connection",
+            "keep-alive",
+            "transfer-encoding",
+            "upgrade"
+    );
+
+    /**
+     * 모든 client 에 전달하면 사용자 권한이 다른 서비스로 새어나가므로 client 별로만 허용하는 header
+     */
+    private static final Set<String> CREDENTIALS = Set.of(
+            "authorization",
+            "proxy-authorization",
+            "cookie"
+    );
+
+    private final List<String> allowList;
+    private final Map<String, List<String>> clientAllowLists;
+
+    public HeaderForwardingInterceptor(FeignProperties feignProperties) {
+        Set<String> names = new LinkedHashSet<>();
+        addNames(names, feignProperties.getForwardHeaders(), false);
+        this.allowList = List.copyOf(names);
+
+        Map<String, List<String>> clientAllowLists = new HashMap<>();
+        feignProperties.getClientForwardHeaders().forEach((client, headers) -> {
+            Set<String> clientNames = new LinkedHashSet<>(allowList);
+            addNames(clientNames, headers, true);
+            clientAllowLists.put(client, List.copyOf(clientNames));
+        });
+        this.clientAllowLists = Map.copyOf(clientAllowLists);
+    }
+
+    private static void addNames(Set<String> names, Collection<String> headers, boolean allowCredentials) {
+        for (String name : headers) {
+            String normalized = name.trim().toLowerCase(Locale.ROOT);
+            if (!normalized.isEmpty()
+                    && !NEVER_FORWARD.contains(normalized)
+                    && (allowCredentials || !CREDENTIALS.contains(normalized))) {
+                names.add(normalized);
+            }
+        }
+    }
+
+    @Override
+    public void apply(RequestTemplate template) {
+        List<String> allowList = template.feignTarget() == null
+                ? this.allowList
+                : clientAllowLists.getOrDefault(template.feignTarget().name(), this.allowList);
+        if (allowList.isEmpty()) {
+            return;
+        }
+        Map<String, String> headers = Util.getRequestHeaders(allowList);
+        if (headers == null || headers.isEmpty()) {
+            return;
+        }
+        // template.headers() 는 대소문자 구분 없는 Map
+        Map<String, Collection<String>> existing = template.headers();
+        headers.forEach((name, value) -> {
+            if (!existing.containsKey(name)) {
+                template.header(name, value);
+            }
+        });
+    }
+
+    public List<String> getAllowList() {
+        return allowList;
+    }
+
+    /**
+     * @return client 에 적용되는 allow-list, client 별 설정이 없다면 공통 allow-list
+     */
+    public List<String> getAllowList(String client) {
+        return clientAllowLists.getOrDefault(client, allowList);
+    }
+}
@@ -0,0 +1,114 @@
+package org.example.springbootboilerplate.config;
+
+import org.example.springbootboilerplate.properties.KeycloakProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimNames;
+import org.springframework.security.oauth2.jwt.JwtClaimValidator;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtTimestampValidator;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.util.StringUtils;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * custom.keycloak.resource-server.enabled=true 일 때 Bearer token 을 Keycloak 에 묻지 않고 로컬에서 검증한다.
+ * jwkSetUri 가 있으면 JWKS 로, 없으면 publicKey 를 시작 시 한번 파싱해 서명을 검증하고, 검증된 token 은 {@link CachingJwtDecoder} 에 보관한다.
+ * 서명 외에 iss 와 aud 도 검사하므로 issuer (혹은 url) 와 audiences 설정이 필요하다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "custom.keycloak.resource-server", name = "enabled", havingValue = "true")
+public class JwtSecurityConfig {
+
+    @Bean
+    public CachingJwtDecoder keycloakJwtDecoder(KeycloakProperties keycloakProperties) {
+        KeycloakProperties.ResourceServer resourceServer = keycloakProperties.getResourceServer();
+        return new CachingJwtDecoder(createDecoder(keycloakProperties), resourceServer.getTokenCacheMaxEntries());
+    }
+
+    @Bean
+    public SecurityFilterChain resourceServerFilterChain(HttpSecurity http, JwtDecoder keycloakJwtDecoder) throws Exception {
+        return http
+                .csrf(AbstractHttpConfigurer::disable)
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .authorizeHttpRequests(authorize -> authorize
+                        .requestMatchers("/actuator/health/**").permitAll()
+                        .anyRequest().authenticated())
+                .oauth2ResourceServer(resourceServer -> resourceServer.jwt(jwt -> jwt.decoder(keycloakJwtDecoder)))
+                .build();
+    }
+
+    /**
+     * @return 서명, exp / nbf, iss, aud 를 검사하는 JwtDecoder
+     */
+    static NimbusJwtDecoder createDecoder(KeycloakProperties keycloakProperties) {
+        KeycloakProperties.ResourceServer resourceServer = keycloakProperties.getResourceServer();
+        NimbusJwtDecoder decoder;
+        if (StringUtils.hasText(resourceServer.getJwkSetUri())) {
+            decoder = NimbusJwtDecoder.withJwkSetUri(resourceServer.getJwkSetUri()).build();
+        }
+        else if (StringUtils.hasText(keycloakProperties.getPublicKey())) {
+            decoder = NimbusJwtDecoder.withPublicKey(parsePublicKey(keycloakProperties.getPublicKey())).build();
+        }
+        else {
+            throw new IllegalStateException(
+                    "custom.keycloak.public-key or custom.keycloak.resource-server.jwk-set-uri is required");
+        }
+        decoder.setJwtValidator(createValidator(keycloakProperties));
+        return decoder;
+    }
+
+    /**
+     * 서명만 확인하면 같은 realm 의 다른 client 에 발급된 token 도 통과하므로 iss / aud 를 함께 검사한다.
+     */
+    static OAuth2TokenValidator<Jwt> createValidator(KeycloakProperties keycloakProperties) {
+        KeycloakProperties.ResourceServer resourceServer = keycloakProperties.getResourceServer();
+        String issuer = StringUtils.hasText(resourceServer.getIssuer())
+                ? resourceServer.getIssuer()
+                : keycloakProperties.getUrl();
+        if (!StringUtils.hasText(issuer)) {
+            throw new IllegalStateException("custom.keycloak.resource-server.issuer or custom.keycloak.url is required");
+        }
+        Set<String> audiences = resourceServer.getAudiences();
+        if (audiences == null || audiences.isEmpty()) {
+            throw new IllegalStateException("custom.keycloak.resource-server.audiences is required");
+        }
+        OAuth2TokenValidator<Jwt> audienceValidator = new JwtClaimValidator<List<String>>(
+                JwtClaimNames.AUD,
+                audience -> audience != null && audience.stream().anyMatch(audiences::contains));
+        return new DelegatingOAuth2TokenValidator<>(
+                JwtValidators.createDefaultWithIssuer(issuer),
+                new JwtTimestampValidator(resourceServer.getClockSkew()),
+                audienceValidator);
+    }
+
+    static RSAPublicKey parsePublicKey(String publicKey) {
+        String base64 = publicKey
+                .replace("-----BEGIN PUBLIC KEY-----", "")
+                .replace("-----END PUBLIC KEY-----", "")
+                .replaceAll("\\s", "");
+        try {
+            return (RSAPublicKey) KeyFactory.getInstance("RSA")
+                    .generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(base64)));
+        }
+        catch (GeneralSecurityException | IllegalArgumentException exception) {
+            throw new IllegalStateException("invalid custom.keycloak.public-key", exception);
+        }
+    }
+}
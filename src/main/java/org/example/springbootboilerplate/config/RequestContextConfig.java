@@ -0,0 +1,19 @@
+package org.example.springbootboilerplate.config;
+
+import org.example.springbootboilerplate.util.RequestContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Spring 이 만드는 applicationTaskExecutor (@Async, ThreadPoolTaskExecutor / virtual thread 사용 시 SimpleAsyncTaskExecutor) 의
+ * 모든 작업에 요청 header snapshot 을 전달한다.
+ */
+@Configuration
+public class RequestContextConfig {
+
+    @Bean
+    public TaskDecorator requestContextTaskDecorator() {
+        return RequestContext::wrap;
+    }
+}
@@ -0,0 +1,39 @@
+package org.example.springbootboilerplate.config;
+
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+import org.example.springbootboilerplate.properties.KeycloakProperties;
+import org.example.springbootboilerplate.service.KeycloakTokenManager;
+import org.springframework.http.HttpHeaders;
+
+import java.util.Map;
+
+/**
+ * custom.keycloak.client.feign-audiences 에 등록된 Feign client 의 요청에 client credentials token 을 붙인다.
+ * 사용자 요청에서 전달된 Authorization header 가 있더라도 service token 으로 바꾼다.
+ */
+public class ServiceTokenInterceptor implements RequestInterceptor {
+
+    private final KeycloakTokenManager tokenManager;
+    private final Map<String, String> audiences;
+
+    public ServiceTokenInterceptor(KeycloakTokenManager tokenManager, KeycloakProperties keycloakProperties) {
+        this.tokenManager = tokenManager;
+        KeycloakProperties.Client client = keycloakProperties.getClient();
+        this.audiences = client == null ? Map.of() : Map.copyOf(client.getFeignAudiences());
+    }
+
+    @Override
+    public void apply(RequestTemplate template) {
+        if (audiences.isEmpty() || template.feignTarget() == null) {
+            return;
+        }
+        String audience = audiences.get(template.feignTarget().name());
+        if (audience == null) {
+            return;
+        }
+        String accessToken = tokenManager.getAccessToken(audience.isEmpty() ? null : audience);
+        template.removeHeader(HttpHeaders.AUTHORIZATION);
+        template.header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken);
+    }
+}
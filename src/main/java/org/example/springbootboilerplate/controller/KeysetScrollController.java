@@ -0,0 +1,93 @@
+package org.example.springbootboilerplate.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.example.springbootboilerplate.entity.JobState;
+import org.example.springbootboilerplate.entity.ProvisioningJobSummary;
+import org.example.springbootboilerplate.entity.SpaceStatus;
+import org.example.springbootboilerplate.repository.ProvisioningJobRepository;
+import org.example.springbootboilerplate.repository.SpaceStatusRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.rest.webmvc.RepositoryRestController;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 작업 이력 / space 상태의 keyset 조회, 조건 조합마다 JPQL 이 달라 Data REST query method 대신 여기서 노출한다.
+ * <pre>
+ *     GET /api/jobs/search/scroll?state=FAILED&spaceId=...&from=...&to=...&size=50
+ *     GET /api/spaces/search/scroll?state=RUNNING&size=100
+ * </pre>
+ * 모든 조건은 생략할 수 있고, 다음 page 가 있으면 마지막 항목을 cursor 로 담은 next link 를 반환한다.
+ */
+@RepositoryRestController
+@RequiredArgsConstructor
+public class KeysetScrollController {
+
+    private final ProvisioningJobRepository jobRepository;
+    private final SpaceStatusRepository spaceStatusRepository;
+
+    /**
+     * @param afterQueuedAt 이전 page 마지막 항목의 queuedAt, next link 에 들어있다
+     * @param afterId 이전 page 마지막 항목의 id
+     */
+    @GetMapping("/jobs/search/scroll")
+    public ResponseEntity<CollectionModel<ProvisioningJobSummary>> scrollJobs(
+            @RequestParam(required = false) JobState state,
+            @RequestParam(required = false) String spaceId,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to,
+            @RequestParam(required = false) Instant afterQueuedAt,
+            @RequestParam(required = false) String afterId,
+            Pageable pageable) {
+        Slice<ProvisioningJobSummary> slice = jobRepository.scroll(state, spaceId, from, to, afterQueuedAt, afterId, pageable);
+        return ResponseEntity.ok(toModel(slice, "afterQueuedAt", ProvisioningJobSummary::getQueuedAt,
+                "afterId", ProvisioningJobSummary::getId));
+    }
+
+    /**
+     * @param afterUpdatedAt 이전 page 마지막 항목의 updatedAt, next link 에 들어있다
+     * @param afterSpaceId 이전 page 마지막 항목의 spaceId
+     */
+    @GetMapping("/spaces/search/scroll")
+    public ResponseEntity<CollectionModel<SpaceStatus>> scrollSpaces(
+            @RequestParam(required = false) JobState state,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to,
+            @RequestParam(required = false) Instant afterUpdatedAt,
+            @RequestParam(required = false) String afterSpaceId,
+            Pageable pageable) {
+        Slice<SpaceStatus> slice = spaceStatusRepository.scroll(state, from, to, afterUpdatedAt, afterSpaceId, pageable);
+        return ResponseEntity.ok(toModel(slice, "afterUpdatedAt", SpaceStatus::getUpdatedAt,
+                "afterSpaceId", SpaceStatus::getSpaceId));
+    }
+
+    private static <T> CollectionModel<T> toModel(
+            Slice<T> slice,
+            String timeParameter,
+            Function<T, Instant> getTime,
+            String idParameter,
+            Function<T, String> getId) {
+        List<Link> links = new ArrayList<>();
+        links.add(Link.of(ServletUriComponentsBuilder.fromCurrentRequest().toUriString()));
+        if (slice.hasNext()) {
+            T last = slice.getContent().get(slice.getNumberOfElements() - 1);
+            links.add(Link.of(ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("page")
+                    .replaceQueryParam(timeParameter, getTime.apply(last))
+                    .replaceQueryParam(idParameter, getId.apply(last))
+                    .toUriString(), IanaLinkRelations.NEXT));
+        }
+        return CollectionModel.of(slice.getContent(), links);
+    }
+}
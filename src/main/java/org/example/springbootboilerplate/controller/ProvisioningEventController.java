@@ -0,0 +1,34 @@
+package org.example.springbootboilerplate.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.example.springbootboilerplate.service.ProvisioningEventBroadcaster;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * 작업 진행 상황 SSE stream
+ * <pre>
+ *     GET /api/events                  모든 작업
+ *     GET /api/events?spaceId=...      space 하나의 작업
+ *     GET /api/events?jobId=...        작업 하나, finished 이후 연결 종료
+ * </pre>
+ * event 이름은 queued / started / output / finished / dropped 이고 data 는 ProvisioningEvent JSON 이다.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/events")
+public class ProvisioningEventController {
+
+    private final ProvisioningEventBroadcaster broadcaster;
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(
+            @RequestParam(required = false) String jobId,
+            @RequestParam(required = false) String spaceId) {
+        return broadcaster.subscribe(jobId, spaceId);
+    }
+}
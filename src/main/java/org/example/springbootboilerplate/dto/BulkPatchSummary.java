@@ -0,0 +1,29 @@
+package org.example.springbootboilerplate.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.Map;
+
+@Getter
+@Builder
+public class BulkPatchSummary {
+    private int total;
+    private int succeeded;
+    private int skipped;
+    private int failed;
+    private Duration elapsed;
+    /**
+     * key: spaceId, value: 실패 사유 (stderr 혹은 예외 메세지)
+     */
+    private Map<String, String> failures;
+
+    /**
+     * @return 초당 완료된 patch 갯수
+     */
+    public double getThroughputPerSecond() {
+        long millis = elapsed.toMillis();
+        return millis == 0 ? total : total * 1000.0 / millis;
+    }
+}
@@ -7,7 +7,7 @@ import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.SystemUtils;
 import org.example.springbootboilerplate.properties.K8SProperties;
-import org.example.springbootboilerplate.util.Util;
+import org.example.springbootboilerplate.util.CommandTemplate;
 import org.springframework.stereotype.Component;
 
 import java.util.Objects;
@@ -19,9 +19,57 @@ public class CommandDto {
     private final K8SProperties k8SProperties;
     private static K8SProperties innerK8sProperties;
 
+    /**
+     * 고정 인자 (kubeConfig, chart repo / version 등) 를 미리 채워둔 template, init 시에 한번 만든다.
+     */
+    private static CommandTemplate installTemplate;
+    /**
+     * 로컬에 받아둔 chart archive 로 설치, helm repo index 를 조회하지 않는다.
+     */
+    private static CommandTemplate localInstallTemplate;
+    private static CommandTemplate deleteStorageClassTemplate;
+    private static CommandTemplate resourceQuotaPatchTemplate;
+
     @PostConstruct
     public void init() {
         innerK8sProperties = k8SProperties;
+
+        K8SProperties.ChartProperty chart = k8SProperties.getChart();
+        installTemplate = CommandTemplate.builder()
+                .literal(installBase)
+                .literal(withKubeConfig(false))
+                .slot()
+                .literal("--create-namespace", "-n")
+                .slot()
+                .literal("--repo", chart.getRepo(), chart.getName(), "--version", chart.getVersion(), "-f")
+                .slot()
+                .build();
+        localInstallTemplate = CommandTemplate.builder()
+                .literal(installBase)
+                .literal(withKubeConfig(false))
+                .slot()
+                .literal("--create-namespace", "-n")
+                .slot()
+                .slot()
+                .literal("-f")
+                .slot()
+                .build();
+        deleteStorageClassTemplate = CommandTemplate.builder()
+                .literal(connectBase)
+                .literal(withKubeConfig(true))
+                .slot()
+                .literal("--", "kubectl", "delete", "sc")
+                .slot()
+                .build();
+        resourceQuotaPatchTemplate = CommandTemplate.builder()
+                .literal(patchBase)
+                .slot()
+                .literal("resourcequota")
+                .slot()
+                .literal("--namespace")
+                .slot()
+                .literal(withKubeConfig(false))
+                .build();
     }
 
     private static String[] withKubeConfig(Boolean isVcluster) {
@@ -40,12 +88,14 @@ public class CommandDto {
      * @return
      */
     private static String JSONValidator(String json) {
-        if (SystemUtils.OS_NAME.toLowerCase().contains("window")) {
-            json = json.replaceAll("\"", "\\\\\"");
+        if (IS_WINDOWS) {
+            json = json.replace("\"", "\\\"");
         }
         return json;
     }
 
+    private static final boolean IS_WINDOWS = SystemUtils.OS_NAME.toLowerCase().contains("window");
+
     private static final String[] installBase = {"helm", "install"};
     private static final String[] connectBase = {"vcluster", "connect"};
     private static final String[] patchBase = {"kubectl", "patch", "-p"};
@@ -56,22 +106,16 @@ public class CommandDto {
         private String spaceId;
         private String vclusterNamespace;
         private String chartPath;
+        /**
+         * 로컬 chart archive 경로, null 이면 원격 repo 에서 chart 를 받아 설치
+         */
+        private String chartArchive;
 
         public String[] toCMD() {
-            String[] preCommand = {
-                    spaceId,
-                    "--create-namespace",
-                    "-n",
-                    vclusterNamespace,
-                    "--repo",
-                    "https://charts.loft.sh",
-                    "vcluster",
-                    "--version",
-                    "0.15.5",
-                    "-f",
-                    chartPath
-            };
-            return Util.concatAllArray(installBase, withKubeConfig(false), preCommand);
+            if (chartArchive != null) {
+                return localInstallTemplate.fill(spaceId, vclusterNamespace, chartArchive, chartPath);
+            }
+            return installTemplate.fill(spaceId, vclusterNamespace, chartPath);
         }
     }
 
@@ -82,17 +126,9 @@ public class CommandDto {
         private String type;
 
         public String[] toCMD() {
-
-            String[] preCommand = {
+            return deleteStorageClassTemplate.fill(
                     spaceId,
-                    "--",
-                    "kubectl",
-                    "delete",
-                    "sc",
-                    ObjectUtils.isEmpty(type) ? innerK8sProperties.getBlockStorage().getName() : type
-            };
-
-            return Util.concatAllArray(connectBase, withKubeConfig(true), preCommand);
+                    ObjectUtils.isEmpty(type) ? innerK8sProperties.getBlockStorage().getName() : type);
         }
     }
 
@@ -102,16 +138,16 @@ public class CommandDto {
         private String resourceQuota;
         private String spaceId;
 
+        public String getQuotaName() {
+            return spaceId + "-quota";
+        }
+
+        public String getNamespace() {
+            return "vcluster-" + spaceId;
+        }
+
         public String[] toCMD() {
-            String[] preCommand = {
-                    JSONValidator(resourceQuota),
-                    "resourcequota",
-                    spaceId + "-quota",
-                    "--namespace",
-                    "vcluster-" + spaceId
-            };
-
-            return Util.concatAllArray(patchBase, preCommand, withKubeConfig(false));
+            return resourceQuotaPatchTemplate.fill(JSONValidator(resourceQuota), getQuotaName(), getNamespace());
         }
     }
 }
\ No newline at end of file
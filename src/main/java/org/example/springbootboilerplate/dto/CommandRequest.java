@@ -0,0 +1,32 @@
+package org.example.springbootboilerplate.dto;
+
+import jakarta.annotation.Nullable;
+import lombok.Builder;
+import lombok.Getter;
+import org.example.springbootboilerplate.util.ProcessOutputPump;
+
+import java.time.Duration;
+import java.util.UUID;
+
+@Getter
+@Builder(toBuilder = true)
+public class CommandRequest {
+    /**
+     * 작업 이력 / 진행 이벤트에서 작업을 구분하는 id, 지정하지 않으면 새로 만든다.
+     */
+    @Builder.Default
+    private String jobId = UUID.randomUUID().toString();
+    private OperationType operation;
+    private String spaceId;
+    private String[] cmd;
+    /**
+     * 최대 실행 시간, null 이거나 0 이면 제한 없음
+     */
+    @Nullable
+    private Duration timeout;
+    /**
+     * 프로세스 출력을 줄 단위로 받고 싶을 때 사용, pump 스레드에서 호출된다.
+     */
+    @Nullable
+    private ProcessOutputPump.LineListener lineListener;
+}
@@ -0,0 +1,51 @@
+package org.example.springbootboilerplate.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class CommandResult {
+    /**
+     * 시간 초과로 종료된 경우 fail callback 에 전달되는 메세지의 prefix
+     */
+    public static final String TIMEOUT_PREFIX = "[TIMEOUT]";
+    /**
+     * 호출자가 취소한 경우 fail callback 에 전달되는 메세지
+     */
+    public static final String CANCELLED = "[CANCELLED]";
+
+    private int exitCode;
+    private String stdout;
+    private String stderr;
+    /**
+     * 프로세스가 출력한 전체 byte 수, ring buffer 에 남지 않고 버려진 byte 포함
+     */
+    private long stdoutBytes;
+    private long stderrBytes;
+    /**
+     * 실행할 필요가 없어 (변경 사항 없음 등) 실제로 실행하지 않은 경우 true
+     */
+    private boolean skipped;
+    /**
+     * 제한 시간을 넘어 프로세스 트리를 강제로 종료한 경우 true
+     */
+    private boolean timedOut;
+
+    /**
+     * exitCode 141 (SIGPIPE) 는 vcluster connect 이후 kubectl 파이프가 닫히며 발생하므로 성공으로 취급한다.
+     */
+    public boolean isSuccess() {
+        return !timedOut && (exitCode == 0 || exitCode == 141);
+    }
+
+    /**
+     * @return fail callback 에 전달할 메세지, 시간 초과의 경우 {@link #TIMEOUT_PREFIX} 로 시작한다.
+     */
+    public String getFailureMessage() {
+        if (timedOut) {
+            return TIMEOUT_PREFIX + " " + stderr;
+        }
+        return stderr;
+    }
+}
@@ -0,0 +1,18 @@
+package org.example.springbootboilerplate.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * CmdService 에서 실행하는 작업 종류, description 은 실행 이후 로그의 기본 comment 로 사용된다.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum OperationType {
+    INSTALL("created vcluster"),
+    DELETE_STORAGE_CLASS("Delete vcluster storageClasses"),
+    PATCH_RESOURCE_QUOTA("patch vcluster resource quota"),
+    PULL_CHART("pull helm chart");
+
+    private final String description;
+}
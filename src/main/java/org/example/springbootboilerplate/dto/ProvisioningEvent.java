@@ -0,0 +1,47 @@
+package org.example.springbootboilerplate.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Getter;
+import org.example.springbootboilerplate.entity.JobState;
+import org.example.springbootboilerplate.util.ProcessOutputPump;
+
+import java.time.Instant;
+
+/**
+ * /api/events 로 전달되는 작업 진행 이벤트, SSE event 이름은 {@link Type} 의 소문자
+ */
+@Getter
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProvisioningEvent {
+
+    public enum Type {
+        QUEUED,
+        STARTED,
+        OUTPUT,
+        FINISHED,
+        /**
+         * 구독자가 느려서 버려진 이벤트가 있는 경우, dropped 에 버려진 갯수.
+         * 버려진 이벤트는 여러 작업의 것일 수 있으므로 jobId 는 없다.
+         */
+        DROPPED
+    }
+
+    private Type type;
+    private String jobId;
+    private OperationType operation;
+    private String spaceId;
+    private Instant at;
+    /**
+     * OUTPUT 인 경우 출력 위치와 내용
+     */
+    private ProcessOutputPump.Source source;
+    private String line;
+    /**
+     * FINISHED 인 경우 최종 상태와 exit code, 프로세스를 실행하지 못했다면 exitCode 는 null
+     */
+    private JobState state;
+    private Integer exitCode;
+    private Long dropped;
+}
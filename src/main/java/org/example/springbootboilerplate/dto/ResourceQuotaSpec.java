@@ -0,0 +1,109 @@
+package org.example.springbootboilerplate.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.kubernetes.client.custom.Quantity;
+import io.kubernetes.client.custom.QuantityFormatException;
+import io.kubernetes.client.openapi.models.V1ResourceQuota;
+import io.kubernetes.client.openapi.models.V1ResourceQuotaSpec;
+import jakarta.annotation.Nullable;
+
+import java.util.*;
+
+/**
+ * patchResourceQuota 에 전달되는 {"spec":{"hard":{...}}} 형태의 JSON 을 한번만 파싱해 둔 모델.
+ * 현재 ResourceQuota 와 비교해서 실제로 달라진 항목만 담은 최소 patch 를 만들 수 있다.
+ */
+public class ResourceQuotaSpec {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * key: resource 이름 (requests.cpu 등), value: 전달받은 원래 문자열
+     */
+    private final Map<String, String> hard;
+    private final Map<String, Quantity> parsedHard;
+
+    private ResourceQuotaSpec(Map<String, String> hard, Map<String, Quantity> parsedHard) {
+        this.hard = Collections.unmodifiableMap(hard);
+        this.parsedHard = parsedHard;
+    }
+
+    /**
+     * spec.hard 외의 항목 (scopes, metadata 등) 이 있거나 Quantity 로 해석되지 않는 값이 있으면 비교할 수 없으므로 empty 를 반환한다.
+     *
+     * @param json patch JSON
+     * @return {@link Optional} < {@link ResourceQuotaSpec} >
+     */
+    public static Optional<ResourceQuotaSpec> parse(String json) {
+        try {
+            JsonNode root = OBJECT_MAPPER.readTree(json);
+            if (root == null || !root.isObject() || root.size() != 1 || !root.has("spec")) {
+                return Optional.empty();
+            }
+            JsonNode spec = root.get("spec");
+            if (!spec.isObject() || spec.size() != 1 || !spec.has("hard") || !spec.get("hard").isObject()) {
+                return Optional.empty();
+            }
+
+            Map<String, String> hard = new TreeMap<>();
+            Map<String, Quantity> parsedHard = new HashMap<>();
+            Iterator<Map.Entry<String, JsonNode>> fields = spec.get("hard").fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                if (!field.getValue().isValueNode() || field.getValue().isNull()) {
+                    return Optional.empty();
+                }
+                String value = field.getValue().asText();
+                hard.put(field.getKey(), value);
+                parsedHard.put(field.getKey(), Quantity.fromString(value));
+            }
+            return Optional.of(new ResourceQuotaSpec(hard, parsedHard));
+        }
+        catch (JsonProcessingException | QuantityFormatException exception) {
+            return Optional.empty();
+        }
+    }
+
+    public Map<String, String> getHard() {
+        return hard;
+    }
+
+    public boolean isEmpty() {
+        return hard.isEmpty();
+    }
+
+    /**
+     * "1" 과 "1000m" 처럼 표기만 다른 값은 같은 값으로 취급한다.
+     *
+     * @param current 현재 ResourceQuota, null 이면 전체가 변경 대상
+     * @return current 와 값이 다른 항목만 담은 {@link ResourceQuotaSpec}, 모두 같다면 비어있음
+     */
+    public ResourceQuotaSpec diff(@Nullable V1ResourceQuota current) {
+        Map<String, Quantity> currentHard = Optional.ofNullable(current)
+                .map(V1ResourceQuota::getSpec)
+                .map(V1ResourceQuotaSpec::getHard)
+                .orElse(Map.of());
+
+        Map<String, String> changed = new TreeMap<>();
+        Map<String, Quantity> parsedChanged = new HashMap<>();
+        parsedHard.forEach((key, quantity) -> {
+            Quantity currentQuantity = currentHard.get(key);
+            if (currentQuantity == null || currentQuantity.getNumber().compareTo(quantity.getNumber()) != 0) {
+                changed.put(key, hard.get(key));
+                parsedChanged.put(key, quantity);
+            }
+        });
+        return new ResourceQuotaSpec(changed, parsedChanged);
+    }
+
+    public String toPatchJson() {
+        try {
+            return OBJECT_MAPPER.writeValueAsString(Map.of("spec", Map.of("hard", hard)));
+        }
+        catch (JsonProcessingException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+}
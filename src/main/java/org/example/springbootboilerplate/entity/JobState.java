@@ -0,0 +1,69 @@
+package org.example.springbootboilerplate.entity;
+
+import jakarta.annotation.Nullable;
+import org.example.springbootboilerplate.dto.CommandResult;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * {@link ProvisioningJob} 의 상태
+ */
+public enum JobState {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    SKIPPED,
+    FAILED,
+    TIMED_OUT,
+    CANCELLED,
+    REJECTED,
+    /**
+     * 실행 중에 애플리케이션이 종료되어 결과를 알 수 없는 경우, 재시작 시에 설정된다.
+     */
+    INTERRUPTED;
+
+    /**
+     * 아직 끝나지 않은 상태
+     */
+    public static final Set<JobState> IN_FLIGHT = EnumSet.of(QUEUED, RUNNING);
+
+    public boolean isFinished() {
+        return !IN_FLIGHT.contains(this);
+    }
+
+    /**
+     * CommandListener#onFinished 로 전달된 결과의 상태
+     */
+    public static JobState of(@Nullable CommandResult result, @Nullable Throwable throwable) {
+        if (throwable != null) {
+            Throwable cause = unwrap(throwable);
+            if (cause instanceof CancellationException) {
+                return CANCELLED;
+            }
+            if (cause instanceof RejectedExecutionException) {
+                return REJECTED;
+            }
+            return FAILED;
+        }
+        if (result == null) {
+            return FAILED;
+        }
+        if (result.isTimedOut()) {
+            return TIMED_OUT;
+        }
+        if (result.isSkipped()) {
+            return SKIPPED;
+        }
+        return result.isSuccess() ? SUCCEEDED : FAILED;
+    }
+
+    public static Throwable unwrap(Throwable throwable) {
+        return throwable instanceof CompletionException && throwable.getCause() != null
+                ? throwable.getCause()
+                : throwable;
+    }
+}
@@ -0,0 +1,67 @@
+package org.example.springbootboilerplate.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.example.springbootboilerplate.dto.OperationType;
+
+import java.time.Instant;
+
+/**
+ * CmdService 에서 실행한 작업 (install / delete / patch 등) 하나의 이력.
+ * ProvisioningJobRecorder 가 JDBC batch 로 저장하므로 컬럼을 바꾸면 recorder 의 SQL 과 schema.sql 도 함께 바꿔야 한다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "provisioning_job", indexes = {
+        @Index(name = "idx_provisioning_job_queued", columnList = "queued_at, id"),
+        @Index(name = "idx_provisioning_job_state_queued", columnList = "state, queued_at, id"),
+        @Index(name = "idx_provisioning_job_space_queued", columnList = "space_id, queued_at, id")
+})
+public class ProvisioningJob {
+
+    /**
+     * stderr 컬럼 최대 길이, 넘어가면 마지막 부분만 저장한다.
+     */
+    public static final int MAX_STDERR_LENGTH = 2000;
+
+    /**
+     * {@link org.example.springbootboilerplate.dto.CommandRequest#getJobId()}
+     */
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private OperationType operation;
+
+    @Column(length = 128)
+    private String spaceId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private JobState state;
+
+    /**
+     * 요청 시점, 큐에 들어가지 못하고 거절된 작업은 거절된 시점
+     */
+    private Instant queuedAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+    /**
+     * 큐에서 기다린 시간
+     */
+    private Long queueMillis;
+    /**
+     * 시작부터 끝날 때까지 걸린 시간
+     */
+    private Long runMillis;
+    private Integer exitCode;
+
+    @Column(length = MAX_STDERR_LENGTH)
+    private String stderr;
+}
@@ -0,0 +1,28 @@
+package org.example.springbootboilerplate.entity;
+
+import org.example.springbootboilerplate.dto.OperationType;
+import org.springframework.data.rest.core.config.Projection;
+
+import java.time.Instant;
+
+/**
+ * 목록 조회용 projection, stderr 등 큰 컬럼은 조회하지 않는다.
+ * 다음 page 는 마지막 항목의 queuedAt / id 를 cursor 로 요청한다.
+ */
+@Projection(name = "summary", types = ProvisioningJob.class)
+public interface ProvisioningJobSummary {
+
+    String getId();
+
+    OperationType getOperation();
+
+    String getSpaceId();
+
+    JobState getState();
+
+    Instant getQueuedAt();
+
+    Instant getFinishedAt();
+
+    Integer getExitCode();
+}
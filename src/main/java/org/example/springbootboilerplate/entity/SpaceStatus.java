@@ -0,0 +1,53 @@
+package org.example.springbootboilerplate.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.example.springbootboilerplate.dto.OperationType;
+
+import java.time.Instant;
+
+/**
+ * space 별 마지막 작업 상태, 대시보드의 space 목록 조회용으로 ProvisioningJobRecorder 가 job 과 같은 batch 에서 갱신한다.
+ * 마지막 작업은 요청 시점 (queuedAt) 기준이며, 늦게 끝난 이전 작업이 최신 작업을 덮어쓰지 않는다.
+ * 테이블은 schema.sql 로 만들며 recorder 가 JDBC 로 저장하므로 컬럼을 바꾸면 함께 바꿔야 한다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "space_status", indexes = {
+        @Index(name = "idx_space_status_updated", columnList = "updated_at, space_id"),
+        @Index(name = "idx_space_status_state_updated", columnList = "state, updated_at, space_id")
+})
+public class SpaceStatus {
+
+    @Id
+    @Column(length = 128)
+    private String spaceId;
+
+    /**
+     * 마지막 작업의 {@link ProvisioningJob#getId()}
+     */
+    @Column(length = 36)
+    private String jobId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 32)
+    private OperationType operation;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private JobState state;
+
+    private Integer exitCode;
+    /**
+     * 마지막 작업이 요청된 시점
+     */
+    private Instant queuedAt;
+    /**
+     * 마지막 작업의 상태가 바뀐 시점
+     */
+    private Instant updatedAt;
+}
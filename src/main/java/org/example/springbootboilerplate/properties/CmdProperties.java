@@ -0,0 +1,144 @@
+package org.example.springbootboilerplate.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "custom.cmd")
+public class CmdProperties {
+    private Executor executor = new Executor();
+    private Output output = new Output();
+    private Bulk bulk = new Bulk();
+    private SingleFlight singleFlight = new SingleFlight();
+    private JobStore jobStore = new JobStore();
+    private Events events = new Events();
+
+    @Data
+    public static class Executor {
+        /**
+         * JVM 이 virtual thread 를 지원하는 경우 (Java 21+) virtual thread 로 커맨드를 실행한다.
+         * 지원하지 않는 JVM 에서는 고정 크기 platform thread pool 로 동작한다.
+         */
+        private boolean virtualThreads = true;
+        /**
+         * 동시에 실행될 수 있는 프로세스 최대 갯수
+         */
+        private int maxConcurrency = 8;
+        /**
+         * 실행 대기할 수 있는 커맨드 최대 갯수, 실행 중 + 대기 중 갯수가 maxConcurrency + queueCapacity 를 넘으면 queueFullPolicy 를 따른다.
+         */
+        private int queueCapacity = 64;
+        private QueueFullPolicy queueFullPolicy = QueueFullPolicy.REJECT;
+        /**
+         * queueFullPolicy 가 WAIT 일 때 호출 스레드가 자리를 기다리는 최대 시간
+         */
+        private Duration queueWaitTimeout = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class Output {
+        /**
+         * 프로세스 하나당 stdout 을 유지하는 최대 크기 (KB), 넘어가는 출력은 앞부분부터 버려진다.
+         */
+        private int stdoutBufferKb = 64;
+        /**
+         * 프로세스 하나당 stderr 을 유지하는 최대 크기 (KB), 넘어가는 출력은 앞부분부터 버려진다.
+         */
+        private int stderrBufferKb = 64;
+        /**
+         * line listener 에 전달되는 한 줄의 최대 byte 길이, 넘어가는 부분은 잘린다.
+         */
+        private int maxLineLength = 4096;
+    }
+
+    /**
+     * ResourceQuotaBulkService 설정
+     */
+    @Data
+    public static class Bulk {
+        /**
+         * bulk 요청 하나에서 동시에 진행되는 patch 최대 갯수
+         */
+        private int parallelism = 4;
+        /**
+         * 모든 bulk 요청이 공유하는 초당 patch 시작 갯수 (token bucket refill rate)
+         */
+        private double ratePerSecond = 20;
+        /**
+         * token bucket 크기, 잠시 쉬었다가 시작할 때 한번에 시작할 수 있는 갯수
+         */
+        private int burst = 20;
+    }
+
+    /**
+     * 같은 작업 (operation + spaceId + 인자) 이 실행 중일 때 새로 실행하지 않고 결과를 공유하는 설정
+     */
+    @Data
+    public static class SingleFlight {
+        private boolean enabled = true;
+        /**
+         * 성공한 결과를 재사용하는 시간, 0 이면 실행 중인 작업만 합친다.
+         */
+        private Duration resultTtl = Duration.ZERO;
+    }
+
+    /**
+     * ProvisioningJobRecorder 설정, 작업 상태 변경은 큐에 쌓아두고 백그라운드에서 batch 로 저장한다.
+     */
+    @Data
+    public static class JobStore {
+        private boolean enabled = true;
+        /**
+         * 저장을 기다리는 상태 변경 최대 갯수, 넘어가면 QUEUED / RUNNING 변경은 버려진다. 메모리에 유지하는 작업 갯수도 이 값으로 제한한다.
+         */
+        private int queueCapacity = 10000;
+        /**
+         * 한번에 저장하는 최대 갯수
+         */
+        private int batchSize = 100;
+        /**
+         * 첫 상태 변경 이후 batch 를 모으기 위해 기다리는 최대 시간
+         */
+        private Duration flushInterval = Duration.ofMillis(200);
+        /**
+         * 큐가 가득 찬 경우 종료 상태 변경을 넣기 위해 기다리는 최대 시간, 종료 변경은 버려지지 않도록 기다린다.
+         */
+        private Duration finishedOfferTimeout = Duration.ofSeconds(5);
+    }
+
+    /**
+     * ProvisioningEventBroadcaster (SSE) 설정
+     */
+    @Data
+    public static class Events {
+        /**
+         * 구독자 하나당 전송을 기다리는 이벤트 최대 갯수, 넘어가면 출력 이벤트부터 버려진다.
+         */
+        private int bufferSize = 256;
+        /**
+         * 동시에 연결할 수 있는 최대 구독자 수
+         */
+        private int maxSubscribers = 10000;
+        /**
+         * 구독자에게 이벤트를 쓰는 스레드 수, 느린 구독자가 쓰기에서 멈춰도 작업 실행에는 영향이 없다.
+         */
+        private int senderThreads = 4;
+        /**
+         * 연결 유지 시간, 지나면 클라이언트가 다시 연결해야 한다.
+         */
+        private Duration timeout = Duration.ofMinutes(30);
+        /**
+         * 끊어진 연결을 찾기 위해 보내는 heartbeat 주기
+         */
+        private Duration heartbeatInterval = Duration.ofSeconds(15);
+    }
+
+    public enum QueueFullPolicy {
+        REJECT,
+        WAIT
+    }
+}
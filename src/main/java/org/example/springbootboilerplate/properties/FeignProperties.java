@@ -0,0 +1,37 @@
+package org.example.springbootboilerplate.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Feign 요청에 현재 요청의 header 를 전달하는 설정.
+ * 연결 pool / timeout 은 spring.cloud.openfeign.httpclient.* 로 설정한다.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "custom.feign")
+public class FeignProperties {
+
+    /**
+     * 모든 Feign 요청으로 전달할 header 이름, 대소문자 구분 없음.
+     * authorization / proxy-authorization / cookie 같은 인증 header 는 여기에 있어도 전달하지 않는다.
+     */
+    private List<String> forwardHeaders = new ArrayList<>(List.of(
+            "accept-language",
+            "x-request-id",
+            "x-trace-id"
+    ));
+
+    /**
+     * key: Feign client 이름, value: 그 client 에만 추가로 전달할 header 이름.
+     * 사용자 Authorization 을 그대로 넘겨야 하는 client 만 여기에 authorization 을 명시한다.
+     */
+    private Map<String, List<String>> clientForwardHeaders = new HashMap<>();
+
+}
@@ -4,6 +4,8 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+
 @Data
 @Component
 @ConfigurationProperties(prefix = "api.gitlab")
@@ -12,4 +14,19 @@ public class GitLabProperties {
     private String url;
     private String token;
 
+    /**
+     * ETag 조건부 요청을 위해 보관하는 응답 갯수
+     */
+    private int cacheMaxEntries = 512;
+    /**
+     * token 하나당 동시에 보낼 수 있는 요청 갯수
+     */
+    private int maxConcurrentRequestsPerToken = 4;
+    /**
+     * 목록 조회 시 page 하나의 크기, GitLab 최대값은 100
+     */
+    private int perPage = 100;
+    private Duration connectTimeout = Duration.ofSeconds(5);
+    private Duration requestTimeout = Duration.ofSeconds(30);
+
 }
@@ -1,10 +1,12 @@
 package org.example.springbootboilerplate.properties;
 
 import lombok.Data;
+import org.example.springbootboilerplate.dto.OperationType;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.PostConstruct;
+import java.time.Duration;
 import java.util.Objects;
 import java.util.regex.Matcher;
 
@@ -19,6 +21,18 @@ public class K8SProperties {
     private String fileSystemId;
     private NfsStorageProperty nfsStorage;
     private BlockStorageProperty blockStorage;
+    /**
+     * ResourceQuota patch 방식, CLI 는 kubectl 프로세스를 실행하고 API 는 K8S API 로 직접 patch 한다.
+     */
+    private PatchMode resourceQuotaPatchMode = PatchMode.CLI;
+    /**
+     * true 일 경우 현재 ResourceQuota 와 비교해서 달라진 항목만 patch 하고, 모두 같다면 patch 를 생략한다.
+     */
+    private boolean resourceQuotaSkipUnchanged = true;
+    private ClientProperty client = new ClientProperty();
+    private CacheProperty cache = new CacheProperty();
+    private TimeoutProperty timeout = new TimeoutProperty();
+    private ChartProperty chart = new ChartProperty();
 
     @Data
     public static class NfsStorageProperty {
@@ -31,6 +45,93 @@ public class K8SProperties {
         private String name;
     }
 
+    /**
+     * K8SClientRegistry 에서 만드는 공용 ApiClient 의 connection pool / timeout 설정
+     */
+    @Data
+    public static class ClientProperty {
+        private int maxIdleConnections = 5;
+        private Duration keepAlive = Duration.ofMinutes(5);
+        private Duration connectTimeout = Duration.ofSeconds(10);
+        private Duration readTimeout = Duration.ofSeconds(30);
+        private int maxRequests = 64;
+        private int maxRequestsPerHost = 32;
+        /**
+         * kubeConfig 파일 변경 여부 (mtime) 를 다시 확인하기까지의 최소 간격
+         */
+        private Duration checkInterval = Duration.ofSeconds(5);
+    }
+
+    /**
+     * K8SResourceCache (namespace / ResourceQuota / StorageClass informer) 설정
+     */
+    @Data
+    public static class CacheProperty {
+        private boolean enabled = false;
+        private Duration resyncPeriod = Duration.ofMinutes(10);
+        /**
+         * space ResourceQuota 만 API 서버에서 골라 받기 위한 label selector, vcluster chart 가 만드는 리소스에는 app=vcluster 가 붙는다.
+         * 비우면 전체 namespace 의 ResourceQuota 를 받아 이름으로만 거른다.
+         */
+        private String quotaLabelSelector = "app=vcluster";
+    }
+
+    /**
+     * 작업 종류별 최대 실행 시간, 넘어가면 프로세스와 하위 프로세스를 모두 종료한다. 0 이면 제한 없음
+     */
+    @Data
+    public static class TimeoutProperty {
+        private Duration install = Duration.ofMinutes(10);
+        private Duration deleteStorageClass = Duration.ofMinutes(2);
+        private Duration patchResourceQuota = Duration.ofMinutes(1);
+        private Duration pullChart = Duration.ofMinutes(5);
+
+        public Duration of(OperationType operation) {
+            return switch (operation) {
+                case INSTALL -> install;
+                case DELETE_STORAGE_CLASS -> deleteStorageClass;
+                case PATCH_RESOURCE_QUOTA -> patchResourceQuota;
+                case PULL_CHART -> pullChart;
+            };
+        }
+    }
+
+    /**
+     * vcluster 설치에 사용하는 helm chart 와 로컬 chart cache 설정
+     */
+    @Data
+    public static class ChartProperty {
+        private String repo = "https://charts.loft.sh";
+        private String name = "vcluster";
+        private String version = "0.15.5";
+        /**
+         * helm pull 로 받은 chart 를 보관하는 경로, repo / chart / version 별로 하위 경로가 나뉜다.
+         */
+        private String cacheDir = "~/.cache/springboot-boilerplate/charts";
+        /**
+         * 미리 받아둔 {name}-{version}.tgz 가 있는 경로, 있으면 cache 보다 먼저 사용
+         */
+        private String vendorDir;
+        /**
+         * chart archive 의 sha256 (hex), 설정하면 cache / vendor / 새로 받은 chart 모두 이 값과 비교
+         */
+        private String digest;
+        /**
+         * 애플리케이션 시작 시에 chart 를 미리 준비, 시작할 때마다 helm pull 이 실행되므로 설치를 수행하는 환경에서만 켠다.
+         * 꺼져 있으면 첫 설치는 원격 repo 를 사용하고 그때 받아둔 chart 를 다음 설치부터 사용한다.
+         */
+        private boolean preload = false;
+        /**
+         * true 라면 helm pull 을 하지 않고 vendorDir / cacheDir 의 chart 만 사용
+         */
+        private boolean offline = false;
+    }
+
+    public enum PatchMode {
+        CLI,
+        API
+    }
+
     @PostConstruct
     public void init() {
         if (Objects.nonNull(kubeConfigPath)) {
@@ -41,5 +142,11 @@ public class K8SProperties {
              */
             kubeConfigPath = kubeConfigPath.replaceFirst("^~", Matcher.quoteReplacement(System.getProperty("user.home")));
         }
+        chart.setCacheDir(replaceHome(chart.getCacheDir()));
+        chart.setVendorDir(replaceHome(chart.getVendorDir()));
+    }
+
+    private static String replaceHome(String path) {
+        return Objects.isNull(path) ? null : path.replaceFirst("^~", Matcher.quoteReplacement(System.getProperty("user.home")));
     }
 }
@@ -4,17 +4,67 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
 @Data
 @Component
 @ConfigurationProperties(prefix = "custom.keycloak")
 public class KeycloakProperties {
     private String url;
+    /**
+     * realm 의 RSA 공개키, PEM 혹은 base64 (X.509 SubjectPublicKeyInfo)
+     */
     private String publicKey;
     private Client client;
+    private ResourceServer resourceServer = new ResourceServer();
 
     @Data
     public static class Client {
         private String id;
         private String secret;
+        /**
+         * client credentials token endpoint, 비어있으면 {url}/protocol/openid-connect/token
+         */
+        private String tokenUri;
+        /**
+         * 만료 이 시간 전부터 백그라운드에서 token 을 미리 갱신
+         */
+        private Duration refreshBefore = Duration.ofSeconds(30);
+        /**
+         * key: service token 을 붙일 Feign client 이름, value: audience (없으면 빈 문자열)
+         */
+        private Map<String, String> feignAudiences = new HashMap<>();
+    }
+
+    @Data
+    public static class ResourceServer {
+        /**
+         * true 라면 Bearer token 을 Keycloak 에 묻지 않고 직접 검증
+         */
+        private boolean enabled = false;
+        /**
+         * 설정하면 publicKey 대신 JWKS 로 검증, 모르는 kid 를 만나면 다시 받아와 key rotation 을 따라감
+         */
+        private String jwkSetUri;
+        /**
+         * 검증이 끝난 token 을 보관하는 최대 갯수
+         */
+        private int tokenCacheMaxEntries = 10_000;
+        /**
+         * token 의 iss 와 같아야 하는 값, 비어있으면 url (realm 주소) 을 사용
+         */
+        private String issuer;
+        /**
+         * token 의 aud 에 하나 이상 포함되어야 하는 값, 같은 realm 의 다른 client 에 발급된 token 을 거절하기 위해 필수
+         */
+        private Set<String> audiences = new HashSet<>();
+        /**
+         * exp / nbf 검사 시 허용하는 시계 오차, 기본 검증 (60초) 보다 넓힐 수는 없다
+         */
+        private Duration clockSkew = Duration.ofSeconds(30);
     }
 }
@@ -0,0 +1,87 @@
+package org.example.springbootboilerplate.repository;
+
+import jakarta.annotation.Nullable;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * 값이 있는 조건만 where 절에 넣는 keyset 조회 JPQL.
+ * {@code (:x is null or ...)} 형태의 조건은 H2 가 인덱스 범위로 사용하지 못해 앞에서부터 모두 읽게 되므로,
+ * 설정된 조건만 추가해서 (state / spaceId, 시점, id) 복합 인덱스로 바로 찾아가도록 한다.
+ */
+final class KeysetQuery {
+
+    private final List<String> conditions = new ArrayList<>();
+    private final Map<String, Object> parameters = new LinkedHashMap<>();
+
+    KeysetQuery equal(String path, String name, @Nullable Object value) {
+        return add(path + " = :" + name, name, value);
+    }
+
+    KeysetQuery atLeast(String path, String name, @Nullable Object value) {
+        return add(path + " >= :" + name, name, value);
+    }
+
+    KeysetQuery lessThan(String path, String name, @Nullable Object value) {
+        return add(path + " < :" + name, name, value);
+    }
+
+    /**
+     * 이전 page 마지막 항목 (afterTime, afterId) 다음 항목, 역순 정렬 기준.
+     * {@code time <= :afterTime} 을 함께 두어 or 조건이 있어도 인덱스 범위로 찾는다.
+     *
+     * @param afterTime null 이면 첫 page
+     * @param afterId null 이면 afterTime 보다 앞선 항목만
+     */
+    KeysetQuery before(String timePath, String idPath, @Nullable Instant afterTime, @Nullable String afterId) {
+        if (afterTime == null) {
+            return this;
+        }
+        if (afterId == null) {
+            return add(timePath + " < :afterTime", "afterTime", afterTime);
+        }
+        conditions.add(timePath + " <= :afterTime and (" + timePath + " < :afterTime or " + idPath + " < :afterId)");
+        parameters.put("afterTime", afterTime);
+        parameters.put("afterId", afterId);
+        return this;
+    }
+
+    /**
+     * size + 1 개를 조회해서 다음 page 가 있는지 확인한다, page 번호는 사용하지 않는다.
+     *
+     * @param select where 절 앞부분
+     * @param orderBy order by 절
+     */
+    <T> Slice<T> fetch(EntityManager entityManager, String select, String orderBy, Class<T> type, Pageable pageable) {
+        StringBuilder jpql = new StringBuilder(select);
+        if (!conditions.isEmpty()) {
+            jpql.append(" where ").append(String.join(" and ", conditions));
+        }
+        jpql.append(' ').append(orderBy);
+
+        TypedQuery<T> query = entityManager.createQuery(jpql.toString(), type);
+        parameters.forEach(query::setParameter);
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(query.getResultList());
+        }
+        int size = pageable.getPageSize();
+        List<T> content = query.setMaxResults(size + 1).getResultList();
+        boolean hasNext = content.size() > size;
+        return new SliceImpl<>(hasNext ? content.subList(0, size) : content, PageRequest.ofSize(size), hasNext);
+    }
+
+    private KeysetQuery add(String condition, String name, @Nullable Object value) {
+        if (value != null) {
+            conditions.add(condition);
+            parameters.put(name, value);
+        }
+        return this;
+    }
+}
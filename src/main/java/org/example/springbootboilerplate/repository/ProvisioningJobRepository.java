@@ -0,0 +1,57 @@
+package org.example.springbootboilerplate.repository;
+
+import org.example.springbootboilerplate.entity.JobState;
+import org.example.springbootboilerplate.entity.ProvisioningJob;
+import org.example.springbootboilerplate.entity.ProvisioningJobSummary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+import org.springframework.data.rest.core.annotation.RestResource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+
+/**
+ * /jobs 로 조회만 노출, 작업 이력은 ProvisioningJobRecorder 만 저장한다.
+ * 목록은 offset / count 를 사용하는 기본 collection resource 대신 keyset 조회 (/jobs/search/scroll) 만 노출한다.
+ */
+@RepositoryRestResource(path = "jobs", collectionResourceRel = "jobs", excerptProjection = ProvisioningJobSummary.class)
+public interface ProvisioningJobRepository extends JpaRepository<ProvisioningJob, String>, ProvisioningJobRepositoryCustom {
+
+    /**
+     * 이전 실행에서 끝나지 않은 작업을 한번에 종료 상태로 바꾼다.
+     *
+     * @return 변경된 작업 갯수
+     */
+    @RestResource(exported = false)
+    @Modifying
+    @Transactional
+    @Query("update ProvisioningJob j set j.state = :state, j.finishedAt = :finishedAt, j.stderr = :message "
+            + "where j.state in :inFlight")
+    int finishInFlight(
+            @Param("inFlight") Collection<JobState> inFlight,
+            @Param("state") JobState state,
+            @Param("finishedAt") Instant finishedAt,
+            @Param("message") String message);
+
+    @Override
+    @RestResource(exported = false)
+    Page<ProvisioningJob> findAll(Pageable pageable);
+
+    @Override
+    @RestResource(exported = false)
+    <S extends ProvisioningJob> S save(S entity);
+
+    @Override
+    @RestResource(exported = false)
+    void deleteById(String id);
+
+    @Override
+    @RestResource(exported = false)
+    void delete(ProvisioningJob entity);
+}
@@ -0,0 +1,33 @@
+package org.example.springbootboilerplate.repository;
+
+import org.example.springbootboilerplate.entity.JobState;
+import org.example.springbootboilerplate.entity.ProvisioningJobSummary;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.time.Instant;
+
+/**
+ * 조건 조합에 따라 JPQL 을 만드는 조회, REST 로는 {@link org.example.springbootboilerplate.controller.KeysetScrollController} 가 노출한다.
+ */
+public interface ProvisioningJobRepositoryCustom {
+
+    /**
+     * 요청 시점 (queuedAt, id) 역순 keyset 조회, offset 을 사용하지 않으므로 뒤쪽 page 도 같은 비용으로 조회한다.
+     * 모든 조건은 생략할 수 있고, 값이 있는 조건만 where 절에 들어가므로 state / spaceId 인덱스를 그대로 사용한다.
+     * page 번호는 사용하지 않는다 (size 만 사용).
+     *
+     * @param from 요청 시점 하한 (포함)
+     * @param to 요청 시점 상한 (미포함)
+     * @param afterQueuedAt 이전 page 마지막 항목의 queuedAt, 첫 page 는 생략
+     * @param afterId 이전 page 마지막 항목의 id
+     */
+    Slice<ProvisioningJobSummary> scroll(
+            JobState state,
+            String spaceId,
+            Instant from,
+            Instant to,
+            Instant afterQueuedAt,
+            String afterId,
+            Pageable pageable);
+}
@@ -0,0 +1,70 @@
+package org.example.springbootboilerplate.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import lombok.Value;
+import org.example.springbootboilerplate.dto.OperationType;
+import org.example.springbootboilerplate.entity.JobState;
+import org.example.springbootboilerplate.entity.ProvisioningJobSummary;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.hateoas.server.core.Relation;
+
+import java.time.Instant;
+
+class ProvisioningJobRepositoryCustomImpl implements ProvisioningJobRepositoryCustom {
+
+    private static final String SELECT = "select j.id as id, j.operation as operation, j.spaceId as spaceId, "
+            + "j.state as state, j.queuedAt as queuedAt, j.finishedAt as finishedAt, j.exitCode as exitCode "
+            + "from ProvisioningJob j";
+    private static final String ORDER_BY = "order by j.queuedAt desc, j.id desc";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Slice<ProvisioningJobSummary> scroll(
+            JobState state,
+            String spaceId,
+            Instant from,
+            Instant to,
+            Instant afterQueuedAt,
+            String afterId,
+            Pageable pageable) {
+        return new KeysetQuery()
+                .equal("j.state", "state", state)
+                .equal("j.spaceId", "spaceId", spaceId)
+                .atLeast("j.queuedAt", "from", from)
+                .lessThan("j.queuedAt", "to", to)
+                .before("j.queuedAt", "j.id", afterQueuedAt, afterId)
+                .fetch(entityManager, SELECT, ORDER_BY, Tuple.class, pageable)
+                .map(Summary::of);
+    }
+
+    /**
+     * stderr 등 큰 컬럼 없이 조회한 목록 항목
+     */
+    @Value
+    @Relation(collectionRelation = "jobs")
+    static class Summary implements ProvisioningJobSummary {
+        String id;
+        OperationType operation;
+        String spaceId;
+        JobState state;
+        Instant queuedAt;
+        Instant finishedAt;
+        Integer exitCode;
+
+        private static Summary of(Tuple tuple) {
+            return new Summary(
+                    tuple.get("id", String.class),
+                    tuple.get("operation", OperationType.class),
+                    tuple.get("spaceId", String.class),
+                    tuple.get("state", JobState.class),
+                    tuple.get("queuedAt", Instant.class),
+                    tuple.get("finishedAt", Instant.class),
+                    tuple.get("exitCode", Integer.class));
+        }
+    }
+}
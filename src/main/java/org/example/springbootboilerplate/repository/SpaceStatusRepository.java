@@ -0,0 +1,52 @@
+package org.example.springbootboilerplate.repository;
+
+import org.example.springbootboilerplate.entity.JobState;
+import org.example.springbootboilerplate.entity.SpaceStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+import org.springframework.data.rest.core.annotation.RestResource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+
+/**
+ * /spaces 로 조회만 노출, space 별 마지막 작업 상태는 ProvisioningJobRecorder 만 저장한다.
+ * 목록은 offset / count 를 사용하는 기본 collection resource 대신 keyset 조회 (/spaces/search/scroll) 만 노출한다.
+ */
+@RepositoryRestResource(path = "spaces", collectionResourceRel = "spaces")
+public interface SpaceStatusRepository extends JpaRepository<SpaceStatus, String>, SpaceStatusRepositoryCustom {
+
+    /**
+     * 이전 실행에서 끝나지 않은 작업이 마지막 작업인 space 의 상태를 바꾼다.
+     */
+    @RestResource(exported = false)
+    @Modifying
+    @Transactional
+    @Query("update SpaceStatus s set s.state = :state, s.updatedAt = :updatedAt where s.state in :inFlight")
+    int finishInFlight(
+            @Param("inFlight") Collection<JobState> inFlight,
+            @Param("state") JobState state,
+            @Param("updatedAt") Instant updatedAt);
+
+    @Override
+    @RestResource(exported = false)
+    Page<SpaceStatus> findAll(Pageable pageable);
+
+    @Override
+    @RestResource(exported = false)
+    <S extends SpaceStatus> S save(S entity);
+
+    @Override
+    @RestResource(exported = false)
+    void deleteById(String id);
+
+    @Override
+    @RestResource(exported = false)
+    void delete(SpaceStatus entity);
+}
@@ -0,0 +1,30 @@
+package org.example.springbootboilerplate.repository;
+
+import org.example.springbootboilerplate.entity.JobState;
+import org.example.springbootboilerplate.entity.SpaceStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.time.Instant;
+
+/**
+ * 조건 조합에 따라 JPQL 을 만드는 조회, REST 로는 {@link org.example.springbootboilerplate.controller.KeysetScrollController} 가 노출한다.
+ */
+public interface SpaceStatusRepositoryCustom {
+
+    /**
+     * 마지막 상태 변경 시점 (updatedAt, spaceId) 역순 keyset 조회, 값이 있는 조건만 where 절에 들어간다.
+     *
+     * @param from 상태 변경 시점 하한 (포함)
+     * @param to 상태 변경 시점 상한 (미포함)
+     * @param afterUpdatedAt 이전 page 마지막 항목의 updatedAt, 첫 page 는 생략
+     * @param afterSpaceId 이전 page 마지막 항목의 spaceId
+     */
+    Slice<SpaceStatus> scroll(
+            JobState state,
+            Instant from,
+            Instant to,
+            Instant afterUpdatedAt,
+            String afterSpaceId,
+            Pageable pageable);
+}
@@ -0,0 +1,35 @@
+package org.example.springbootboilerplate.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.example.springbootboilerplate.entity.JobState;
+import org.example.springbootboilerplate.entity.SpaceStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.time.Instant;
+
+class SpaceStatusRepositoryCustomImpl implements SpaceStatusRepositoryCustom {
+
+    private static final String SELECT = "select s from SpaceStatus s";
+    private static final String ORDER_BY = "order by s.updatedAt desc, s.spaceId desc";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Slice<SpaceStatus> scroll(
+            JobState state,
+            Instant from,
+            Instant to,
+            Instant afterUpdatedAt,
+            String afterSpaceId,
+            Pageable pageable) {
+        return new KeysetQuery()
+                .equal("s.state", "state", state)
+                .atLeast("s.updatedAt", "from", from)
+                .lessThan("s.updatedAt", "to", to)
+                .before("s.updatedAt", "s.spaceId", afterUpdatedAt, afterSpaceId)
+                .fetch(entityManager, SELECT, ORDER_BY, SpaceStatus.class, pageable);
+    }
+}
@@ -1,61 +1,220 @@
 package org.example.springbootboilerplate.service;
 
+import io.kubernetes.client.openapi.ApiException;
 import jakarta.annotation.Nullable;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.example.springbootboilerplate.dto.CommandDto;
+import org.example.springbootboilerplate.dto.CommandRequest;
+import org.example.springbootboilerplate.dto.CommandResult;
+import org.example.springbootboilerplate.dto.OperationType;
+import org.example.springbootboilerplate.dto.ResourceQuotaSpec;
+import org.example.springbootboilerplate.entity.JobState;
+import org.example.springbootboilerplate.properties.CmdProperties;
+import org.example.springbootboilerplate.properties.K8SProperties;
+import org.example.springbootboilerplate.util.SingleFlight;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
-import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class CmdService {
 
+    private final CommandExecutor commandExecutor;
+    private final K8SApiService k8SApiService;
+    private final K8SProperties k8SProperties;
+    private final ResourceQuotaReconciler resourceQuotaReconciler;
+    private final CmdProperties cmdProperties;
+    private final HelmChartCache helmChartCache;
+
+    /**
+     * key: [operation, spaceId, 인자...]
+     */
+    private SingleFlight<List<String>, CommandResult> singleFlight;
+
+    @PostConstruct
+    public void init() {
+        singleFlight = new SingleFlight<>(cmdProperties.getSingleFlight().getResultTtl(), CommandResult::isSuccess);
+    }
+
+    /**
+     * upstream 재시도 등으로 같은 작업이 실행 중에 다시 들어온 경우 프로세스를 새로 띄우지 않고 실행 중인 결과를 공유한다.
+     *
+     * @param operation 작업 종류
+     * @param args spaceId 를 포함한 작업 인자, 모두 같아야 같은 작업으로 취급
+     * @param running 실제 실행
+     */
+    private CompletableFuture<CommandResult> coalesce(
+            OperationType operation,
+            List<String> args,
+            Supplier<CompletableFuture<CommandResult>> running) {
+        if (!cmdProperties.getSingleFlight().isEnabled()) {
+            return running.get();
+        }
+        List<String> key = new ArrayList<>(args.size() + 1);
+        key.add(operation.name());
+        args.forEach(arg -> key.add(Objects.toString(arg, "")));
+        return singleFlight.execute(key, running);
+    }
+
+    public SingleFlight<List<String>, CommandResult> getSingleFlight() {
+        return singleFlight;
+    }
+
     /**
      *
-     * 서버를 실행 시킨 환경 내에서 실행시키고 싶은 커맨드를 실행 이후 처리 작업을 도와주는 메소드
+     * 서버를 실행 시킨 환경 내에서 실행시키고 싶은 커맨드를 {@link CommandExecutor} 에 넘기고, 실행 이후 결과를 로그로 남기는 메소드
      *
+     * @param operation 실행하는 작업 종류, description 이 실행 이후 성공 / 실패 시에 로그로 찍힐 기본 comment
+     * @param spaceId 작업 대상 spaceId
      * @param cmd 실행하고 싶은 커맨드
-     * @param comment 실행 이후 성공 / 실패 시에 로그로 찍힐 기본 comment
      * @param resultLogMap key, value 로 묶여있는 map 을 기준으로 로그를 만들어줌
+     * @return {@link CompletableFuture} < {@link CommandResult} > 큐 거절, process 런타임 자체 실패 시 예외로 완료
+     */
+    private CompletableFuture<CommandResult> baseRunningAsync(
+            OperationType operation,
+            String spaceId,
+            String[] cmd,
+            Map<String, String> resultLogMap) {
+        return baseRunningAsync(operation, spaceId, cmd, resultLogMap, null);
+    }
+
+    /**
+     * @param task null 이 아니라면 cmd 프로세스 대신 실행할 작업 (K8S API 요청 등), 작업 안에서 프로세스를 띄울 때 같은 jobId 를 쓰도록 submit 한 request 를 전달받는다.
+     */
+    private CompletableFuture<CommandResult> baseRunningAsync(
+            OperationType operation,
+            String spaceId,
+            @Nullable String[] cmd,
+            Map<String, String> resultLogMap,
+            @Nullable Function<CommandRequest, Callable<CommandResult>> task) {
+        CommandRequest request = CommandRequest.builder()
+                .operation(operation)
+                .spaceId(spaceId)
+                .cmd(cmd)
+                .timeout(k8SProperties.getTimeout().of(operation))
+                .build();
+
+        CompletableFuture<CommandResult> future = task != null
+                ? commandExecutor.submit(request, task.apply(request))
+                : commandExecutor.submit(request);
+        // cancel 이 executor 의 future 까지 전달되도록 로그는 부가 작업으로만 붙히고 원래 future 를 반환한다.
+        future.whenComplete((result, throwable) -> {
+            String comment = operation.getDescription();
+            if (throwable instanceof CancellationException) {
+                log.info("{} cancelled {}", comment, resultLogMap);
+                return;
+            }
+            if (throwable != null) {
+                log.error("{} failed to run {}", comment, resultLogMap, throwable);
+                return;
+            }
+            resultLogMap.forEach((key, value) -> {
+                log.info("{} {}=[{}] result=[{}]{}", comment, key, value, result.getExitCode(), result.isSkipped() ? " skipped" : "");
+            });
+            if (StringUtils.isNotBlank(result.getStderr())) {
+                log.error("{} error = {}", comment, result.getStderr());
+            }
+        });
+        return future;
+    }
+
+    /**
+     * baseRunningAsync 결과를 기다린 뒤 호출 스레드에서 callback 을 실행하는 메소드, 기다리지 않으려면 *Async 메소드를 사용.
+     *
+     * @param future baseRunningAsync 결과
      * @param callback process 정상 실행 이후에 실행해야하는 callback 함수
-     * @param failCallback process 실패 이후에 실행해야하는 callback 함수
+     * @param failCallback process 실패 이후에 실행해야하는 callback 함수, 큐 거절 등 실행하지 못한 경우 예외 메세지를 전달.
+     *                     시간 초과는 {@link CommandResult#TIMEOUT_PREFIX} 로 시작하는 메세지, 취소는 {@link CommandResult#CANCELLED} 를 전달
      * @throws IOException process 런타임 자체 실패
-     * @throws InterruptedException process 스트림 획득 실패
+     * @throws InterruptedException 기다리는 도중 interrupt, 실행 중인 process 는 취소된다
      */
     private void baseRunning(
-            String[] cmd,
-            String comment,
-            Map<String, String> resultLogMap,
+            CompletableFuture<CommandResult> future,
             @Nullable Consumer<Void> callback,
             @Nullable Consumer<String> failCallback)
             throws IOException, InterruptedException {
-        Process process = Runtime.getRuntime().exec(cmd);
-        InputStream errorInputStream = process.getErrorStream();
-        int exitCode = process.waitFor();
-
-        resultLogMap.forEach((key, value) -> {
-            log.info("{} {}=[{}] result=[{}]", comment, key, value, exitCode);
-        });
-
-        String error = new String(errorInputStream.readAllBytes(), StandardCharsets.UTF_8);
-        if (StringUtils.isNotBlank(error)) {
-            log.error("{} error = {}", comment, error);
+        CommandResult result;
+        try {
+            result = future.get();
+        }
+        catch (InterruptedException exception) {
+            future.cancel(true);
+            throw exception;
+        }
+        catch (CancellationException exception) {
+            if (failCallback != null) {
+                failCallback.accept(CommandResult.CANCELLED);
+            }
+            return;
+        }
+        catch (ExecutionException exception) {
+            Throwable cause = JobState.unwrap(exception.getCause() != null ? exception.getCause() : exception);
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (failCallback != null) {
+                failCallback.accept(cause.getMessage());
+            }
+            return;
         }
 
-        if ((exitCode == 0 || exitCode == 141) && callback != null) {
+        if (result.isSuccess() && callback != null) {
             callback.accept(null);
         }
         else if (failCallback != null) {
-            failCallback.accept(error);
+            failCallback.accept(result.getFailureMessage());
         }
     }
 
+    /**
+     * spaceId 를 기준으로 새로운 물리적인 space 를 생성하는 메소드
+     *
+     * @param spaceId
+     * @param vclusterNamespace
+     * @param path
+     * @return {@link CompletableFuture} < {@link CommandResult} >
+     */
+    public CompletableFuture<CommandResult> createSpaceInCloudAsync(
+            String spaceId,
+            String vclusterNamespace,
+            String path
+    ) {
+        return coalesce(OperationType.INSTALL, Arrays.asList(spaceId, vclusterNamespace, path), () -> {
+            // 로컬 chart 가 아직 준비되지 않았다면 이번 설치는 원격 repo 를 사용하고 다음 설치를 위해 받아둔다.
+            String chartArchive = helmChartCache.getLocalChart().map(Object::toString).orElse(null);
+            if (chartArchive == null) {
+                helmChartCache.preloadAsync();
+            }
+            String[] cmd =
+                    CommandDto.InstallCommand
+                            .builder()
+                            .spaceId(spaceId)
+                            .vclusterNamespace(vclusterNamespace)
+                            .chartPath(path)
+                            .chartArchive(chartArchive)
+                            .build()
+                            .toCMD();
+            return baseRunningAsync(OperationType.INSTALL, spaceId, cmd, Map.of("spaceId", spaceId));
+        });
+    }
+
     /**
      * spaceId 를 기준으로 새로운 물리적인 space 를 생성하는 메소드
      *
@@ -74,16 +233,23 @@ public class CmdService {
             @Nullable Consumer<Void> callback,
             @Nullable Consumer<String> failCallback
     ) throws IOException, InterruptedException {
+        baseRunning(createSpaceInCloudAsync(spaceId, vclusterNamespace, path), callback, failCallback);
+    }
+
+    public CompletableFuture<CommandResult> deleteStorageClassAsync(
+            String spaceId,
+            @Nullable String type
+    ) {
+        return coalesce(OperationType.DELETE_STORAGE_CLASS, Arrays.asList(spaceId, type), () -> {
+            String[] cmd = CommandDto.DeleteStorageClass
+                    .builder()
+                    .spaceId(spaceId)
+                    .type(type)
+                    .build()
+                    .toCMD();
 
-        String[] cmd =
-                CommandDto.InstallCommand
-                        .builder()
-                        .spaceId(spaceId)
-                        .vclusterNamespace(vclusterNamespace)
-                        .chartPath(path)
-                        .build()
-                        .toCMD();
-        baseRunning(cmd, "created vcluster", Map.of("spaceId", spaceId), callback, failCallback);
+            return baseRunningAsync(OperationType.DELETE_STORAGE_CLASS, spaceId, cmd, Map.of("spaceId", spaceId));
+        });
     }
 
     public void deleteStorageClass(
@@ -92,14 +258,103 @@ public class CmdService {
             @Nullable Consumer<Void> callback,
             @Nullable Consumer<String> failCallback
     ) throws IOException, InterruptedException {
-        String[] cmd = CommandDto.DeleteStorageClass
+        baseRunning(deleteStorageClassAsync(spaceId, type), callback, failCallback);
+    }
+
+    public CompletableFuture<CommandResult> patchResourceQuotaAsync(
+            String spaceId,
+            String resourceQuota
+    ) {
+        return coalesce(
+                OperationType.PATCH_RESOURCE_QUOTA,
+                Arrays.asList(spaceId, resourceQuota),
+                () -> runPatchResourceQuota(spaceId, resourceQuota));
+    }
+
+    private CompletableFuture<CommandResult> runPatchResourceQuota(
+            String spaceId,
+            String resourceQuota
+    ) {
+        CommandDto.ResourceQuotaPatch patch = CommandDto.ResourceQuotaPatch
                 .builder()
                 .spaceId(spaceId)
-                .type(type)
-                .build()
-                .toCMD();
+                .resourceQuota(resourceQuota)
+                .build();
+
+        K8SProperties.PatchMode mode = k8SProperties.getResourceQuotaPatchMode();
+        ResourceQuotaSpec desired = k8SProperties.isResourceQuotaSkipUnchanged()
+                ? ResourceQuotaSpec.parse(resourceQuota).orElse(null)
+                : null;
+        // 비교 없이 CLI 로 보내는 경우도 같은 작업 안에서 실행해야 큐에서 거절되거나 취소된 patch 가 applied 로 집계되지 않는다.
+        return baseRunningAsync(
+                OperationType.PATCH_RESOURCE_QUOTA,
+                spaceId,
+                null,
+                Map.of("spaceId", spaceId, "mode", mode.name()),
+                request -> () -> patchResourceQuota(request, patch, desired, mode));
+    }
+
+    /**
+     * desired 가 있다면 현재 ResourceQuota 와 비교해서 달라진 항목만 patch 하고, 달라진 항목이 없다면 실행하지 않는다.
+     * executor 스레드 안에서 실행된다.
+     *
+     * @param request submit 된 request, CLI 실행도 같은 jobId 로 기록된다.
+     * @param patch 전달받은 원래 patch
+     * @param desired 파싱된 quota, null 이라면 비교 없이 원래 patch 를 그대로 보낸다.
+     * @param mode CLI / API
+     */
+    private CommandResult patchResourceQuota(
+            CommandRequest request,
+            CommandDto.ResourceQuotaPatch patch,
+            @Nullable ResourceQuotaSpec desired,
+            K8SProperties.PatchMode mode) throws IOException, InterruptedException {
+        CommandDto.ResourceQuotaPatch target = patch;
+        if (desired != null) {
+            ResourceQuotaSpec minimal = resourceQuotaReconciler.minimalPatch(patch, desired);
+            if (minimal.isEmpty()) {
+                resourceQuotaReconciler.recordSkipped();
+                return CommandResult.builder()
+                        .exitCode(0)
+                        .stdout("")
+                        .stderr("")
+                        .skipped(true)
+                        .build();
+            }
+            target = CommandDto.ResourceQuotaPatch
+                    .builder()
+                    .spaceId(patch.getSpaceId())
+                    .resourceQuota(minimal.toPatchJson())
+                    .build();
+        }
+        resourceQuotaReconciler.recordApplied();
 
-        baseRunning(cmd, "Delete vcluster storageClasses", Map.of("spaceId", spaceId), callback, failCallback);
+        if (mode == K8SProperties.PatchMode.API) {
+            return patchResourceQuotaByApi(target);
+        }
+        return commandExecutor.run(request.toBuilder()
+                .cmd(target.toCMD())
+                .build());
+    }
+
+    /**
+     * API 요청 결과를 CLI 실행 결과와 같은 형태로 맞춰준다. API 서버가 거절한 경우 exitCode 1, stderr 에 응답 코드와 body 를 담는다.
+     */
+    private CommandResult patchResourceQuotaByApi(CommandDto.ResourceQuotaPatch patch) throws IOException {
+        try {
+            k8SApiService.patchResourceQuota(patch);
+            return CommandResult.builder()
+                    .exitCode(0)
+                    .stdout("")
+                    .stderr("")
+                    .build();
+        }
+        catch (ApiException exception) {
+            return CommandResult.builder()
+                    .exitCode(1)
+                    .stdout("")
+                    .stderr("code=[" + exception.getCode() + "] " + exception.getResponseBody())
+                    .build();
+        }
     }
 
     public void patchResourceQuota(
@@ -108,13 +363,6 @@ public class CmdService {
             @Nullable Consumer<Void> callback,
             @Nullable Consumer<String> failCallback
     ) throws IOException, InterruptedException {
-        String[] cmd = CommandDto.ResourceQuotaPatch
-                .builder()
-                .spaceId(spaceId)
-                .resourceQuota(resourceQuota)
-                .build()
-                .toCMD();
-
-        baseRunning(cmd, "patch vcluster resource quota", Map.of("spaceId", spaceId), callback, failCallback);
+        baseRunning(patchResourceQuotaAsync(spaceId, resourceQuota), callback, failCallback);
     }
 }
@@ -0,0 +1,401 @@
+package org.example.springbootboilerplate.service;
+
+import jakarta.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+import org.example.springbootboilerplate.dto.CommandRequest;
+import org.example.springbootboilerplate.dto.CommandResult;
+import org.example.springbootboilerplate.properties.CmdProperties;
+import org.example.springbootboilerplate.util.ProcessOutputPump;
+import org.example.springbootboilerplate.util.RequestContext;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * CmdService 의 커맨드를 요청 스레드와 분리된 전용 스레드에서 실행하는 실행 엔진.
+ * 실행 중 + 대기 중인 커맨드 갯수를 maxConcurrency + queueCapacity 로 제한하고, 가득 찬 경우 설정에 따라 거절하거나 기다린다.
+ * submit 한 스레드의 {@link RequestContext} 는 작업 스레드와 출력 pump 스레드로 전달된다.
+ */
+@Slf4j
+@Component
+public class CommandExecutor implements DisposableBean {
+
+    /**
+     * 프로세스 종료 이후 pump 가 남은 출력을 다 읽을 때까지 기다리는 최대 시간.
+     * 자식 프로세스가 띄운 백그라운드 프로세스가 파이프를 계속 잡고 있는 경우를 위해 제한한다.
+     */
+    private static final long PUMP_DRAIN_TIMEOUT_MILLIS = 5_000L;
+
+    private final CmdProperties.Executor properties;
+    private final CmdProperties.Output outputProperties;
+    private final ExecutorService executorService;
+    /**
+     * 프로세스 하나당 stdout / stderr pump 두 개가 실행되는 executor
+     */
+    private final ExecutorService pumpExecutorService;
+    /**
+     * 실행 중 + 대기 중 커맨드 갯수 제한
+     */
+    private final Semaphore admission;
+    /**
+     * virtual thread 는 갯수 제한이 없기 때문에 동시 실행 갯수를 따로 제한
+     */
+    private final Semaphore running;
+    private final ThreadLocal<TaskContext> currentTask = new ThreadLocal<>();
+    /**
+     * listener 가 CmdService 등에 의존하는 경우 순환 참조가 생기지 않도록 처음 사용할 때 찾는다.
+     */
+    private final ObjectProvider<CommandListener> listenerProvider;
+    private volatile List<CommandListener> listeners;
+
+    public CommandExecutor(CmdProperties cmdProperties, ObjectProvider<CommandListener> listenerProvider) {
+        this.listenerProvider = listenerProvider;
+        this.properties = cmdProperties.getExecutor();
+        this.outputProperties = cmdProperties.getOutput();
+        int maxConcurrency = Math.max(1, properties.getMaxConcurrency());
+        this.admission = new Semaphore(maxConcurrency + Math.max(0, properties.getQueueCapacity()));
+
+        ExecutorService virtualExecutor = properties.isVirtualThreads() ? newVirtualThreadExecutor() : null;
+        if (virtualExecutor != null) {
+            this.executorService = virtualExecutor;
+            this.running = new Semaphore(maxConcurrency);
+        }
+        else {
+            AtomicInteger threadCount = new AtomicInteger();
+            ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(
+                    maxConcurrency,
+                    maxConcurrency,
+                    60L,
+                    TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "cmd-executor-" + threadCount.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            threadPoolExecutor.allowCoreThreadTimeOut(true);
+            this.executorService = threadPoolExecutor;
+            this.running = null;
+        }
+
+        ExecutorService virtualPumpExecutor = virtualExecutor != null ? newVirtualThreadExecutor() : null;
+        if (virtualPumpExecutor != null) {
+            this.pumpExecutorService = virtualPumpExecutor;
+        }
+        else {
+            AtomicInteger pumpThreadCount = new AtomicInteger();
+            this.pumpExecutorService = Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "cmd-output-pump-" + pumpThreadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        log.info("command executor started virtualThreads=[{}] maxConcurrency=[{}] queueCapacity=[{}] policy=[{}]",
+                running != null, maxConcurrency, properties.getQueueCapacity(), properties.getQueueFullPolicy());
+    }
+
+    /**
+     * Java 17 로 컴파일 되기 때문에 virtual thread API 는 reflection 으로 찾는다. 지원하지 않는 JVM 이면 null
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) method.invoke(null);
+        }
+        catch (ReflectiveOperationException exception) {
+            return null;
+        }
+    }
+
+    /**
+     * 커맨드를 실행 큐에 넣고 결과를 비동기로 반환한다.
+     * 큐가 가득 차 거절되거나 프로세스 실행 자체가 실패한 경우 future 는 예외로 완료된다.
+     * 반환된 future 를 cancel 하면 대기 중인 경우 실행하지 않고, 실행 중인 경우 프로세스 트리를 종료한다.
+     *
+     * @param request 실행할 커맨드
+     * @return {@link CompletableFuture} < {@link CommandResult} >
+     */
+    public CompletableFuture<CommandResult> submit(CommandRequest request) {
+        return submit(request, () -> run(request));
+    }
+
+    /**
+     * 프로세스 대신 임의의 작업 (K8S API 요청 등) 을 커맨드와 같은 큐 / 동시 실행 제한 안에서 실행한다.
+     *
+     * @param request 작업 정보, cmd 는 비어있을 수 있음
+     * @param task 실제 작업
+     * @return {@link CompletableFuture} < {@link CommandResult} >
+     */
+    public CompletableFuture<CommandResult> submit(CommandRequest request, Callable<CommandResult> task) {
+        CompletableFuture<CommandResult> future = new CompletableFuture<>();
+        TaskContext context = new TaskContext();
+        future.whenComplete((result, throwable) -> {
+            if (future.isCancelled()) {
+                context.cancel();
+            }
+            long runNanos = context.startedNanos == 0 ? 0 : System.nanoTime() - context.startedNanos;
+            notifyListeners(listener -> listener.onFinished(request, result, throwable, runNanos));
+        });
+
+        try {
+            if (!acquireAdmission()) {
+                future.completeExceptionally(new RejectedExecutionException(
+                        "command queue is full operation=[" + request.getOperation() + "] spaceId=[" + request.getSpaceId() + "]"));
+                return future;
+            }
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            future.completeExceptionally(exception);
+            return future;
+        }
+
+        long queuedNanos = System.nanoTime();
+        RequestContext requestContext = RequestContext.capture();
+        notifyListeners(listener -> listener.onQueued(request));
+        try {
+            executorService.execute(() -> {
+                if (future.isDone()) {
+                    admission.release();
+                    return;
+                }
+                currentTask.set(context);
+                try (RequestContext.Scope ignored = requestContext.restore()) {
+                    future.complete(runWithLimit(request, task, context, queuedNanos));
+                }
+                catch (Throwable throwable) {
+                    future.completeExceptionally(throwable);
+                }
+                finally {
+                    currentTask.remove();
+                    admission.release();
+                }
+            });
+        }
+        catch (RejectedExecutionException exception) {
+            admission.release();
+            future.completeExceptionally(exception);
+        }
+        return future;
+    }
+
+    private boolean acquireAdmission() throws InterruptedException {
+        if (properties.getQueueFullPolicy() == CmdProperties.QueueFullPolicy.WAIT) {
+            return admission.tryAcquire(properties.getQueueWaitTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        }
+        return admission.tryAcquire();
+    }
+
+    private CommandResult runWithLimit(
+            CommandRequest request,
+            Callable<CommandResult> task,
+            TaskContext context,
+            long queuedNanos) throws Exception {
+        if (running != null) {
+            running.acquire();
+        }
+        try {
+            context.startedNanos = System.nanoTime();
+            notifyListeners(listener -> listener.onStarted(request, context.startedNanos - queuedNanos));
+            return task.call();
+        }
+        finally {
+            if (running != null) {
+                running.release();
+            }
+        }
+    }
+
+    private List<CommandListener> listeners() {
+        List<CommandListener> resolved = listeners;
+        if (resolved == null) {
+            resolved = listenerProvider.orderedStream().toList();
+            listeners = resolved;
+        }
+        return resolved;
+    }
+
+    private void notifyListeners(Consumer<CommandListener> notification) {
+        for (CommandListener listener : listeners()) {
+            try {
+                notification.accept(listener);
+            }
+            catch (RuntimeException exception) {
+                log.warn("command listener failed listener=[{}]", listener.getClass().getSimpleName(), exception);
+            }
+        }
+    }
+
+    /**
+     * submit 으로 넘긴 task 안에서 프로세스를 실행할 때 사용한다. 호출 스레드가 이미 실행 자리를 갖고 있으므로 큐를 거치지 않는다.
+     */
+    CommandResult run(CommandRequest request) throws IOException, InterruptedException {
+        long spawnStartNanos = System.nanoTime();
+        Process process = new ProcessBuilder(request.getCmd()).start();
+        long spawnNanos = System.nanoTime() - spawnStartNanos;
+        notifyListeners(listener -> listener.onSpawned(request, spawnNanos));
+        TaskContext context = currentTask.get();
+        if (context != null) {
+            context.attach(process);
+        }
+        process.getOutputStream().close();
+
+        ProcessOutputPump.LineListener lineListener = lineListener(request);
+        ProcessOutputPump stdoutPump = new ProcessOutputPump(
+                process.getInputStream(),
+                ProcessOutputPump.Source.STDOUT,
+                outputProperties.getStdoutBufferKb() * 1024,
+                outputProperties.getMaxLineLength(),
+                lineListener);
+        ProcessOutputPump stderrPump = new ProcessOutputPump(
+                process.getErrorStream(),
+                ProcessOutputPump.Source.STDERR,
+                outputProperties.getStderrBufferKb() * 1024,
+                outputProperties.getMaxLineLength(),
+                lineListener);
+        Future<?> stdoutFuture = pumpExecutorService.submit(RequestContext.wrap(stdoutPump));
+        Future<?> stderrFuture = pumpExecutorService.submit(RequestContext.wrap(stderrPump));
+
+        Duration timeout = request.getTimeout();
+        boolean timedOut = false;
+        try {
+            if (timeout == null || timeout.isZero() || timeout.isNegative()) {
+                process.waitFor();
+            }
+            else if (!process.waitFor(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                timedOut = true;
+                log.warn("command timed out operation=[{}] spaceId=[{}] timeout=[{}], killing process tree",
+                        request.getOperation(), request.getSpaceId(), timeout);
+                killProcessTree(process);
+                process.waitFor(PUMP_DRAIN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            }
+        }
+        catch (InterruptedException exception) {
+            killProcessTree(process);
+            throw exception;
+        }
+        finally {
+            if (context != null) {
+                context.detach();
+            }
+        }
+        awaitPump(stdoutFuture, process.getInputStream());
+        awaitPump(stderrFuture, process.getErrorStream());
+
+        return CommandResult.builder()
+                .exitCode(process.isAlive() ? -1 : process.exitValue())
+                .stdout(stdoutPump.getRingBuffer().toString(StandardCharsets.UTF_8))
+                .stderr(stderrPump.getRingBuffer().toString(StandardCharsets.UTF_8))
+                .stdoutBytes(stdoutPump.getRingBuffer().getTotalBytes())
+                .stderrBytes(stderrPump.getRingBuffer().getTotalBytes())
+                .timedOut(timedOut)
+                .build();
+    }
+
+    /**
+     * request 의 lineListener 와 출력을 원하는 CommandListener 를 하나로 합친다. 아무도 없으면 null
+     */
+    @Nullable
+    private ProcessOutputPump.LineListener lineListener(CommandRequest request) {
+        List<ProcessOutputPump.LineListener> lineListeners = new ArrayList<>(2);
+        if (request.getLineListener() != null) {
+            lineListeners.add(request.getLineListener());
+        }
+        for (CommandListener listener : listeners()) {
+            try {
+                ProcessOutputPump.LineListener outputListener = listener.outputListener(request);
+                if (outputListener != null) {
+                    lineListeners.add(outputListener);
+                }
+            }
+            catch (RuntimeException exception) {
+                log.warn("command listener failed listener=[{}]", listener.getClass().getSimpleName(), exception);
+            }
+        }
+        if (lineListeners.size() <= 1) {
+            return lineListeners.isEmpty() ? null : lineListeners.get(0);
+        }
+        return (source, line) -> {
+            for (ProcessOutputPump.LineListener lineListener : lineListeners) {
+                try {
+                    lineListener.onLine(source, line);
+                }
+                catch (RuntimeException exception) {
+                    log.warn("line listener failed", exception);
+                }
+            }
+        };
+    }
+
+    /**
+     * vcluster connect -- kubectl 처럼 하위 프로세스를 띄우는 커맨드가 있으므로, 부모를 죽이기 전에 하위 프로세스 목록을 먼저 구한다.
+     * 부모가 먼저 죽으면 하위 프로세스가 init 으로 넘어가 descendants 에서 빠지기 때문.
+     */
+    private static void killProcessTree(Process process) {
+        List<ProcessHandle> descendants = process.descendants().toList();
+        process.destroyForcibly();
+        descendants.forEach(ProcessHandle::destroyForcibly);
+    }
+
+    private void awaitPump(Future<?> pumpFuture, InputStream stream) throws InterruptedException {
+        try {
+            pumpFuture.get(PUMP_DRAIN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        }
+        catch (TimeoutException exception) {
+            // blocking read 는 interrupt 로 풀리지 않으므로 스트림을 닫아 pump 를 끝낸다.
+            try {
+                stream.close();
+            }
+            catch (IOException ignored) {
+            }
+            pumpFuture.cancel(true);
+        }
+        catch (ExecutionException exception) {
+            log.warn("failed to read process output", exception.getCause());
+        }
+    }
+
+    /**
+     * submit 된 작업 하나의 실행 상태, 작업 스레드의 ThreadLocal 로 전달되어 run 에서 시작한 프로세스를 cancel 시에 종료할 수 있게 한다.
+     */
+    private static class TaskContext {
+        private Process process;
+        private boolean cancelled;
+        private volatile long startedNanos;
+
+        private synchronized void attach(Process process) {
+            this.process = process;
+            if (cancelled) {
+                killProcessTree(process);
+            }
+        }
+
+        private synchronized void detach() {
+            this.process = null;
+        }
+
+        private synchronized void cancel() {
+            cancelled = true;
+            if (process != null) {
+                killProcessTree(process);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executorService.shutdownNow();
+        pumpExecutorService.shutdownNow();
+    }
+}
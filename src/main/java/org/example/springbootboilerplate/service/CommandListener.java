@@ -0,0 +1,56 @@
+package org.example.springbootboilerplate.service;
+
+import jakarta.annotation.Nullable;
+import org.example.springbootboilerplate.dto.CommandRequest;
+import org.example.springbootboilerplate.dto.CommandResult;
+import org.example.springbootboilerplate.util.ProcessOutputPump;
+
+/**
+ * {@link CommandExecutor} 의 작업 진행 상황을 전달받는 listener, bean 으로 등록하면 executor 에 자동으로 연결된다.
+ * executor / pump 스레드에서 호출되므로 오래 걸리는 작업을 하면 안된다.
+ */
+public interface CommandListener {
+
+    /**
+     * 작업이 큐에 들어간 경우
+     */
+    default void onQueued(CommandRequest request) {
+    }
+
+    /**
+     * 작업이 실행 자리를 얻어 시작된 경우
+     *
+     * @param queuedNanos 큐에서 기다린 시간
+     */
+    default void onStarted(CommandRequest request, long queuedNanos) {
+    }
+
+    /**
+     * 프로세스를 띄운 경우, API 요청 등 프로세스를 띄우지 않는 작업은 호출되지 않는다.
+     *
+     * @param spawnNanos ProcessBuilder.start 에 걸린 시간
+     */
+    default void onSpawned(CommandRequest request, long spawnNanos) {
+    }
+
+    /**
+     * 프로세스를 띄울 때 호출, 출력을 줄 단위로 받고 싶다면 listener 를 반환한다. 반환된 listener 는 pump 스레드에서 호출된다.
+     * 모든 listener 가 null 을 반환하면 pump 는 출력을 줄 단위로 나누지 않는다.
+     */
+    @Nullable
+    default ProcessOutputPump.LineListener outputListener(CommandRequest request) {
+        return null;
+    }
+
+    /**
+     * 작업이 끝난 경우, 큐 거절 / 취소 / 실행 실패는 throwable 로 전달된다.
+     *
+     * @param runNanos 시작부터 끝날 때까지 걸린 시간, 시작하지 못한 경우 0
+     */
+    default void onFinished(
+            CommandRequest request,
+            @Nullable CommandResult result,
+            @Nullable Throwable throwable,
+            long runNanos) {
+    }
+}
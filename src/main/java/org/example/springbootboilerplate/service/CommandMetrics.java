@@ -0,0 +1,153 @@
+package org.example.springbootboilerplate.service;
+
+import io.micrometer.core.instrument.*;
+import jakarta.annotation.Nullable;
+import org.example.springbootboilerplate.dto.CommandRequest;
+import org.example.springbootboilerplate.dto.CommandResult;
+import org.example.springbootboilerplate.dto.OperationType;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * CommandExecutor 작업을 operation 별로 Micrometer 에 기록한다. actuator /actuator/metrics 로 조회할 수 있다.
+ * <ul>
+ *     <li>cmd.queue.wait - 큐 대기 시간</li>
+ *     <li>cmd.spawn - 프로세스 생성 (fork) 시간</li>
+ *     <li>cmd.run - 시작부터 끝날 때까지의 시간, outcome 별</li>
+ *     <li>cmd.exit - exit code 별 횟수, 141 (SIGPIPE) 은 exit.class=sigpipe 로 구분</li>
+ *     <li>cmd.inflight / cmd.queued - 현재 실행 중 / 대기 중 갯수</li>
+ *     <li>cmd.stderr.bytes - 프로세스 하나가 출력한 stderr byte 수</li>
+ * </ul>
+ */
+@Component
+public class CommandMetrics implements CommandListener {
+
+    private static final String OPERATION = "operation";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<OperationType, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+    private final Map<OperationType, AtomicInteger> queued = new ConcurrentHashMap<>();
+    /**
+     * 끝나지 않은 작업의 단계, onFinished 에서 제거된다.
+     * 취소된 작업은 onFinished 뒤에 onStarted 가 올 수 있으므로 여기 없는 작업의 onStarted 는 무시한다.
+     */
+    private final Map<CommandRequest, Phase> phases = new ConcurrentHashMap<>();
+
+    private enum Phase {
+        QUEUED,
+        STARTED
+    }
+
+    public CommandMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        for (OperationType operation : OperationType.values()) {
+            inFlight.put(operation, meterRegistry.gauge(
+                    "cmd.inflight", Tags.of(OPERATION, operation.name()), new AtomicInteger()));
+            queued.put(operation, meterRegistry.gauge(
+                    "cmd.queued", Tags.of(OPERATION, operation.name()), new AtomicInteger()));
+        }
+    }
+
+    @Override
+    public void onQueued(CommandRequest request) {
+        phases.put(request, Phase.QUEUED);
+        queued.get(request.getOperation()).incrementAndGet();
+    }
+
+    @Override
+    public void onStarted(CommandRequest request, long queuedNanos) {
+        // 단계 변경과 gauge 변경을 같은 key 의 compute 안에서 해서 동시에 온 onFinished 와 엇갈리지 않도록 한다.
+        boolean started = phases.computeIfPresent(request, (key, phase) -> {
+            if (phase == Phase.QUEUED) {
+                queued.get(key.getOperation()).decrementAndGet();
+                inFlight.get(key.getOperation()).incrementAndGet();
+            }
+            return Phase.STARTED;
+        }) != null;
+        if (!started) {
+            return;
+        }
+        Timer.builder("cmd.queue.wait")
+                .tag(OPERATION, request.getOperation().name())
+                .register(meterRegistry)
+                .record(queuedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void onSpawned(CommandRequest request, long spawnNanos) {
+        Timer.builder("cmd.spawn")
+                .tag(OPERATION, request.getOperation().name())
+                .register(meterRegistry)
+                .record(spawnNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void onFinished(
+            CommandRequest request,
+            @Nullable CommandResult result,
+            @Nullable Throwable throwable,
+            long runNanos) {
+        String operation = request.getOperation().name();
+        Phase phase = phases.remove(request);
+        if (phase == Phase.QUEUED) {
+            queued.get(request.getOperation()).decrementAndGet();
+        }
+        else if (phase == Phase.STARTED) {
+            inFlight.get(request.getOperation()).decrementAndGet();
+        }
+
+        Timer.builder("cmd.run")
+                .tag(OPERATION, operation)
+                .tag("outcome", outcome(result, throwable))
+                .register(meterRegistry)
+                .record(runNanos, TimeUnit.NANOSECONDS);
+
+        if (result == null || result.isSkipped()) {
+            return;
+        }
+        int exitCode = result.getExitCode();
+        Counter.builder("cmd.exit")
+                .tag(OPERATION, operation)
+                .tag("exit.code", String.valueOf(exitCode))
+                .tag("exit.class", exitCode == 0 ? "ok" : exitCode == 141 ? "sigpipe" : "error")
+                .register(meterRegistry)
+                .increment();
+        DistributionSummary.builder("cmd.stderr.bytes")
+                .baseUnit("bytes")
+                .tag(OPERATION, operation)
+                .register(meterRegistry)
+                .record(result.getStderrBytes());
+    }
+
+    private static String outcome(@Nullable CommandResult result, @Nullable Throwable throwable) {
+        if (throwable != null) {
+            Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                    ? throwable.getCause()
+                    : throwable;
+            if (cause instanceof CancellationException) {
+                return "cancelled";
+            }
+            if (cause instanceof RejectedExecutionException) {
+                return "rejected";
+            }
+            return "error";
+        }
+        if (result == null) {
+            return "error";
+        }
+        if (result.isTimedOut()) {
+            return "timeout";
+        }
+        if (result.isSkipped()) {
+            return "skipped";
+        }
+        return result.isSuccess() ? "success" : "failure";
+    }
+}
@@ -0,0 +1,232 @@
+package org.example.springbootboilerplate.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.springbootboilerplate.properties.GitLabProperties;
+import org.example.springbootboilerplate.util.LruCache;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * GitLab REST API (v4) 조회 client.
+ * <ul>
+ *     <li>ETag 를 가진 응답은 LRU cache 에 보관하고 다음 요청에 If-None-Match 를 보내 304 인 경우 cache 된 응답을 사용한다.</li>
+ *     <li>목록 조회는 page 를 모두 모으지 않고, Stream 을 소비할 때 필요한 page 만 요청한다.</li>
+ *     <li>token 별로 동시 요청 갯수를 제한한다.</li>
+ * </ul>
+ */
+@Component
+public class GitLabClient {
+
+    private static final String API_PREFIX = "/api/v4";
+    private static final String PRIVATE_TOKEN = "PRIVATE-TOKEN";
+    private static final String NEXT_PAGE = "X-Next-Page";
+
+    private final GitLabProperties properties;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+    /**
+     * key: token + 요청 URI, 응답이 token 의 권한에 따라 다르기 때문에 token 별로 따로 보관
+     */
+    private final LruCache<String, CachedResponse> responseCache;
+    private final Map<String, Semaphore> tokenPermits = new ConcurrentHashMap<>();
+    private final LongAdder fetchedCount = new LongAdder();
+    private final LongAdder notModifiedCount = new LongAdder();
+
+    public GitLabClient(GitLabProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(properties.getConnectTimeout())
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        this.responseCache = new LruCache<>(properties.getCacheMaxEntries());
+    }
+
+    /**
+     * @param path API 경로, ex) /projects/1
+     * @return 응답 JSON
+     * @throws IOException 요청 실패 혹은 2xx 가 아닌 응답
+     */
+    public JsonNode get(String path) throws IOException, InterruptedException {
+        return get(path, Map.of(), properties.getToken());
+    }
+
+    public JsonNode get(String path, Map<String, String> query, String token) throws IOException, InterruptedException {
+        return objectMapper.readTree(fetch(buildUri(path, query, null), token).body());
+    }
+
+    /**
+     * 목록 API 를 page 단위로 나눠 요청하는 lazy Stream.
+     * 요청 실패 시 Stream 소비 중에 {@link UncheckedIOException} 이 발생한다.
+     *
+     * @param path 목록 API 경로, ex) /projects
+     * @param query 추가 query, page / per_page 는 client 가 설정
+     */
+    public Stream<JsonNode> stream(String path, Map<String, String> query) {
+        return stream(path, query, properties.getToken());
+    }
+
+    public Stream<JsonNode> stream(String path, Map<String, String> query, String token) {
+        Spliterator<JsonNode> pages = new Spliterators.AbstractSpliterator<>(
+                Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            private Iterator<JsonNode> current = Collections.emptyIterator();
+            private String nextPage = "1";
+
+            @Override
+            public boolean tryAdvance(Consumer<? super JsonNode> action) {
+                while (!current.hasNext()) {
+                    if (nextPage == null) {
+                        return false;
+                    }
+                    CachedResponse page = fetchPage(buildUri(path, query, nextPage), token);
+                    current = readArray(page.body()).elements();
+                    nextPage = page.nextPage();
+                }
+                action.accept(current.next());
+                return true;
+            }
+        };
+        return StreamSupport.stream(pages, false);
+    }
+
+    public Stream<JsonNode> listProjects(Map<String, String> query) {
+        return stream("/projects", query);
+    }
+
+    /**
+     * @param projectId project id 혹은 namespace/project 경로
+     */
+    public Stream<JsonNode> listPipelines(String projectId, Map<String, String> query) {
+        return stream("/projects/" + encode(projectId) + "/pipelines", query);
+    }
+
+    public long getFetchedCount() {
+        return fetchedCount.sum();
+    }
+
+    public long getNotModifiedCount() {
+        return notModifiedCount.sum();
+    }
+
+    private CachedResponse fetchPage(URI uri, String token) {
+        try {
+            return fetch(uri, token);
+        }
+        catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new UncheckedIOException(new InterruptedIOException("gitlab request interrupted uri=[" + uri + "]"));
+        }
+    }
+
+    private CachedResponse fetch(URI uri, String token) throws IOException, InterruptedException {
+        String tokenKey = token == null ? "" : token;
+        String cacheKey = tokenKey + ' ' + uri;
+        CachedResponse cached = responseCache.get(cacheKey);
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .timeout(properties.getRequestTimeout())
+                .header("Accept", "application/json")
+                .GET();
+        if (token != null) {
+            builder.header(PRIVATE_TOKEN, token);
+        }
+        if (cached != null) {
+            builder.header("If-None-Match", cached.etag());
+        }
+
+        Semaphore permits = tokenPermits.computeIfAbsent(tokenKey,
+                key -> new Semaphore(Math.max(1, properties.getMaxConcurrentRequestsPerToken())));
+        HttpResponse<byte[]> response;
+        permits.acquire();
+        try {
+            response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+        }
+        finally {
+            permits.release();
+        }
+
+        int status = response.statusCode();
+        if (status == 304 && cached != null) {
+            notModifiedCount.increment();
+            return cached;
+        }
+        if (status < 200 || status >= 300) {
+            throw new IOException("gitlab request failed status=[" + status + "] uri=[" + uri + "]");
+        }
+        fetchedCount.increment();
+        String nextPage = response.headers().firstValue(NEXT_PAGE).filter(value -> !value.isBlank()).orElse(null);
+        CachedResponse fresh = new CachedResponse(
+                response.headers().firstValue("ETag").orElse(null), response.body(), nextPage);
+        if (fresh.etag() != null) {
+            responseCache.put(cacheKey, fresh);
+        }
+        else if (cached != null) {
+            responseCache.remove(cacheKey);
+        }
+        return fresh;
+    }
+
+    private JsonNode readArray(byte[] body) {
+        try {
+            JsonNode node = objectMapper.readTree(body);
+            if (!node.isArray()) {
+                throw new IOException("gitlab list response is not an array");
+            }
+            return node;
+        }
+        catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private URI buildUri(String path, Map<String, String> query, String page) {
+        String baseUrl = Objects.requireNonNull(properties.getUrl(), "api.gitlab.url is not configured");
+        StringBuilder uri = new StringBuilder(baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl);
+        if (!uri.toString().endsWith(API_PREFIX)) {
+            uri.append(API_PREFIX);
+        }
+        uri.append(path.startsWith("/") ? path : "/" + path);
+
+        char separator = '?';
+        for (Map.Entry<String, String> entry : new TreeMap<>(query).entrySet()) {
+            uri.append(separator).append(encode(entry.getKey())).append('=').append(encode(entry.getValue()));
+            separator = '&';
+        }
+        if (page != null) {
+            uri.append(separator).append("per_page=").append(properties.getPerPage()).append("&page=").append(page);
+        }
+        return URI.create(uri.toString());
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param etag 응답의 ETag, 없으면 cache 하지 않음
+     * @param body 응답 body, 호출자가 변경할 수 없도록 JsonNode 가 아닌 byte 로 보관
+     * @param nextPage X-Next-Page, 마지막 page 라면 null
+     */
+    private record CachedResponse(String etag, byte[] body, String nextPage) {
+    }
+}
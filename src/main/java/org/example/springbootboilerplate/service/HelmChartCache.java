@@ -0,0 +1,238 @@
+package org.example.springbootboilerplate.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.springbootboilerplate.dto.CommandRequest;
+import org.example.springbootboilerplate.dto.CommandResult;
+import org.example.springbootboilerplate.dto.OperationType;
+import org.example.springbootboilerplate.properties.K8SProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+/**
+ * vcluster 설치에 사용하는 helm chart 를 로컬 디스크에 보관하는 cache.
+ * repo / chart / version 별로 한번만 helm pull 하고 sha256 으로 확인한 .tgz 를 이후 설치에 사용한다.
+ * vendorDir 에 미리 받아둔 chart 가 있다면 그것을 먼저 사용하고, offline 모드에서는 helm pull 을 하지 않는다.
+ * pull 은 CommandExecutor 의 큐 / 동시 실행 제한 안에서 실행된다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HelmChartCache {
+
+    private static final String DIGEST_SUFFIX = ".sha256";
+
+    private final K8SProperties k8SProperties;
+    private final CommandExecutor commandExecutor;
+    /**
+     * 확인이 끝난 로컬 chart, 준비되기 전이라면 null
+     */
+    private final AtomicReference<Path> localChart = new AtomicReference<>();
+    private final AtomicReference<CompletableFuture<CommandResult>> loading = new AtomicReference<>();
+
+    /**
+     * @return 설치에 바로 사용할 수 있는 로컬 chart archive, 아직 준비되지 않았다면 empty
+     */
+    public Optional<Path> getLocalChart() {
+        return Optional.ofNullable(localChart.get());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void preloadOnStartup() {
+        if (k8SProperties.getChart().isPreload()) {
+            preloadAsync();
+        }
+    }
+
+    /**
+     * 로컬 chart 를 준비한다. 이미 준비 중이라면 같은 future 를 반환한다.
+     *
+     * @return 준비 결과, 실패한 경우 stderr 에 원인
+     */
+    public CompletableFuture<CommandResult> preloadAsync() {
+        if (localChart.get() != null) {
+            return CompletableFuture.completedFuture(result(0, ""));
+        }
+        CompletableFuture<CommandResult> current = loading.get();
+        if (current != null && !current.isDone()) {
+            return current;
+        }
+        CompletableFuture<CommandResult> future = new CompletableFuture<>();
+        if (!loading.compareAndSet(current, future)) {
+            // 다른 스레드가 먼저 시작했다면 그쪽 결과를 공유
+            return loading.get();
+        }
+        // 특정 space 의 작업이 아니므로 spaceId 는 비워둔다 (space_status / space 구독자에 전달되지 않음)
+        CommandRequest request = CommandRequest.builder()
+                .operation(OperationType.PULL_CHART)
+                .cmd(new String[0])
+                .build();
+        commandExecutor.submit(request, () -> load(request)).whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                log.warn("helm chart preload failed chart=[{}] : {}", chartKey(), throwable.getMessage());
+                future.completeExceptionally(throwable);
+                return;
+            }
+            if (result.isSuccess()) {
+                log.info("helm chart ready chart=[{}] path=[{}]", chartKey(), localChart.get());
+            }
+            else {
+                log.warn("helm chart preload failed chart=[{}] : {}", chartKey(), result.getFailureMessage());
+            }
+            future.complete(result);
+        });
+        return future;
+    }
+
+    /**
+     * CommandExecutor 의 task 안에서 실행, vendor -> cache -> helm pull 순서로 chart 를 찾는다.
+     *
+     * @param request submit 된 request, helm pull 도 같은 jobId 로 실행한다.
+     */
+    private CommandResult load(CommandRequest request) throws IOException, InterruptedException {
+        Optional<Path> found = findVerified();
+        if (found.isPresent()) {
+            localChart.set(found.get());
+            return result(0, "");
+        }
+        K8SProperties.ChartProperty chart = k8SProperties.getChart();
+        if (chart.isOffline()) {
+            return result(1, "chart " + fileName() + " not found in vendorDir / cacheDir (offline)");
+        }
+
+        Path target = cachedArchive();
+        Files.createDirectories(target.getParent());
+        Path pullDir = Files.createTempDirectory(target.getParent(), ".pull-");
+        try {
+            CommandResult pulled = commandExecutor.run(request.toBuilder()
+                    .cmd(new String[]{
+                            "helm", "pull", chart.getName(),
+                            "--repo", chart.getRepo(),
+                            "--version", chart.getVersion(),
+                            "--destination", pullDir.toString()})
+                    .timeout(k8SProperties.getTimeout().of(OperationType.PULL_CHART))
+                    .build());
+            if (!pulled.isSuccess()) {
+                return pulled;
+            }
+            Path archive = pullDir.resolve(fileName());
+            if (!Files.isRegularFile(archive)) {
+                return result(1, "helm pull did not produce " + fileName());
+            }
+            String digest = sha256(archive);
+            if (chart.getDigest() != null && !chart.getDigest().equalsIgnoreCase(digest)) {
+                return result(1, "chart digest mismatch expected=[" + chart.getDigest() + "] actual=[" + digest + "]");
+            }
+            Files.move(archive, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Files.writeString(digestFile(target), digest, StandardCharsets.US_ASCII);
+            localChart.set(target);
+            return pulled;
+        }
+        finally {
+            deleteRecursively(pullDir);
+        }
+    }
+
+    private Optional<Path> findVerified() throws IOException {
+        K8SProperties.ChartProperty chart = k8SProperties.getChart();
+        if (chart.getVendorDir() != null) {
+            Path vendored = Path.of(chart.getVendorDir()).resolve(fileName());
+            // vendor 경로는 직접 관리하는 경로이므로 digest 설정이 없다면 그대로 신뢰
+            if (Files.isRegularFile(vendored) && (chart.getDigest() == null || chart.getDigest().equalsIgnoreCase(sha256(vendored)))) {
+                return Optional.of(vendored);
+            }
+        }
+        Path cached = cachedArchive();
+        if (Files.isRegularFile(cached)) {
+            String expected = chart.getDigest();
+            if (expected == null && Files.isRegularFile(digestFile(cached))) {
+                expected = Files.readString(digestFile(cached), StandardCharsets.US_ASCII).trim();
+            }
+            if (expected != null && expected.equalsIgnoreCase(sha256(cached))) {
+                return Optional.of(cached);
+            }
+            log.warn("cached helm chart failed digest check, pulling again path=[{}]", cached);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * {cacheDir}/{repo host + path}/{name}/{version}/{name}-{version}.tgz
+     */
+    private Path cachedArchive() {
+        K8SProperties.ChartProperty chart = k8SProperties.getChart();
+        URI repo = URI.create(chart.getRepo());
+        String repoKey = (repo.getHost() == null ? "local" : repo.getHost())
+                + (repo.getPath() == null ? "" : repo.getPath().replace('/', '_'));
+        return Path.of(chart.getCacheDir(), repoKey, chart.getName(), chart.getVersion(), fileName());
+    }
+
+    private String fileName() {
+        K8SProperties.ChartProperty chart = k8SProperties.getChart();
+        return chart.getName() + "-" + chart.getVersion() + ".tgz";
+    }
+
+    private String chartKey() {
+        K8SProperties.ChartProperty chart = k8SProperties.getChart();
+        return chart.getRepo() + "/" + chart.getName() + ":" + chart.getVersion();
+    }
+
+    private static Path digestFile(Path archive) {
+        return archive.resolveSibling(archive.getFileName() + DIGEST_SUFFIX);
+    }
+
+    private static String sha256(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        }
+        catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+        try (InputStream inputStream = new DigestInputStream(Files.newInputStream(file), digest)) {
+            inputStream.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void deleteRecursively(Path directory) {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.deleteIfExists(path);
+                }
+                catch (IOException exception) {
+                    log.debug("failed to delete path=[{}]", path, exception);
+                }
+            });
+        }
+        catch (IOException exception) {
+            log.debug("failed to clean up directory=[{}]", directory, exception);
+        }
+    }
+
+    private static CommandResult result(int exitCode, String stderr) {
+        return CommandResult.builder()
+                .exitCode(exitCode)
+                .stdout("")
+                .stderr(stderr)
+                .build();
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.springbootboilerplate.service;
+
+import io.kubernetes.client.custom.V1Patch;
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.ApiException;
+import io.kubernetes.client.openapi.apis.CoreV1Api;
+import io.kubernetes.client.openapi.models.V1ResourceQuota;
+import io.kubernetes.client.util.PatchUtils;
+import lombok.RequiredArgsConstructor;
+import org.example.springbootboilerplate.dto.CommandDto;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * kubectl 프로세스를 띄우지 않고 K8S API 로 직접 요청하는 서비스.
+ * ApiClient 는 {@link K8SClientRegistry} 에서 받아 모든 요청이 같은 connection pool 을 공유한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class K8SApiService {
+
+    private final K8SClientRegistry k8SClientRegistry;
+
+    private CoreV1Api getCoreV1Api() throws IOException {
+        return new CoreV1Api(k8SClientRegistry.getClient());
+    }
+
+    /**
+     * kubectl patch 의 기본 동작과 같이 strategic merge patch 로 resourcequota/{spaceId}-quota 를 patch 한다.
+     *
+     * @param patch {@link CommandDto.ResourceQuotaPatch}
+     * @return {@link V1ResourceQuota} patch 이후의 ResourceQuota
+     * @throws ApiException API 서버 응답 실패
+     * @throws IOException kubeConfig 읽기 실패
+     */
+    public V1ResourceQuota patchResourceQuota(CommandDto.ResourceQuotaPatch patch) throws ApiException, IOException {
+        CoreV1Api api = getCoreV1Api();
+        ApiClient apiClient = api.getApiClient();
+        return PatchUtils.patch(
+                V1ResourceQuota.class,
+                () -> api.patchNamespacedResourceQuotaCall(
+                        patch.getQuotaName(),
+                        patch.getNamespace(),
+                        new V1Patch(patch.getResourceQuota()),
+                        null,
+                        null,
+                        null,
+                        null,
+                        null,
+                        null),
+                V1Patch.PATCH_FORMAT_STRATEGIC_MERGE_PATCH,
+                apiClient);
+    }
+
+    /**
+     * @param patch spaceId 기준 quota 이름 / namespace 를 사용
+     * @return {@link V1ResourceQuota} 현재 ResourceQuota
+     * @throws ApiException API 서버 응답 실패 (없는 경우 404)
+     * @throws IOException kubeConfig 읽기 실패
+     */
+    public V1ResourceQuota readResourceQuota(CommandDto.ResourceQuotaPatch patch) throws ApiException, IOException {
+        return getCoreV1Api().readNamespacedResourceQuota(patch.getQuotaName(), patch.getNamespace(), null);
+    }
+}
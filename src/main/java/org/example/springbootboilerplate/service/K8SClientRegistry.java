@@ -0,0 +1,256 @@
+package org.example.springbootboilerplate.service;
+
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.util.ClientBuilder;
+import io.kubernetes.client.util.KubeConfig;
+import jakarta.annotation.Nullable;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import org.example.springbootboilerplate.properties.K8SProperties;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * kubeConfig path 별로 하나의 {@link ApiClient} 를 만들어 공유하는 registry.
+ * 매 요청마다 kubeConfig 를 다시 읽고 connection pool 을 새로 만들지 않도록, 파일 내용 (sha-256) 이 바뀐 경우에만 다시 만든다.
+ * 파일 확인은 checkInterval 마다 mtime / size 를 먼저 보고, 달라졌을 때만 내용을 읽어 hash 를 비교한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class K8SClientRegistry {
+
+    /**
+     * static 코드 ({@link org.example.springbootboilerplate.util.Util#getK8SAPIClient}) 에서 사용하는 registry
+     */
+    private static volatile K8SClientRegistry shared;
+
+    private final K8SProperties k8SProperties;
+    private final Map<Path, Entry> entries = new ConcurrentHashMap<>();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder rebuildCount = new LongAdder();
+
+    @PostConstruct
+    public void init() {
+        shared = this;
+    }
+
+    /**
+     * Spring bean 을 주입받을 수 없는 static 코드용, context 가 뜨기 전이라면 기본 설정의 registry 를 만들어 사용한다.
+     *
+     * @return Spring bean 으로 등록된 registry
+     */
+    public static K8SClientRegistry shared() {
+        K8SClientRegistry registry = shared;
+        if (registry != null) {
+            return registry;
+        }
+        synchronized (K8SClientRegistry.class) {
+            if (shared == null) {
+                shared = new K8SClientRegistry(new K8SProperties());
+            }
+            return shared;
+        }
+    }
+
+    /**
+     * @return K8SProperties.kubeConfigPath 기준의 공용 ApiClient
+     * @throws IOException kubeConfig 를 읽거나 해석하지 못한 경우, defaultClient 로 대체하지 않는다.
+     */
+    public ApiClient getClient() throws IOException {
+        return getClient(k8SProperties.getKubeConfigPath());
+    }
+
+    /**
+     * @param kubeConfigPath null 일 경우 $KUBECONFIG, ${HOME}/.kube/config 순서로 찾는다.
+     * @return kubeConfigPath 기준의 공용 ApiClient
+     * @throws IOException kubeConfig 를 읽거나 해석하지 못한 경우
+     */
+    public ApiClient getClient(@Nullable String kubeConfigPath) throws IOException {
+        Path path = resolvePath(kubeConfigPath);
+        Entry entry = entries.get(path);
+        if (entry == null) {
+            synchronized (this) {
+                entry = entries.get(path);
+                if (entry == null) {
+                    // 다른 스레드가 먼저 만든 경우는 hit 로만 센다.
+                    missCount.increment();
+                    entry = build(path);
+                    entries.put(path, entry);
+                    return entry.apiClient;
+                }
+            }
+        }
+        return refreshIfChanged(path, entry).apiClient;
+    }
+
+    /**
+     * watch 요청은 응답이 끝나지 않기 때문에 readTimeout 이 없는 별도의 ApiClient 를 만든다. registry 에 캐싱되지 않는다.
+     *
+     * @return K8SProperties.kubeConfigPath 기준의 watch 전용 ApiClient
+     * @throws IOException kubeConfig 를 읽거나 해석하지 못한 경우
+     */
+    public ApiClient newWatchClient() throws IOException {
+        ApiClient apiClient = build(resolvePath(k8SProperties.getKubeConfigPath())).apiClient;
+        apiClient.setHttpClient(apiClient.getHttpClient()
+                .newBuilder()
+                .readTimeout(0, TimeUnit.MILLISECONDS)
+                .build());
+        return apiClient;
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getRebuildCount() {
+        return rebuildCount.sum();
+    }
+
+    private Entry refreshIfChanged(Path path, Entry entry) throws IOException {
+        long now = System.nanoTime();
+        if (now - entry.lastCheckedNanos < k8SProperties.getClient().getCheckInterval().toNanos()) {
+            hitCount.increment();
+            return entry;
+        }
+        synchronized (entry) {
+            if (now - entry.lastCheckedNanos < k8SProperties.getClient().getCheckInterval().toNanos()) {
+                hitCount.increment();
+                return entry;
+            }
+            long lastModified = Files.getLastModifiedTime(path).toMillis();
+            long size = Files.size(path);
+            if (lastModified == entry.lastModified && size == entry.size) {
+                entry.lastCheckedNanos = now;
+                hitCount.increment();
+                return entry;
+            }
+
+            byte[] content = Files.readAllBytes(path);
+            byte[] digest = sha256(content);
+            if (Arrays.equals(digest, entry.digest)) {
+                // touch 등으로 mtime 만 바뀐 경우
+                entry.lastModified = lastModified;
+                entry.size = size;
+                entry.lastCheckedNanos = now;
+                hitCount.increment();
+                return entry;
+            }
+        }
+
+        synchronized (this) {
+            Entry current = entries.get(path);
+            if (current != entry) {
+                hitCount.increment();
+                return current;
+            }
+            Entry rebuilt = build(path);
+            entries.put(path, rebuilt);
+            rebuildCount.increment();
+            // 사용 중인 connection 은 그대로 두고 idle connection 만 정리한다.
+            entry.apiClient.getHttpClient().connectionPool().evictAll();
+            log.info("kubeConfig changed, rebuilt K8S ApiClient path=[{}]", path);
+            return rebuilt;
+        }
+    }
+
+    private Entry build(Path path) throws IOException {
+        byte[] content = Files.readAllBytes(path);
+        KubeConfig kubeConfig;
+        try (Reader reader = new InputStreamReader(new ByteArrayInputStream(content), StandardCharsets.UTF_8)) {
+            kubeConfig = KubeConfig.loadKubeConfig(reader);
+        }
+        // client certificate 등 kubeConfig 내부의 상대 경로를 kubeConfig 파일 기준으로 해석하기 위해 필요
+        kubeConfig.setFile(path.toFile());
+        ApiClient apiClient = tune(ClientBuilder.kubeconfig(kubeConfig).build());
+
+        Entry entry = new Entry(apiClient, sha256(content));
+        entry.lastModified = Files.getLastModifiedTime(path).toMillis();
+        entry.size = content.length;
+        entry.lastCheckedNanos = System.nanoTime();
+        return entry;
+    }
+
+    private ApiClient tune(ApiClient apiClient) {
+        K8SProperties.ClientProperty client = k8SProperties.getClient();
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(client.getMaxRequests());
+        dispatcher.setMaxRequestsPerHost(client.getMaxRequestsPerHost());
+        OkHttpClient httpClient = apiClient.getHttpClient()
+                .newBuilder()
+                .connectionPool(new ConnectionPool(
+                        client.getMaxIdleConnections(),
+                        client.getKeepAlive().toMillis(),
+                        TimeUnit.MILLISECONDS))
+                .dispatcher(dispatcher)
+                .connectTimeout(client.getConnectTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                .readTimeout(client.getReadTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+        apiClient.setHttpClient(httpClient);
+        return apiClient;
+    }
+
+    private static Path resolvePath(@Nullable String kubeConfigPath) throws IOException {
+        if (Objects.nonNull(kubeConfigPath)) {
+            return Paths.get(kubeConfigPath).toAbsolutePath().normalize();
+        }
+        String env = System.getenv("KUBECONFIG");
+        if (Objects.nonNull(env) && !env.isBlank()) {
+            return Paths.get(env.split(File.pathSeparator)[0]).toAbsolutePath().normalize();
+        }
+        Path home = Paths.get(System.getProperty("user.home"), ".kube", "config");
+        if (Files.exists(home)) {
+            return home;
+        }
+        throw new IOException("kubeConfig not found, set kubernetes.kube-config-path or $KUBECONFIG");
+    }
+
+    private static byte[] sha256(byte[] content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        }
+        catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private static class Entry {
+        private final ApiClient apiClient;
+        private final byte[] digest;
+        private long lastModified;
+        private long size;
+        private volatile long lastCheckedNanos;
+
+        private Entry(ApiClient apiClient, byte[] digest) {
+            this.apiClient = apiClient;
+            this.digest = digest;
+        }
+    }
+}
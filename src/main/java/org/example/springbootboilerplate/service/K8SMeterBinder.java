@@ -0,0 +1,53 @@
+package org.example.springbootboilerplate.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * 각 서비스가 직접 세고 있는 counter 를 Micrometer 에 연결한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class K8SMeterBinder implements MeterBinder {
+
+    private final K8SClientRegistry k8SClientRegistry;
+    private final ResourceQuotaReconciler resourceQuotaReconciler;
+    /**
+     * CmdService -> CommandExecutor -> CommandMetrics -> MeterRegistry 순서로 의존하므로 binder 생성 시점에는 꺼내지 않는다.
+     */
+    private final ObjectProvider<CmdService> cmdServiceProvider;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("k8s.client.registry", k8SClientRegistry, K8SClientRegistry::getHitCount)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("k8s.client.registry", k8SClientRegistry, K8SClientRegistry::getMissCount)
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("k8s.client.registry", k8SClientRegistry, K8SClientRegistry::getRebuildCount)
+                .tag("result", "rebuild")
+                .register(registry);
+
+        FunctionCounter.builder("k8s.quota.patch", resourceQuotaReconciler, ResourceQuotaReconciler::getAppliedCount)
+                .tag("result", "applied")
+                .register(registry);
+        FunctionCounter.builder("k8s.quota.patch", resourceQuotaReconciler, ResourceQuotaReconciler::getSkippedCount)
+                .tag("result", "skipped")
+                .register(registry);
+
+        FunctionCounter.builder("cmd.single.flight", cmdServiceProvider, provider -> provider.getObject().getSingleFlight().getExecutedCount())
+                .tag("result", "executed")
+                .register(registry);
+        FunctionCounter.builder("cmd.single.flight", cmdServiceProvider, provider -> provider.getObject().getSingleFlight().getCoalescedCount())
+                .tag("result", "coalesced")
+                .register(registry);
+        FunctionCounter.builder("cmd.single.flight", cmdServiceProvider, provider -> provider.getObject().getSingleFlight().getCachedCount())
+                .tag("result", "cached")
+                .register(registry);
+    }
+}
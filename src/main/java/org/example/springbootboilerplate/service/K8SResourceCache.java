@@ -0,0 +1,299 @@
+package org.example.springbootboilerplate.service;
+
+import com.google.gson.reflect.TypeToken;
+import io.kubernetes.client.common.KubernetesListObject;
+import io.kubernetes.client.common.KubernetesObject;
+import io.kubernetes.client.informer.ListerWatcher;
+import io.kubernetes.client.informer.SharedIndexInformer;
+import io.kubernetes.client.informer.SharedInformerFactory;
+import io.kubernetes.client.informer.cache.Lister;
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.ApiException;
+import io.kubernetes.client.openapi.apis.CoreV1Api;
+import io.kubernetes.client.openapi.apis.StorageV1Api;
+import io.kubernetes.client.openapi.models.*;
+import io.kubernetes.client.util.CallGenerator;
+import io.kubernetes.client.util.CallGeneratorParams;
+import io.kubernetes.client.util.Watch;
+import io.kubernetes.client.util.Watchable;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.springbootboilerplate.properties.K8SProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * vcluster-{spaceId} namespace, {spaceId}-quota ResourceQuota, 설정된 blockStorage / nfsStorage StorageClass 를 watch 로 받아 메모리에 유지하는 cache.
+ * 그 외의 namespace / ResourceQuota / StorageClass 는 indexer 에 넣지 않는다.
+ * 조회는 API 서버 요청 / 프로세스 실행 없이 메모리에서 끝난다.
+ * 최초 list 가 끝나기 전 (isReady() == false) 에는 조회 결과가 비어있을 수 있으므로, 호출하는 쪽에서 isReady 를 먼저 확인해야 한다.
+ * kubernetes.cache.enabled=true 일 때만 등록된다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "kubernetes.cache", name = "enabled", havingValue = "true")
+public class K8SResourceCache {
+
+    private static final String NAMESPACE_PREFIX = "vcluster-";
+    private static final String QUOTA_SUFFIX = "-quota";
+    private static final Set<String> WATCH_OBJECT_EVENTS = Set.of("ADDED", "MODIFIED", "DELETED");
+
+    private final K8SProperties k8SProperties;
+    private final K8SClientRegistry k8SClientRegistry;
+
+    private SharedInformerFactory informerFactory;
+    private SharedIndexInformer<V1Namespace> namespaceInformer;
+    private SharedIndexInformer<V1ResourceQuota> resourceQuotaInformer;
+    private SharedIndexInformer<V1StorageClass> storageClassInformer;
+    private Lister<V1Namespace> namespaceLister;
+    private Lister<V1ResourceQuota> resourceQuotaLister;
+    private Lister<V1StorageClass> storageClassLister;
+
+    @PostConstruct
+    public void start() throws IOException {
+        ApiClient apiClient = k8SClientRegistry.newWatchClient();
+        CoreV1Api coreV1Api = new CoreV1Api(apiClient);
+        StorageV1Api storageV1Api = new StorageV1Api(apiClient);
+        long resyncPeriod = k8SProperties.getCache().getResyncPeriod().toMillis();
+
+        // namespace / quota 이름은 prefix / suffix 로만 구분되어 field selector 로 거를 수 없으므로 indexer 에 넣기 전에 거른다.
+        // quota 는 label selector 로 API 서버에서 먼저 좁혀서 다른 namespace 의 quota 변경은 받지 않는다.
+        String quotaLabelSelector = StringUtils.hasText(k8SProperties.getCache().getQuotaLabelSelector())
+                ? k8SProperties.getCache().getQuotaLabelSelector()
+                : null;
+        Set<String> storageClassNames = storageClassNames();
+        String storageClassSelector = storageClassNames.size() == 1
+                ? "metadata.name=" + storageClassNames.iterator().next()
+                : null;
+
+        informerFactory = new SharedInformerFactory(apiClient);
+        namespaceInformer = informerFactory.sharedIndexInformerFor(
+                listerWatcher(apiClient,
+                        params -> coreV1Api.listNamespaceCall(
+                                null, null, null, null, null, null,
+                                params.resourceVersion, null, params.timeoutSeconds, params.watch, null),
+                        V1Namespace.class,
+                        V1NamespaceList.class,
+                        K8SResourceCache::isSpaceNamespace),
+                V1Namespace.class,
+                resyncPeriod);
+        resourceQuotaInformer = informerFactory.sharedIndexInformerFor(
+                listerWatcher(apiClient,
+                        params -> coreV1Api.listResourceQuotaForAllNamespacesCall(
+                                null, null, null, quotaLabelSelector, null, null,
+                                params.resourceVersion, null, params.timeoutSeconds, params.watch, null),
+                        V1ResourceQuota.class,
+                        V1ResourceQuotaList.class,
+                        K8SResourceCache::isSpaceQuota),
+                V1ResourceQuota.class,
+                resyncPeriod);
+        storageClassInformer = informerFactory.sharedIndexInformerFor(
+                listerWatcher(apiClient,
+                        params -> storageV1Api.listStorageClassCall(
+                                null, null, null, storageClassSelector, null, null,
+                                params.resourceVersion, null, params.timeoutSeconds, params.watch, null),
+                        V1StorageClass.class,
+                        V1StorageClassList.class,
+                        metadata -> storageClassNames.contains(metadata.getName())),
+                V1StorageClass.class,
+                resyncPeriod);
+
+        namespaceLister = new Lister<>(namespaceInformer.getIndexer());
+        resourceQuotaLister = new Lister<>(resourceQuotaInformer.getIndexer());
+        storageClassLister = new Lister<>(storageClassInformer.getIndexer());
+
+        informerFactory.startAllRegisteredInformers();
+        log.info("K8S resource cache started resyncPeriod=[{}] quotaLabelSelector=[{}] storageClasses={}",
+                k8SProperties.getCache().getResyncPeriod(), quotaLabelSelector, storageClassNames);
+    }
+
+    /**
+     * SharedInformerFactory 의 기본 ListerWatcher 와 같은 방식으로 list / watch 하되, filter 를 통과한 object 만 전달한다.
+     * list 결과와 watch 이벤트를 같은 기준으로 거르기 때문에 이름이 바뀌지 않는 한 indexer 에는 filter 를 통과한 object 만 남는다.
+     */
+    private static <ApiType extends KubernetesObject, ApiListType extends KubernetesListObject> ListerWatcher<ApiType, ApiListType> listerWatcher(
+            ApiClient apiClient,
+            CallGenerator callGenerator,
+            Class<ApiType> apiTypeClass,
+            Class<ApiListType> apiListTypeClass,
+            Predicate<V1ObjectMeta> filter) {
+        Type watchType = TypeToken.getParameterized(Watch.Response.class, apiTypeClass).getType();
+        return new ListerWatcher<>() {
+            @Override
+            public ApiListType list(CallGeneratorParams params) throws ApiException {
+                ApiListType list = apiClient.<ApiListType>execute(callGenerator.generate(params), apiListTypeClass).getData();
+                if (list.getItems() != null) {
+                    list.getItems().removeIf(item -> !filter.test(item.getMetadata()));
+                }
+                return list;
+            }
+
+            @Override
+            public Watchable<ApiType> watch(CallGeneratorParams params) throws ApiException {
+                Watch<ApiType> watch = Watch.createWatch(apiClient, callGenerator.generate(params), watchType);
+                return new FilteredWatch<>(watch, filter);
+            }
+        };
+    }
+
+    private static boolean isSpaceNamespace(V1ObjectMeta metadata) {
+        return metadata.getName() != null && metadata.getName().startsWith(NAMESPACE_PREFIX);
+    }
+
+    private static boolean isSpaceQuota(V1ObjectMeta metadata) {
+        String namespace = metadata.getNamespace();
+        return namespace != null
+                && namespace.startsWith(NAMESPACE_PREFIX)
+                && (namespace.substring(NAMESPACE_PREFIX.length()) + QUOTA_SUFFIX).equals(metadata.getName());
+    }
+
+    /**
+     * @return 설정된 blockStorage / nfsStorage StorageClass 이름
+     */
+    private Set<String> storageClassNames() {
+        Set<String> names = new LinkedHashSet<>();
+        Optional.ofNullable(k8SProperties.getBlockStorage())
+                .map(K8SProperties.BlockStorageProperty::getName)
+                .ifPresent(names::add);
+        Optional.ofNullable(k8SProperties.getNfsStorage())
+                .map(K8SProperties.NfsStorageProperty::getName)
+                .ifPresent(names::add);
+        return Set.copyOf(names);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (informerFactory != null) {
+            informerFactory.stopAllRegisteredInformers();
+        }
+    }
+
+    /**
+     * @return 모든 informer 의 최초 list 가 끝났는지 여부
+     */
+    public boolean isReady() {
+        return namespaceInformer.hasSynced()
+                && resourceQuotaInformer.hasSynced()
+                && storageClassInformer.hasSynced();
+    }
+
+    /**
+     * @param timeout 최대 대기 시간
+     * @return timeout 안에 ready 가 되었는지 여부
+     * @throws InterruptedException 대기 중 interrupt
+     */
+    public boolean awaitReady(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!isReady()) {
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+            Thread.sleep(100L);
+        }
+        return true;
+    }
+
+    public Optional<V1Namespace> getSpaceNamespace(String spaceId) {
+        return Optional.ofNullable(namespaceLister.get(NAMESPACE_PREFIX + spaceId));
+    }
+
+    public Optional<V1ResourceQuota> getResourceQuota(String spaceId) {
+        return Optional.ofNullable(resourceQuotaLister
+                .namespace(NAMESPACE_PREFIX + spaceId)
+                .get(spaceId + QUOTA_SUFFIX));
+    }
+
+    /**
+     * @return 현재 존재하는 vcluster-{spaceId} namespace 의 spaceId 목록
+     */
+    public List<String> getSpaceIds() {
+        return namespaceLister.list()
+                .stream()
+                .map(namespace -> Objects.requireNonNull(namespace.getMetadata()).getName())
+                .filter(name -> name != null && name.startsWith(NAMESPACE_PREFIX))
+                .map(name -> name.substring(NAMESPACE_PREFIX.length()))
+                .toList();
+    }
+
+    /**
+     * @param name blockStorage / nfsStorage 로 설정된 이름만 cache 되어 있다.
+     */
+    public Optional<V1StorageClass> getStorageClass(String name) {
+        return Optional.ofNullable(storageClassLister.get(name));
+    }
+
+    public Optional<V1StorageClass> getBlockStorageClass() {
+        return Optional.ofNullable(k8SProperties.getBlockStorage())
+                .map(K8SProperties.BlockStorageProperty::getName)
+                .flatMap(this::getStorageClass);
+    }
+
+    public Optional<V1StorageClass> getNfsStorageClass() {
+        return Optional.ofNullable(k8SProperties.getNfsStorage())
+                .map(K8SProperties.NfsStorageProperty::getName)
+                .flatMap(this::getStorageClass);
+    }
+
+    /**
+     * filter 를 통과하지 못한 ADDED / MODIFIED / DELETED 이벤트를 건너뛰는 watch, ERROR / BOOKMARK 는 그대로 전달한다.
+     */
+    private static class FilteredWatch<T extends KubernetesObject> implements Watchable<T> {
+        private final Watch<T> delegate;
+        private final Predicate<V1ObjectMeta> filter;
+        private Watch.Response<T> pending;
+
+        private FilteredWatch(Watch<T> delegate, Predicate<V1ObjectMeta> filter) {
+            this.delegate = delegate;
+            this.filter = filter;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (pending == null && delegate.hasNext()) {
+                Watch.Response<T> response = delegate.next();
+                if (response.object == null
+                        || !WATCH_OBJECT_EVENTS.contains(response.type)
+                        || filter.test(response.object.getMetadata())) {
+                    pending = response;
+                }
+            }
+            return pending != null;
+        }
+
+        @Override
+        public Watch.Response<T> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Watch.Response<T> response = pending;
+            pending = null;
+            return response;
+        }
+
+        @Override
+        public Iterator<Watch.Response<T>> iterator() {
+            return this;
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package org.example.springbootboilerplate.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.example.springbootboilerplate.properties.KeycloakProperties;
+import org.example.springbootboilerplate.util.SingleFlight;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 서비스 간 호출에 사용할 client credentials access token 관리자.
+ * <ul>
+ *     <li>client / audience 별로 token 을 보관하고 만료 전까지 재사용한다.</li>
+ *     <li>만료 refreshBefore 전에 백그라운드에서 미리 갱신하며, 갱신 시점이 지났지만 아직 유효한 token 은 그대로 반환하면서 갱신을 시작한다.</li>
+ *     <li>미리 갱신은 마지막 갱신 이후 읽힌 token 만 하고, 읽히지 않은 token 은 만료되면 버린다.</li>
+ *     <li>같은 token 에 대한 동시 요청은 {@link SingleFlight} 로 하나의 token 요청으로 합친다.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class KeycloakTokenManager implements MeterBinder, DisposableBean {
+
+    /**
+     * 만료 직전 token 을 보내 상대 서버에서 만료되지 않도록 두는 최소 여유
+     */
+    private static final long EXPIRY_MARGIN_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private final KeycloakProperties properties;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+    private final Map<String, CachedToken> tokens = new ConcurrentHashMap<>();
+    private final SingleFlight<String, CachedToken> singleFlight = new SingleFlight<>(Duration.ZERO, token -> false);
+    /**
+     * 백그라운드 갱신 중인 key, 갱신 시점이 지난 token 을 여러번 요청해도 갱신은 한번만 시작
+     */
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService refreshScheduler;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder refreshCount = new LongAdder();
+    private final LongAdder failureCount = new LongAdder();
+
+    public KeycloakTokenManager(KeycloakProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        this.refreshScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "keycloak-token-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @return 설정된 client 의 audience 없는 access token
+     */
+    public String getAccessToken() {
+        return getAccessToken(null);
+    }
+
+    /**
+     * @param audience 요청할 audience, 없으면 null
+     * @return access token
+     * @throws UncheckedIOException token 요청 실패
+     */
+    public String getAccessToken(String audience) {
+        String key = cacheKey(audience);
+        CachedToken cached = tokens.get(key);
+        long now = System.nanoTime();
+        if (cached != null && cached.isUsable(now)) {
+            hitCount.increment();
+            cached.touch(now);
+            if (cached.shouldRefresh(now)) {
+                refresh(key, audience);
+            }
+            return cached.accessToken();
+        }
+
+        missCount.increment();
+        try {
+            CachedToken token = request(key, audience).join();
+            token.touch(System.nanoTime());
+            return token.accessToken();
+        }
+        catch (CompletionException exception) {
+            Throwable cause = exception.getCause();
+            if (cause instanceof UncheckedIOException uncheckedIOException) {
+                throw uncheckedIOException;
+            }
+            throw new UncheckedIOException(new IOException("keycloak token request failed", cause));
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getRefreshCount() {
+        return refreshCount.sum();
+    }
+
+    public long getFailureCount() {
+        return failureCount.sum();
+    }
+
+    private void refresh(String key, String audience) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        refreshCount.increment();
+        request(key, audience).whenComplete((token, throwable) -> {
+            refreshing.remove(key);
+            if (throwable != null) {
+                log.warn("keycloak token background refresh failed key=[{}] : {}", key, throwable.getMessage());
+            }
+        });
+    }
+
+    /**
+     * 같은 key 로 진행 중인 요청이 있다면 그 결과를 공유하고, 성공하면 cache 에 넣고 다음 갱신을 예약한다.
+     * 갱신 시점까지 한번도 읽히지 않았다면 더 쓰지 않는 key 로 보고 갱신 대신 만료 시점에 cache 에서 제거한다.
+     */
+    private CompletableFuture<CachedToken> request(String key, String audience) {
+        return singleFlight.execute(key, () -> requestToken(audience).whenComplete((token, throwable) -> {
+            if (throwable != null) {
+                failureCount.increment();
+                return;
+            }
+            tokens.put(key, token);
+            long delayNanos = Math.max(0, token.refreshAtNanos() - System.nanoTime());
+            refreshScheduler.schedule(() -> {
+                if (tokens.get(key) != token) {
+                    return;
+                }
+                if (token.isAccessed()) {
+                    refresh(key, audience);
+                }
+                else {
+                    refreshScheduler.schedule(() -> tokens.remove(key, token),
+                            Math.max(0, token.expiresAtNanos() - System.nanoTime()), TimeUnit.NANOSECONDS);
+                }
+            }, delayNanos, TimeUnit.NANOSECONDS);
+        }));
+    }
+
+    private CompletableFuture<CachedToken> requestToken(String audience) {
+        KeycloakProperties.Client client = properties.getClient();
+        if (client == null || !StringUtils.hasText(client.getId())) {
+            return CompletableFuture.failedFuture(new IllegalStateException("custom.keycloak.client.id is not configured"));
+        }
+        Map<String, String> form = new LinkedHashMap<>();
+        form.put("grant_type", "client_credentials");
+        form.put("client_id", client.getId());
+        if (client.getSecret() != null) {
+            form.put("client_secret", client.getSecret());
+        }
+        if (StringUtils.hasText(audience)) {
+            form.put("audience", audience);
+        }
+        StringBuilder body = new StringBuilder();
+        form.forEach((name, value) -> {
+            if (!body.isEmpty()) {
+                body.append('&');
+            }
+            body.append(name).append('=').append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+        });
+
+        HttpRequest request = HttpRequest.newBuilder(tokenUri(client))
+                .timeout(Duration.ofSeconds(10))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .header("Accept", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+        long requestedNanos = System.nanoTime();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> parse(response, requestedNanos, client.getRefreshBefore()));
+    }
+
+    private CachedToken parse(HttpResponse<byte[]> response, long requestedNanos, Duration refreshBefore) {
+        if (response.statusCode() != 200) {
+            throw new UncheckedIOException(new IOException(
+                    "keycloak token request failed status=[" + response.statusCode() + "]"));
+        }
+        try {
+            JsonNode json = objectMapper.readTree(response.body());
+            String accessToken = json.path("access_token").asText(null);
+            long expiresInSeconds = json.path("expires_in").asLong(0);
+            if (accessToken == null || expiresInSeconds <= 0) {
+                throw new IOException("keycloak token response has no access_token / expires_in");
+            }
+            // 요청을 보낸 시점 기준으로 계산해 응답 지연만큼 만료를 늦게 잡지 않도록 함
+            long lifetimeNanos = TimeUnit.SECONDS.toNanos(expiresInSeconds);
+            long expiresAtNanos = requestedNanos + lifetimeNanos;
+            long refreshAheadNanos = Math.min(refreshBefore.toNanos(), lifetimeNanos / 2);
+            return new CachedToken(accessToken, expiresAtNanos, expiresAtNanos - refreshAheadNanos);
+        }
+        catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private URI tokenUri(KeycloakProperties.Client client) {
+        if (StringUtils.hasText(client.getTokenUri())) {
+            return URI.create(client.getTokenUri());
+        }
+        String url = properties.getUrl();
+        if (!StringUtils.hasText(url)) {
+            throw new IllegalStateException("custom.keycloak.url is not configured");
+        }
+        return URI.create((url.endsWith("/") ? url.substring(0, url.length() - 1) : url) + "/protocol/openid-connect/token");
+    }
+
+    private String cacheKey(String audience) {
+        KeycloakProperties.Client client = properties.getClient();
+        String clientId = client == null ? "" : client.getId();
+        return clientId + '|' + (audience == null ? "" : audience);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        counter(registry, "hit", KeycloakTokenManager::getHitCount);
+        counter(registry, "miss", KeycloakTokenManager::getMissCount);
+        counter(registry, "refresh", KeycloakTokenManager::getRefreshCount);
+        counter(registry, "failure", KeycloakTokenManager::getFailureCount);
+    }
+
+    private void counter(MeterRegistry registry, String result, ToDoubleFunction<KeycloakTokenManager> count) {
+        FunctionCounter.builder("keycloak.client.token", this, count)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        refreshScheduler.shutdownNow();
+    }
+
+    private static final class CachedToken {
+
+        private final String accessToken;
+        /**
+         * System.nanoTime 기준 만료 시점
+         */
+        private final long expiresAtNanos;
+        /**
+         * System.nanoTime 기준 미리 갱신을 시작할 시점
+         */
+        private final long refreshAtNanos;
+        /**
+         * System.nanoTime 기준 마지막으로 읽힌 시점, 0 이면 읽힌 적 없음
+         */
+        private volatile long lastAccessNanos;
+
+        CachedToken(String accessToken, long expiresAtNanos, long refreshAtNanos) {
+            this.accessToken = accessToken;
+            this.expiresAtNanos = expiresAtNanos;
+            this.refreshAtNanos = refreshAtNanos;
+        }
+
+        String accessToken() {
+            return accessToken;
+        }
+
+        long expiresAtNanos() {
+            return expiresAtNanos;
+        }
+
+        long refreshAtNanos() {
+            return refreshAtNanos;
+        }
+
+        void touch(long nowNanos) {
+            // nanoTime 이 0 인 경우 읽힌 적 없음과 구분되지 않으므로 1 로 기록
+            lastAccessNanos = nowNanos == 0 ? 1 : nowNanos;
+        }
+
+        boolean isAccessed() {
+            return lastAccessNanos != 0;
+        }
+
+        boolean isUsable(long nowNanos) {
+            return expiresAtNanos - nowNanos > EXPIRY_MARGIN_NANOS;
+        }
+
+        boolean shouldRefresh(long nowNanos) {
+            return nowNanos - refreshAtNanos >= 0;
+        }
+    }
+}
@@ -0,0 +1,391 @@
+package org.example.springbootboilerplate.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+import org.example.springbootboilerplate.dto.CommandRequest;
+import org.example.springbootboilerplate.dto.CommandResult;
+import org.example.springbootboilerplate.dto.ProvisioningEvent;
+import org.example.springbootboilerplate.entity.JobState;
+import org.example.springbootboilerplate.properties.CmdProperties;
+import org.example.springbootboilerplate.util.ProcessOutputPump;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * CommandExecutor 작업의 진행 상황 (큐 / 시작 / 프로세스 출력 / 종료) 을 SSE 구독자에게 전달한다.
+ * <ul>
+ *     <li>listener 는 구독자별 버퍼에 넣기만 하고, 실제 쓰기는 전용 sender 스레드에서 한다. 느린 구독자가 작업 실행을 막지 않는다.</li>
+ *     <li>버퍼가 가득 차면 출력 이벤트를 버리고, 다음 이벤트 전에 버려진 갯수를 DROPPED 이벤트 하나로 보낸다.
+ *     상태 이벤트는 버리지 않고 대신 가장 오래된 출력 이벤트를 버린다.</li>
+ *     <li>구독자가 없으면 프로세스 출력을 줄 단위로 나누지 않는다.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class ProvisioningEventBroadcaster implements CommandListener, MeterBinder, DisposableBean {
+
+    private final CmdProperties.Events properties;
+    /**
+     * 조건 없이 모든 작업을 구독
+     */
+    private final Set<Subscriber> allSubscribers = ConcurrentHashMap.newKeySet();
+    private final Map<String, Set<Subscriber>> jobSubscribers = new ConcurrentHashMap<>();
+    private final Map<String, Set<Subscriber>> spaceSubscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService sender;
+    private final ScheduledExecutorService heartbeat;
+    private final LongAdder droppedCount = new LongAdder();
+
+    public ProvisioningEventBroadcaster(CmdProperties cmdProperties) {
+        this.properties = cmdProperties.getEvents();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.sender = Executors.newFixedThreadPool(Math.max(1, properties.getSenderThreads()), runnable -> {
+            Thread thread = new Thread(runnable, "provisioning-event-sender-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "provisioning-event-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long heartbeatMillis = properties.getHeartbeatInterval().toMillis();
+        if (heartbeatMillis > 0) {
+            heartbeat.scheduleAtFixedRate(this::sendHeartbeats, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * @param jobId 특정 작업만 구독, 작업이 끝나면 연결을 종료한다.
+     * @param spaceId 특정 space 의 작업만 구독
+     * @throws ResponseStatusException 구독자 수가 maxSubscribers 를 넘은 경우 503
+     */
+    public SseEmitter subscribe(@Nullable String jobId, @Nullable String spaceId) {
+        return subscribe(jobId, spaceId, new SseEmitter(properties.getTimeout().toMillis()));
+    }
+
+    SseEmitter subscribe(@Nullable String jobId, @Nullable String spaceId, SseEmitter emitter) {
+        if (subscriberCount.incrementAndGet() > properties.getMaxSubscribers()) {
+            subscriberCount.decrementAndGet();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "too many event subscribers");
+        }
+        Subscriber subscriber = new Subscriber(emitter, jobId, spaceId);
+        if (jobId != null) {
+            jobSubscribers.computeIfAbsent(jobId, key -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        }
+        else if (spaceId != null) {
+            spaceSubscribers.computeIfAbsent(spaceId, key -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        }
+        else {
+            allSubscribers.add(subscriber);
+        }
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(throwable -> subscriber.close());
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    @Override
+    public void onQueued(CommandRequest request) {
+        publish(request, ProvisioningEvent.Type.QUEUED);
+    }
+
+    @Override
+    public void onStarted(CommandRequest request, long queuedNanos) {
+        publish(request, ProvisioningEvent.Type.STARTED);
+    }
+
+    @Nullable
+    @Override
+    public ProcessOutputPump.LineListener outputListener(CommandRequest request) {
+        if (subscriberCount.get() == 0) {
+            return null;
+        }
+        return (source, line) -> {
+            if (subscriberCount.get() > 0) {
+                dispatch(event(request, ProvisioningEvent.Type.OUTPUT).source(source).line(line).build());
+            }
+        };
+    }
+
+    @Override
+    public void onFinished(
+            CommandRequest request,
+            @Nullable CommandResult result,
+            @Nullable Throwable throwable,
+            long runNanos) {
+        if (subscriberCount.get() == 0) {
+            return;
+        }
+        dispatch(event(request, ProvisioningEvent.Type.FINISHED)
+                .state(JobState.of(result, throwable))
+                .exitCode(result == null ? null : result.getExitCode())
+                .build());
+    }
+
+    private void publish(CommandRequest request, ProvisioningEvent.Type type) {
+        if (subscriberCount.get() == 0) {
+            return;
+        }
+        dispatch(event(request, type).build());
+    }
+
+    private static ProvisioningEvent.ProvisioningEventBuilder event(CommandRequest request, ProvisioningEvent.Type type) {
+        return ProvisioningEvent.builder()
+                .type(type)
+                .jobId(request.getJobId())
+                .operation(request.getOperation())
+                .spaceId(request.getSpaceId())
+                .at(Instant.now());
+    }
+
+    private void dispatch(ProvisioningEvent event) {
+        for (Subscriber subscriber : allSubscribers) {
+            subscriber.offer(event);
+        }
+        offer(jobSubscribers.get(event.getJobId()), event);
+        if (event.getSpaceId() != null) {
+            offer(spaceSubscribers.get(event.getSpaceId()), event);
+        }
+    }
+
+    private static void offer(@Nullable Set<Subscriber> subscribers, ProvisioningEvent event) {
+        if (subscribers != null) {
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(event);
+            }
+        }
+    }
+
+    private void sendHeartbeats() {
+        allSubscribers.forEach(Subscriber::heartbeat);
+        jobSubscribers.values().forEach(subscribers -> subscribers.forEach(Subscriber::heartbeat));
+        spaceSubscribers.values().forEach(subscribers -> subscribers.forEach(Subscriber::heartbeat));
+    }
+
+    private void unregister(Subscriber subscriber) {
+        if (subscriber.jobId != null) {
+            remove(jobSubscribers, subscriber.jobId, subscriber);
+        }
+        else if (subscriber.spaceId != null) {
+            remove(spaceSubscribers, subscriber.spaceId, subscriber);
+        }
+        else {
+            allSubscribers.remove(subscriber);
+        }
+        subscriberCount.decrementAndGet();
+    }
+
+    private static void remove(Map<String, Set<Subscriber>> index, String key, Subscriber subscriber) {
+        index.computeIfPresent(key, (ignored, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("cmd.events.subscribers", this, ProvisioningEventBroadcaster::getSubscriberCount)
+                .register(registry);
+        FunctionCounter.builder("cmd.events.dropped", this, ProvisioningEventBroadcaster::getDroppedCount)
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        heartbeat.shutdownNow();
+        sender.shutdownNow();
+        allSubscribers.forEach(subscriber -> subscriber.emitter.complete());
+        jobSubscribers.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+        spaceSubscribers.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    /**
+     * SSE 연결 하나, buffer / dropped / heartbeatPending / completeAfterDrain 은 this 로 보호한다.
+     */
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        @Nullable
+        private final String jobId;
+        @Nullable
+        private final String spaceId;
+        private final ArrayDeque<ProvisioningEvent> buffer = new ArrayDeque<>();
+        /**
+         * drain 이 sender 에 예약되었거나 실행 중이면 true, 구독자 하나의 이벤트는 한 스레드에서만 순서대로 쓴다.
+         */
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final AtomicBoolean unregistered = new AtomicBoolean();
+        private long dropped;
+        private boolean heartbeatPending;
+        private boolean completeAfterDrain;
+
+        private Subscriber(SseEmitter emitter, @Nullable String jobId, @Nullable String spaceId) {
+            this.emitter = emitter;
+            this.jobId = jobId;
+            this.spaceId = spaceId;
+        }
+
+        private void offer(ProvisioningEvent event) {
+            if (spaceId != null && !spaceId.equals(event.getSpaceId())) {
+                return;
+            }
+            synchronized (this) {
+                if (closed.get() || completeAfterDrain) {
+                    return;
+                }
+                if (buffer.size() >= properties.getBufferSize()) {
+                    if (event.getType() == ProvisioningEvent.Type.OUTPUT) {
+                        dropped++;
+                        droppedCount.increment();
+                        return;
+                    }
+                    evictOldest();
+                }
+                buffer.addLast(event);
+                if (jobId != null && event.getType() == ProvisioningEvent.Type.FINISHED) {
+                    completeAfterDrain = true;
+                }
+            }
+            schedule();
+        }
+
+        /**
+         * 상태 이벤트를 넣을 자리를 만들기 위해 가장 오래된 출력 이벤트를, 없다면 가장 오래된 이벤트를 버린다.
+         */
+        private void evictOldest() {
+            Iterator<ProvisioningEvent> iterator = buffer.iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().getType() == ProvisioningEvent.Type.OUTPUT) {
+                    iterator.remove();
+                    dropped++;
+                    droppedCount.increment();
+                    return;
+                }
+            }
+            buffer.pollFirst();
+            dropped++;
+            droppedCount.increment();
+        }
+
+        private void heartbeat() {
+            synchronized (this) {
+                if (!buffer.isEmpty() || closed.get()) {
+                    return;
+                }
+                heartbeatPending = true;
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    sender.execute(this::drain);
+                }
+                catch (RejectedExecutionException exception) {
+                    scheduled.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                while (true) {
+                    ProvisioningEvent event;
+                    long droppedSinceLast;
+                    boolean sendHeartbeat;
+                    boolean complete;
+                    synchronized (this) {
+                        event = buffer.pollFirst();
+                        droppedSinceLast = dropped;
+                        dropped = 0;
+                        sendHeartbeat = heartbeatPending;
+                        heartbeatPending = false;
+                        complete = event == null && completeAfterDrain;
+                        if (event == null && droppedSinceLast == 0 && !sendHeartbeat) {
+                            // 다음 offer 가 다시 예약할 수 있도록 lock 안에서 해제
+                            scheduled.set(false);
+                            if (complete) {
+                                closed.set(true);
+                            }
+                            break;
+                        }
+                    }
+                    if (droppedSinceLast > 0) {
+                        send(ProvisioningEvent.builder()
+                                .type(ProvisioningEvent.Type.DROPPED)
+                                .at(Instant.now())
+                                .dropped(droppedSinceLast)
+                                .build());
+                    }
+                    if (sendHeartbeat) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    }
+                    if (event != null) {
+                        send(event);
+                    }
+                }
+            }
+            catch (IOException | IllegalStateException exception) {
+                // 클라이언트가 연결을 끊었거나 이미 완료된 emitter, 연결 정리는 container 가 한다.
+                log.debug("event subscriber disconnected : {}", exception.getMessage());
+                scheduled.set(false);
+                close();
+                return;
+            }
+            if (closed.get()) {
+                unregisterOnce();
+                emitter.complete();
+            }
+        }
+
+        private void send(ProvisioningEvent event) throws IOException {
+            emitter.send(SseEmitter.event()
+                    .name(event.getType().name().toLowerCase(Locale.ROOT))
+                    .data(event, MediaType.APPLICATION_JSON));
+        }
+
+        private void close() {
+            synchronized (this) {
+                buffer.clear();
+                closed.set(true);
+            }
+            unregisterOnce();
+        }
+
+        private void unregisterOnce() {
+            if (unregistered.compareAndSet(false, true)) {
+                unregister(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,580 @@
+package org.example.springbootboilerplate.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.Nullable;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.example.springbootboilerplate.dto.CommandRequest;
+import org.example.springbootboilerplate.dto.CommandResult;
+import org.example.springbootboilerplate.dto.OperationType;
+import org.example.springbootboilerplate.entity.JobState;
+import org.example.springbootboilerplate.entity.ProvisioningJob;
+import org.example.springbootboilerplate.properties.CmdProperties;
+import org.example.springbootboilerplate.repository.ProvisioningJobRepository;
+import org.example.springbootboilerplate.repository.SpaceStatusRepository;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * CommandExecutor 작업의 상태 변경을 {@link ProvisioningJob} 으로 저장하는 listener.
+ * <ul>
+ *     <li>listener 에서는 상태 변경을 큐에 넣기만 하고, 백그라운드 스레드가 모아서 JDBC batch 로 저장한다.</li>
+ *     <li>같은 작업의 상태 변경이 한 batch 안에 여러번 있으면 마지막 상태로 한번만 저장한다.</li>
+ *     <li>space 별 마지막 작업 상태 ({@link org.example.springbootboilerplate.entity.SpaceStatus}) 도 같은 batch 에서 갱신한다.</li>
+ *     <li>시작 시에 이전 실행에서 끝나지 않은 작업은 {@link JobState#INTERRUPTED} 로 종료한다.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "custom.cmd.job-store", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ProvisioningJobRecorder implements CommandListener, MeterBinder, DisposableBean {
+
+    static final String INTERRUPTED_MESSAGE = "[INTERRUPTED] application stopped before the job finished";
+
+    private static final String INSERT_SQL = "insert into provisioning_job "
+            + "(id, operation, space_id, state, queued_at, started_at, finished_at, queue_millis, run_millis, exit_code, stderr) "
+            + "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    /**
+     * 메모리에서 정리된 뒤 다시 들어온 작업은 이전 값을 모르므로, null 인 항목은 저장된 값을 유지한다.
+     */
+    private static final String UPDATE_SQL = "update provisioning_job set "
+            + "state = ?, started_at = coalesce(?, started_at), finished_at = coalesce(?, finished_at), "
+            + "queue_millis = coalesce(?, queue_millis), run_millis = coalesce(?, run_millis), "
+            + "exit_code = coalesce(?, exit_code), stderr = coalesce(?, stderr) "
+            + "where id = ?";
+    /**
+     * 같은 space 의 더 최근에 요청된 작업이 이미 저장되어 있다면 갱신하지 않는다.
+     * 요청 시점을 모르는 작업 (메모리에서 정리된 뒤 다시 들어온 작업) 은 이미 space 의 마지막 작업인 경우에만 갱신한다.
+     */
+    private static final String SPACE_UPDATE_SQL = "update space_status set "
+            + "job_id = ?, operation = ?, state = ?, exit_code = ?, queued_at = coalesce(?, queued_at), updated_at = ? "
+            + "where space_id = ? and (job_id = ? or queued_at is null or queued_at <= ?)";
+    private static final String SPACE_INSERT_SQL = "insert into space_status "
+            + "(space_id, job_id, operation, state, exit_code, queued_at, updated_at) values (?, ?, ?, ?, ?, ?, ?)";
+
+    private final ProvisioningJobRepository repository;
+    private final SpaceStatusRepository spaceStatusRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final CmdProperties.JobStore properties;
+    private final BlockingQueue<JobEvent> events;
+    /**
+     * 아직 끝나지 않았거나 저장되지 않은 작업, flush 를 실행하는 스레드만 접근한다.
+     */
+    private final Map<String, JobRow> rows = new LinkedHashMap<>();
+    private final Thread writer;
+    private volatile boolean running = true;
+    private final LongAdder writtenCount = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+
+    public ProvisioningJobRecorder(
+            ProvisioningJobRepository repository,
+            SpaceStatusRepository spaceStatusRepository,
+            JdbcTemplate jdbcTemplate,
+            CmdProperties cmdProperties) {
+        this.repository = repository;
+        this.spaceStatusRepository = spaceStatusRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = cmdProperties.getJobStore();
+        this.events = new LinkedBlockingQueue<>(Math.max(1, properties.getQueueCapacity()));
+        this.writer = new Thread(this::writeLoop, "provisioning-job-writer");
+        this.writer.setDaemon(true);
+    }
+
+    /**
+     * writer 를 시작하기 전에 실행, 이번 실행에서 기록한 작업이 종료되지 않도록 한다.
+     */
+    @PostConstruct
+    public void init() {
+        Instant now = Instant.now();
+        int interrupted = repository.finishInFlight(JobState.IN_FLIGHT, JobState.INTERRUPTED, now, INTERRUPTED_MESSAGE);
+        spaceStatusRepository.finishInFlight(JobState.IN_FLIGHT, JobState.INTERRUPTED, now);
+        if (interrupted > 0) {
+            log.warn("marked {} unfinished provisioning jobs as {}", interrupted, JobState.INTERRUPTED);
+        }
+        writer.start();
+    }
+
+    @Override
+    public void onQueued(CommandRequest request) {
+        offer(new JobEvent(request.getJobId(), request.getOperation(), request.getSpaceId(),
+                JobState.QUEUED, Instant.now(), null, null, null, null, null));
+    }
+
+    @Override
+    public void onStarted(CommandRequest request, long queuedNanos) {
+        offer(new JobEvent(request.getJobId(), request.getOperation(), request.getSpaceId(),
+                JobState.RUNNING, Instant.now(), TimeUnit.NANOSECONDS.toMillis(queuedNanos), null, null, null, null));
+    }
+
+    @Override
+    public void onFinished(
+            CommandRequest request,
+            @Nullable CommandResult result,
+            @Nullable Throwable throwable,
+            long runNanos) {
+        JobState state = JobState.of(result, throwable);
+        String stderr = throwable != null
+                ? String.valueOf(JobState.unwrap(throwable).getMessage())
+                : result == null ? null : result.getFailureMessage();
+        offer(new JobEvent(request.getJobId(), request.getOperation(), request.getSpaceId(),
+                state, Instant.now(), null, TimeUnit.NANOSECONDS.toMillis(runNanos),
+                result == null ? null : result.getExitCode(),
+                state == JobState.SUCCEEDED || state == JobState.SKIPPED ? null : tail(stderr), null));
+    }
+
+    /**
+     * 지금까지 기록된 상태 변경이 모두 저장될 때까지 기다린다.
+     */
+    public void flush() throws InterruptedException {
+        if (!writer.isAlive()) {
+            List<JobEvent> batch = new ArrayList<>();
+            events.drainTo(batch);
+            write(batch);
+            return;
+        }
+        // 큐 순서대로 처리되므로 marker 가 처리되었다면 앞선 변경은 모두 저장된 상태
+        CountDownLatch flushed = new CountDownLatch(1);
+        events.put(JobEvent.flushMarker(flushed));
+        if (!flushed.await(10, TimeUnit.SECONDS)) {
+            log.warn("timed out waiting for provisioning job flush");
+        }
+    }
+
+    public long getWrittenCount() {
+        return writtenCount.sum();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    public long getFailedCount() {
+        return failedCount.sum();
+    }
+
+    /**
+     * 큐가 가득 차면 QUEUED / RUNNING 변경은 버리지만, 종료 변경은 버리면 작업이 계속 RUNNING 으로 남으므로 writer 가 비워줄 때까지 기다린다.
+     */
+    private void offer(JobEvent event) {
+        if (events.offer(event)) {
+            return;
+        }
+        if (event.state().isFinished()) {
+            try {
+                if (events.offer(event, properties.getFinishedOfferTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+            }
+            catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        droppedCount.increment();
+        log.warn("provisioning job queue is full, dropped state change jobId=[{}] state=[{}]",
+                event.jobId(), event.state());
+    }
+
+    private void writeLoop() {
+        int batchSize = Math.max(1, properties.getBatchSize());
+        long lingerNanos = properties.getFlushInterval().toNanos();
+        List<JobEvent> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                JobEvent first = events.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // 첫 변경 이후 flushInterval 동안 batchSize 까지 모아서 저장, flush 요청이 있으면 바로 저장
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < batchSize && !hasFlushMarker(batch)) {
+                    events.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0 || hasFlushMarker(batch)) {
+                        break;
+                    }
+                    JobEvent next = events.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                try {
+                    write(batch);
+                }
+                finally {
+                    batch.forEach(JobEvent::release);
+                }
+            }
+            catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            catch (RuntimeException exception) {
+                log.warn("provisioning job writer failed : {}", exception.getMessage(), exception);
+            }
+            finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private static boolean hasFlushMarker(List<JobEvent> batch) {
+        for (JobEvent event : batch) {
+            if (event.flushed() != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * writer 스레드와 {@link #flush()} 를 직렬화해서 rows 를 한 스레드씩만 사용하도록 한다.
+     */
+    private synchronized void write(List<JobEvent> batch) {
+        for (JobEvent event : batch) {
+            if (event.flushed() != null) {
+                continue;
+            }
+            // QUEUED 이전 변경으로 시작하는 row 는 이미 저장된 뒤 메모리에서 정리된 작업일 수 있으므로 update 부터 시도
+            rows.computeIfAbsent(event.jobId(), id -> new JobRow(id, event.state() != JobState.QUEUED)).apply(event);
+        }
+
+        List<JobRow> inserts = new ArrayList<>();
+        List<JobRow> updates = new ArrayList<>();
+        for (JobRow row : rows.values()) {
+            if (row.dirty) {
+                (row.persisted ? updates : inserts).add(row);
+            }
+        }
+        if (inserts.isEmpty() && updates.isEmpty()) {
+            return;
+        }
+
+        try {
+            if (!inserts.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, inserts, inserts.size(), ProvisioningJobRecorder::bindInsert);
+                inserts.forEach(row -> row.persisted = true);
+            }
+            if (!updates.isEmpty()) {
+                int[][] counts = jdbcTemplate.batchUpdate(UPDATE_SQL, updates, updates.size(), ProvisioningJobRecorder::bindUpdate);
+                List<JobRow> missing = new ArrayList<>();
+                for (int i = 0; i < updates.size(); i++) {
+                    if (counts[0][i] == 0) {
+                        missing.add(updates.get(i));
+                    }
+                }
+                if (!missing.isEmpty()) {
+                    jdbcTemplate.batchUpdate(INSERT_SQL, missing, missing.size(), ProvisioningJobRecorder::bindInsert);
+                }
+            }
+            List<JobRow> changed = new ArrayList<>(inserts);
+            changed.addAll(updates);
+            writeSpaces(changed);
+        }
+        catch (DataAccessException exception) {
+            // 저장하지 못한 row 는 dirty 로 남겨 다음 batch 에서 다시 시도
+            failedCount.increment();
+            log.warn("failed to write provisioning jobs inserts=[{}] updates=[{}] : {}",
+                    inserts.size(), updates.size(), exception.getMessage());
+            evictOverflow();
+            return;
+        }
+
+        writtenCount.add(inserts.size() + updates.size());
+        Iterator<JobRow> iterator = rows.values().iterator();
+        while (iterator.hasNext()) {
+            JobRow row = iterator.next();
+            row.dirty = false;
+            if (row.state.isFinished()) {
+                iterator.remove();
+            }
+        }
+        // 모두 저장된 상태이므로 정리해도 잃는 값은 없고, 나중에 도착한 변경은 update 로 반영된다.
+        evictOverflow();
+    }
+
+    /**
+     * space 별로 가장 늦게 요청된 작업의 상태를 space_status 에 반영한다.
+     * 저장은 writer 한 스레드에서만 하므로 update 되지 않은 space 중 row 가 없는 것만 insert 한다.
+     * 요청 시점을 모르는 작업은 비교할 수 없으므로 따로 update 만 하고, 새 row 를 만들지 않는다.
+     */
+    private void writeSpaces(List<JobRow> changed) {
+        Map<String, JobRow> latest = new LinkedHashMap<>();
+        List<JobRow> unknownQueuedAt = new ArrayList<>();
+        for (JobRow row : changed) {
+            if (row.spaceId == null) {
+                continue;
+            }
+            if (row.queuedAt == null) {
+                unknownQueuedAt.add(row);
+                continue;
+            }
+            latest.merge(row.spaceId, row, (previous, current) ->
+                    current.queuedAt.isBefore(previous.queuedAt) ? previous : current);
+        }
+        if (!unknownQueuedAt.isEmpty()) {
+            jdbcTemplate.batchUpdate(SPACE_UPDATE_SQL, unknownQueuedAt, unknownQueuedAt.size(),
+                    ProvisioningJobRecorder::bindSpaceUpdate);
+        }
+        if (latest.isEmpty()) {
+            return;
+        }
+        List<JobRow> spaces = new ArrayList<>(latest.values());
+        int[][] counts = jdbcTemplate.batchUpdate(
+                SPACE_UPDATE_SQL, spaces, spaces.size(), ProvisioningJobRecorder::bindSpaceUpdate);
+        List<JobRow> notUpdated = new ArrayList<>();
+        for (int i = 0; i < spaces.size(); i++) {
+            if (counts[0][i] == 0) {
+                notUpdated.add(spaces.get(i));
+            }
+        }
+        if (notUpdated.isEmpty()) {
+            return;
+        }
+        // 0 건인 경우는 row 가 없거나, 더 최근 작업이 이미 저장된 경우
+        Set<String> existing = new HashSet<>(jdbcTemplate.queryForList(
+                "select space_id from space_status where space_id in ("
+                        + String.join(", ", Collections.nCopies(notUpdated.size(), "?")) + ")",
+                String.class,
+                notUpdated.stream().map(row -> row.spaceId).toArray()));
+        List<JobRow> missing = notUpdated.stream().filter(row -> !existing.contains(row.spaceId)).toList();
+        if (!missing.isEmpty()) {
+            jdbcTemplate.batchUpdate(SPACE_INSERT_SQL, missing, missing.size(), ProvisioningJobRecorder::bindSpaceInsert);
+        }
+    }
+
+    /**
+     * 오래 끝나지 않는 작업이 많거나 DB 장애가 길어지는 경우 메모리에 남은 row 가 계속 늘어나지 않도록 오래된 것부터 버린다.
+     * 저장하지 못한 변경을 버린 경우만 dropped 로 센다.
+     */
+    private void evictOverflow() {
+        Iterator<JobRow> iterator = rows.values().iterator();
+        while (rows.size() > properties.getQueueCapacity() && iterator.hasNext()) {
+            JobRow row = iterator.next();
+            iterator.remove();
+            if (row.dirty) {
+                droppedCount.increment();
+            }
+        }
+    }
+
+    private static void bindInsert(PreparedStatement statement, JobRow row) throws SQLException {
+        statement.setString(1, row.id);
+        statement.setString(2, row.operation == null ? null : row.operation.name());
+        statement.setString(3, row.spaceId);
+        statement.setString(4, row.state.name());
+        setInstant(statement, 5, row.queuedAt);
+        setInstant(statement, 6, row.startedAt);
+        setInstant(statement, 7, row.finishedAt);
+        setLong(statement, 8, row.queueMillis);
+        setLong(statement, 9, row.runMillis);
+        setInteger(statement, 10, row.exitCode);
+        statement.setString(11, row.stderr);
+    }
+
+    private static void bindUpdate(PreparedStatement statement, JobRow row) throws SQLException {
+        statement.setString(1, row.state.name());
+        setInstant(statement, 2, row.startedAt);
+        setInstant(statement, 3, row.finishedAt);
+        setLong(statement, 4, row.queueMillis);
+        setLong(statement, 5, row.runMillis);
+        setInteger(statement, 6, row.exitCode);
+        statement.setString(7, row.stderr);
+        statement.setString(8, row.id);
+    }
+
+    private static void bindSpaceUpdate(PreparedStatement statement, JobRow row) throws SQLException {
+        statement.setString(1, row.id);
+        statement.setString(2, row.operation == null ? null : row.operation.name());
+        statement.setString(3, row.state.name());
+        setInteger(statement, 4, row.exitCode);
+        setInstant(statement, 5, row.queuedAt);
+        setInstant(statement, 6, row.updatedAt);
+        statement.setString(7, row.spaceId);
+        statement.setString(8, row.id);
+        setInstant(statement, 9, row.queuedAt);
+    }
+
+    private static void bindSpaceInsert(PreparedStatement statement, JobRow row) throws SQLException {
+        statement.setString(1, row.spaceId);
+        statement.setString(2, row.id);
+        statement.setString(3, row.operation == null ? null : row.operation.name());
+        statement.setString(4, row.state.name());
+        setInteger(statement, 5, row.exitCode);
+        setInstant(statement, 6, row.queuedAt);
+        setInstant(statement, 7, row.updatedAt);
+    }
+
+    private static void setInstant(PreparedStatement statement, int index, @Nullable Instant value) throws SQLException {
+        if (value == null) {
+            statement.setNull(index, Types.TIMESTAMP_WITH_TIMEZONE);
+        }
+        else {
+            statement.setObject(index, value.atOffset(ZoneOffset.UTC));
+        }
+    }
+
+    private static void setLong(PreparedStatement statement, int index, @Nullable Long value) throws SQLException {
+        if (value == null) {
+            statement.setNull(index, Types.BIGINT);
+        }
+        else {
+            statement.setLong(index, value);
+        }
+    }
+
+    private static void setInteger(PreparedStatement statement, int index, @Nullable Integer value) throws SQLException {
+        if (value == null) {
+            statement.setNull(index, Types.INTEGER);
+        }
+        else {
+            statement.setInt(index, value);
+        }
+    }
+
+    /**
+     * 원인은 보통 stderr 마지막에 있으므로 뒷부분을 남긴다.
+     */
+    @Nullable
+    private static String tail(@Nullable String stderr) {
+        if (stderr == null || stderr.length() <= ProvisioningJob.MAX_STDERR_LENGTH) {
+            return stderr;
+        }
+        return stderr.substring(stderr.length() - ProvisioningJob.MAX_STDERR_LENGTH);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        counter(registry, "written", ProvisioningJobRecorder::getWrittenCount);
+        counter(registry, "dropped", ProvisioningJobRecorder::getDroppedCount);
+        counter(registry, "failed", ProvisioningJobRecorder::getFailedCount);
+    }
+
+    private void counter(MeterRegistry registry, String result, ToDoubleFunction<ProvisioningJobRecorder> count) {
+        FunctionCounter.builder("cmd.job.store", this, count)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    /**
+     * 종료 시에 남은 상태 변경을 저장하고, 끝나지 않은 작업은 다음 시작 시에 INTERRUPTED 로 바뀐다.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        flush();
+        running = false;
+        writer.interrupt();
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    /**
+     * 상태 변경 하나, 값이 null 인 항목은 이전 값을 유지한다.
+     * flushed 가 있는 경우 상태 변경이 아닌 {@link #flush()} 요청으로, 저장이 끝나면 countDown 된다.
+     */
+    private record JobEvent(
+            String jobId,
+            OperationType operation,
+            @Nullable String spaceId,
+            JobState state,
+            Instant at,
+            @Nullable Long queueMillis,
+            @Nullable Long runMillis,
+            @Nullable Integer exitCode,
+            @Nullable String stderr,
+            @Nullable CountDownLatch flushed) {
+
+        static JobEvent flushMarker(CountDownLatch flushed) {
+            return new JobEvent(null, null, null, null, null, null, null, null, null, flushed);
+        }
+
+        void release() {
+            if (flushed != null) {
+                flushed.countDown();
+            }
+        }
+    }
+
+    /**
+     * 저장될 row 의 현재 값
+     */
+    private static final class JobRow {
+        private final String id;
+        private OperationType operation;
+        private String spaceId;
+        private JobState state;
+        private Instant queuedAt;
+        private Instant startedAt;
+        private Instant finishedAt;
+        private Long queueMillis;
+        private Long runMillis;
+        private Integer exitCode;
+        private String stderr;
+        /**
+         * 마지막 상태 변경 시점, space_status 갱신에 사용
+         */
+        private Instant updatedAt;
+        private boolean persisted;
+        private boolean dirty;
+
+        private JobRow(String id, boolean persisted) {
+            this.id = id;
+            this.persisted = persisted;
+        }
+
+        private void apply(JobEvent event) {
+            // 이미 끝난 작업에 늦게 도착한 변경은 무시
+            if (state != null && state.isFinished()) {
+                return;
+            }
+            operation = event.operation();
+            if (event.spaceId() != null) {
+                spaceId = event.spaceId();
+            }
+            state = event.state();
+            switch (event.state()) {
+                case QUEUED -> queuedAt = event.at();
+                case RUNNING -> startedAt = event.at();
+                default -> finishedAt = event.at();
+            }
+            // 큐에 들어가지 못한 작업은 거절된 시점을 요청 시점으로 사용하고,
+            // 메모리에서 정리된 뒤 다시 들어온 작업은 요청 시점을 모르므로 null 로 두어 저장된 값을 유지한다.
+            if (queuedAt == null && event.state() == JobState.REJECTED) {
+                queuedAt = event.at();
+            }
+            updatedAt = event.at();
+            if (event.queueMillis() != null) {
+                queueMillis = event.queueMillis();
+            }
+            if (event.runMillis() != null) {
+                runMillis = event.runMillis();
+            }
+            if (event.exitCode() != null) {
+                exitCode = event.exitCode();
+            }
+            if (event.stderr() != null) {
+                stderr = event.stderr();
+            }
+            dirty = true;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package org.example.springbootboilerplate.service;
+
+import jakarta.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+import org.example.springbootboilerplate.dto.BulkPatchSummary;
+import org.example.springbootboilerplate.dto.CommandResult;
+import org.example.springbootboilerplate.properties.CmdProperties;
+import org.example.springbootboilerplate.util.RequestContext;
+import org.example.springbootboilerplate.util.TokenBucket;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * 여러 space 의 ResourceQuota 를 한번에 patch 하는 서비스.
+ * 각 patch 는 {@link CmdService#patchResourceQuotaAsync} 를 그대로 사용하므로 CLI / API 모드, 변경 없는 patch 생략이 똑같이 적용된다.
+ * bulk 요청 하나의 동시 진행 갯수는 parallelism 으로, 모든 bulk 요청의 시작 속도는 공유 token bucket 으로 제한한다.
+ */
+@Slf4j
+@Component
+public class ResourceQuotaBulkService implements DisposableBean {
+
+    private final CmdService cmdService;
+    private final CmdProperties.Bulk properties;
+    private final TokenBucket tokenBucket;
+    private final ExecutorService dispatcherService;
+
+    public ResourceQuotaBulkService(CmdService cmdService, CmdProperties cmdProperties) {
+        this.cmdService = cmdService;
+        this.properties = cmdProperties.getBulk();
+        this.tokenBucket = new TokenBucket(Math.max(1, properties.getBurst()), properties.getRatePerSecond());
+        AtomicInteger threadCount = new AtomicInteger();
+        this.dispatcherService = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "quota-bulk-dispatcher-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @param quotas key: spaceId, value: patchResourceQuota 에 넘기는 quota JSON
+     * @param onResult space 하나의 patch 가 끝날 때마다 호출, 실행 자체가 실패한 경우 exitCode -1 과 예외 메세지를 stderr 로 전달
+     * @return 모든 patch 가 끝난 뒤 완료되는 {@link BulkPatchSummary}
+     */
+    public CompletableFuture<BulkPatchSummary> patchResourceQuotas(
+            Map<String, String> quotas,
+            @Nullable BiConsumer<String, CommandResult> onResult) {
+        CompletableFuture<BulkPatchSummary> summaryFuture = new CompletableFuture<>();
+        Map<String, String> snapshot = Map.copyOf(quotas);
+        try {
+            dispatcherService.execute(RequestContext.wrap(() -> dispatch(snapshot, onResult, summaryFuture)));
+        }
+        catch (RejectedExecutionException exception) {
+            summaryFuture.completeExceptionally(exception);
+        }
+        return summaryFuture;
+    }
+
+    private void dispatch(
+            Map<String, String> quotas,
+            @Nullable BiConsumer<String, CommandResult> onResult,
+            CompletableFuture<BulkPatchSummary> summaryFuture) {
+        long startNanos = System.nanoTime();
+        Semaphore inFlight = new Semaphore(Math.max(1, properties.getParallelism()));
+        CountDownLatch remaining = new CountDownLatch(quotas.size());
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger skipped = new AtomicInteger();
+        Map<String, String> failures = new ConcurrentHashMap<>();
+
+        try {
+            for (Map.Entry<String, String> entry : quotas.entrySet()) {
+                String spaceId = entry.getKey();
+                tokenBucket.acquire();
+                inFlight.acquire();
+                CompletableFuture<CommandResult> patch;
+                try {
+                    patch = cmdService.patchResourceQuotaAsync(spaceId, entry.getValue());
+                }
+                catch (RuntimeException exception) {
+                    // 동기적으로 실패해도 같은 경로로 결과를 남겨 permit / remaining 이 정리되도록 한다.
+                    patch = CompletableFuture.failedFuture(exception);
+                }
+                patch.handle((result, throwable) -> throwable == null ? result : failedResult(throwable))
+                        .thenAccept(result -> {
+                            try {
+                                if (!result.isSuccess()) {
+                                    failures.put(spaceId, String.valueOf(result.getFailureMessage()));
+                                }
+                                else if (result.isSkipped()) {
+                                    skipped.incrementAndGet();
+                                }
+                                else {
+                                    succeeded.incrementAndGet();
+                                }
+                                if (onResult != null) {
+                                    onResult.accept(spaceId, result);
+                                }
+                            }
+                            finally {
+                                inFlight.release();
+                                remaining.countDown();
+                            }
+                        });
+            }
+            remaining.await();
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            summaryFuture.completeExceptionally(exception);
+            return;
+        }
+
+        BulkPatchSummary summary = BulkPatchSummary.builder()
+                .total(quotas.size())
+                .succeeded(succeeded.get())
+                .skipped(skipped.get())
+                .failed(failures.size())
+                .elapsed(Duration.ofNanos(System.nanoTime() - startNanos))
+                .failures(new HashMap<>(failures))
+                .build();
+        log.info("bulk resource quota patch total=[{}] succeeded=[{}] skipped=[{}] failed=[{}] throughput=[{}/s]",
+                summary.getTotal(), summary.getSucceeded(), summary.getSkipped(), summary.getFailed(),
+                String.format("%.1f", summary.getThroughputPerSecond()));
+        summaryFuture.complete(summary);
+    }
+
+    private static CommandResult failedResult(Throwable throwable) {
+        Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                ? throwable.getCause()
+                : throwable;
+        return CommandResult.builder()
+                .exitCode(-1)
+                .stdout("")
+                .stderr(cause.getMessage())
+                .build();
+    }
+
+    @Override
+    public void destroy() {
+        dispatcherService.shutdownNow();
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.springbootboilerplate.service;
+
+import io.kubernetes.client.openapi.ApiException;
+import io.kubernetes.client.openapi.models.V1ResourceQuota;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.springbootboilerplate.dto.CommandDto;
+import org.example.springbootboilerplate.dto.ResourceQuotaSpec;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 전달받은 quota 와 현재 ResourceQuota 를 비교해서 실제로 보내야 하는 최소 patch 를 계산한다.
+ * 현재 값은 {@link K8SResourceCache} 가 ready 라면 cache 에서, 아니라면 API 로 읽는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ResourceQuotaReconciler {
+
+    private final K8SApiService k8SApiService;
+    private final ObjectProvider<K8SResourceCache> k8SResourceCacheProvider;
+
+    private final LongAdder skippedCount = new LongAdder();
+    private final LongAdder appliedCount = new LongAdder();
+
+    /**
+     * 현재 값을 읽지 못한 경우 (ResourceQuota 가 없거나 API 실패) 에는 desired 전체를 그대로 반환한다.
+     *
+     * @param patch 대상 spaceId
+     * @param desired 적용하고 싶은 quota
+     * @return 현재 값과 다른 항목만 담은 {@link ResourceQuotaSpec}, 비어있다면 patch 가 필요 없음
+     */
+    public ResourceQuotaSpec minimalPatch(CommandDto.ResourceQuotaPatch patch, ResourceQuotaSpec desired) {
+        return readCurrent(patch)
+                .map(desired::diff)
+                .orElse(desired);
+    }
+
+    private Optional<V1ResourceQuota> readCurrent(CommandDto.ResourceQuotaPatch patch) {
+        K8SResourceCache cache = k8SResourceCacheProvider.getIfAvailable();
+        if (cache != null && cache.isReady()) {
+            return cache.getResourceQuota(patch.getSpaceId());
+        }
+        try {
+            return Optional.of(k8SApiService.readResourceQuota(patch));
+        }
+        catch (ApiException | IOException exception) {
+            log.debug("failed to read current resource quota spaceId=[{}], sending full patch", patch.getSpaceId(), exception);
+            return Optional.empty();
+        }
+    }
+
+    public void recordSkipped() {
+        skippedCount.increment();
+    }
+
+    public void recordApplied() {
+        appliedCount.increment();
+    }
+
+    public long getSkippedCount() {
+        return skippedCount.sum();
+    }
+
+    public long getAppliedCount() {
+        return appliedCount.sum();
+    }
+}
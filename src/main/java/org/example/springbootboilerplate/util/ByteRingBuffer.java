@@ -0,0 +1,65 @@
+package org.example.springbootboilerplate.util;
+
+import java.nio.charset.Charset;
+
+/**
+ * 고정 크기의 byte ring buffer, capacity 를 넘는 입력은 가장 오래된 byte 부터 덮어쓴다.
+ * 프로세스 출력처럼 길이를 알 수 없는 스트림의 마지막 N byte 만 메모리에 유지하기 위해 사용한다.
+ * 단일 writer 기준으로 작성되었으며, 읽기는 writer 가 끝난 이후 (join 이후) 에 수행해야 한다.
+ */
+public class ByteRingBuffer {
+    private final byte[] buffer;
+    private int position;
+    private long totalBytes;
+
+    public ByteRingBuffer(int capacity) {
+        this.buffer = new byte[Math.max(0, capacity)];
+    }
+
+    public void write(byte[] bytes, int offset, int length) {
+        totalBytes += length;
+        int capacity = buffer.length;
+        if (capacity == 0) {
+            return;
+        }
+        if (length >= capacity) {
+            System.arraycopy(bytes, offset + length - capacity, buffer, 0, capacity);
+            position = 0;
+            return;
+        }
+        int firstChunk = Math.min(length, capacity - position);
+        System.arraycopy(bytes, offset, buffer, position, firstChunk);
+        System.arraycopy(bytes, offset + firstChunk, buffer, 0, length - firstChunk);
+        position = (position + length) % capacity;
+    }
+
+    /**
+     * @return 지금까지 write 된 전체 byte 수 (버려진 byte 포함)
+     */
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * @return capacity 를 넘어 앞부분이 버려졌는지 여부
+     */
+    public boolean isTruncated() {
+        return totalBytes > buffer.length;
+    }
+
+    public byte[] toByteArray() {
+        if (!isTruncated()) {
+            byte[] result = new byte[(int) totalBytes];
+            System.arraycopy(buffer, 0, result, 0, result.length);
+            return result;
+        }
+        byte[] result = new byte[buffer.length];
+        System.arraycopy(buffer, position, result, 0, buffer.length - position);
+        System.arraycopy(buffer, 0, result, buffer.length - position, position);
+        return result;
+    }
+
+    public String toString(Charset charset) {
+        return new String(toByteArray(), charset);
+    }
+}
@@ -0,0 +1,81 @@
+package org.example.springbootboilerplate.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 고정 인자는 미리 채워두고, 호출마다 바뀌는 인자 (slot) 만 채워서 커맨드 배열을 만드는 template.
+ * 애플리케이션 시작 시에 한번 만들어두면 fill 호출마다 정확한 크기의 배열 하나만 할당한다.
+ *
+ * @Example <pre>
+ *     CommandTemplate template = CommandTemplate.builder()
+ *          .literal("kubectl", "delete", "sc")
+ *          .slot()
+ *          .build();
+ *
+ *     template.fill("standard");
+ *     // ["kubectl", "delete", "sc", "standard"]
+ * </pre>
+ */
+public final class CommandTemplate {
+
+    private final String[] template;
+    private final int[] slotIndexes;
+
+    private CommandTemplate(String[] template, int[] slotIndexes) {
+        this.template = template;
+        this.slotIndexes = slotIndexes;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int getSlotCount() {
+        return slotIndexes.length;
+    }
+
+    /**
+     * @param values slot 순서대로 채울 값, slot 갯수와 같아야 함
+     * @return 새로 할당된 커맨드 배열
+     */
+    public String[] fill(String... values) {
+        if (values.length != slotIndexes.length) {
+            throw new IllegalArgumentException(
+                    "expected " + slotIndexes.length + " values but got " + values.length);
+        }
+        String[] cmd = template.clone();
+        for (int i = 0; i < slotIndexes.length; i++) {
+            cmd[slotIndexes[i]] = values[i];
+        }
+        return cmd;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(template);
+    }
+
+    public static class Builder {
+        private final List<String> parts = new ArrayList<>();
+        private final List<Integer> slots = new ArrayList<>();
+
+        public Builder literal(String... values) {
+            parts.addAll(Arrays.asList(values));
+            return this;
+        }
+
+        public Builder slot() {
+            slots.add(parts.size());
+            parts.add(null);
+            return this;
+        }
+
+        public CommandTemplate build() {
+            return new CommandTemplate(
+                    parts.toArray(String[]::new),
+                    slots.stream().mapToInt(Integer::intValue).toArray());
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package org.example.springbootboilerplate.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.*;
+
+/**
+ * 요청 header 의 읽기 전용 snapshot.
+ * header 이름을 대소문자 구분 없이 찾을 수 있으며, HashMap 대신 이름 순으로 정렬된 두 배열에 담아 이진 탐색한다.
+ * 같은 이름의 header 가 여러개라면 첫번째 값만 갖는다.
+ */
+public final class HeaderSnapshot extends AbstractMap<String, String> {
+
+    public static final HeaderSnapshot EMPTY = new HeaderSnapshot(new String[0], new String[0], 0);
+
+    private final String[] names;
+    private final String[] values;
+    private final int size;
+    private Set<Entry<String, String>> entrySet;
+
+    private HeaderSnapshot(String[] names, String[] values, int size) {
+        this.names = names;
+        this.values = values;
+        this.size = size;
+    }
+
+    /**
+     * @param request 요청
+     * @return 요청의 모든 header snapshot
+     */
+    public static HeaderSnapshot from(HttpServletRequest request) {
+        Enumeration<String> headerNames = request.getHeaderNames();
+        if (headerNames == null || !headerNames.hasMoreElements()) {
+            return EMPTY;
+        }
+        Builder builder = new Builder(16);
+        while (headerNames.hasMoreElements()) {
+            String name = headerNames.nextElement();
+            builder.add(name, request.getHeader(name));
+        }
+        return builder.build();
+    }
+
+    /**
+     * 요청의 header 전체를 읽지 않고 allowList 에 있는 header 만 읽는다.
+     *
+     * @param request 요청
+     * @param allowList 읽을 header 이름, 대소문자 구분 없음
+     */
+    public static HeaderSnapshot from(HttpServletRequest request, Collection<String> allowList) {
+        Builder builder = new Builder(allowList.size());
+        for (String name : allowList) {
+            String value = request.getHeader(name);
+            if (value != null) {
+                builder.add(name, value);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * @param headers 원본 Map, 이미 HeaderSnapshot 이라면 그대로 반환
+     */
+    public static HeaderSnapshot of(Map<String, String> headers) {
+        if (headers instanceof HeaderSnapshot snapshot) {
+            return snapshot;
+        }
+        if (headers == null || headers.isEmpty()) {
+            return EMPTY;
+        }
+        Builder builder = new Builder(headers.size());
+        headers.forEach(builder::add);
+        return builder.build();
+    }
+
+    /**
+     * @param allowList 남길 header 이름, 대소문자 구분 없음
+     * @return allowList 에 포함된 header 만 갖는 snapshot
+     */
+    public HeaderSnapshot filter(Collection<String> allowList) {
+        if (size == 0) {
+            return EMPTY;
+        }
+        Builder builder = new Builder(Math.min(size, allowList.size()));
+        for (String name : allowList) {
+            int index = indexOf(name);
+            if (index >= 0) {
+                builder.add(names[index], values[index]);
+            }
+        }
+        return builder.build();
+    }
+
+    @Override
+    public String get(Object key) {
+        int index = key instanceof String name ? indexOf(name) : -1;
+        return index >= 0 ? values[index] : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof String name && indexOf(name) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        Set<Entry<String, String>> entries = entrySet;
+        if (entries == null) {
+            entries = new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<String, String>> iterator() {
+                    return new Iterator<>() {
+                        private int index;
+
+                        @Override
+                        public boolean hasNext() {
+                            return index < size;
+                        }
+
+                        @Override
+                        public Entry<String, String> next() {
+                            if (index >= size) {
+                                throw new NoSuchElementException();
+                            }
+                            Entry<String, String> entry = new SimpleImmutableEntry<>(names[index], values[index]);
+                            index++;
+                            return entry;
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+            entrySet = entries;
+        }
+        return entries;
+    }
+
+    private int indexOf(String name) {
+        return Arrays.binarySearch(names, 0, size, name, String.CASE_INSENSITIVE_ORDER);
+    }
+
+    /**
+     * 이름 순으로 정렬하면서 대소문자만 다른 중복 header 는 처음 값만 남긴다.
+     */
+    private static final class Builder {
+        private String[] names;
+        private String[] values;
+        private int size;
+
+        private Builder(int capacity) {
+            this.names = new String[Math.max(capacity, 1)];
+            this.values = new String[names.length];
+        }
+
+        private void add(String name, String value) {
+            if (name == null || value == null) {
+                return;
+            }
+            int index = Arrays.binarySearch(names, 0, size, name, String.CASE_INSENSITIVE_ORDER);
+            if (index >= 0) {
+                return;
+            }
+            int insertAt = -index - 1;
+            if (size == names.length) {
+                names = Arrays.copyOf(names, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            System.arraycopy(names, insertAt, names, insertAt + 1, size - insertAt);
+            System.arraycopy(values, insertAt, values, insertAt + 1, size - insertAt);
+            names[insertAt] = name;
+            values[insertAt] = value;
+            size++;
+        }
+
+        private HeaderSnapshot build() {
+            return size == 0 ? EMPTY : new HeaderSnapshot(names, values, size);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.springbootboilerplate.util;
+
+import java.util.*;
+
+/**
+ * primitive key 와 값을 {@code Pair} 대신 key 배열 / Object[] 두 배열로 담는 struct-of-arrays 의 공통 부분.
+ * 값 배열과 size / 값 조회는 여기서 처리하고, key 배열과 boxing 없는 순회는 {@link IntKeyedColumns} / {@link LongKeyedColumns} 가 담당한다.
+ *
+ * @param <V> 값
+ */
+public abstract sealed class KeyedColumns<V> permits IntKeyedColumns, LongKeyedColumns {
+
+    /**
+     * 하위 클래스의 key 배열과 같은 길이
+     */
+    protected final Object[] values;
+
+    KeyedColumns(Object[] values) {
+        this.values = values;
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    public boolean isEmpty() {
+        return values.length == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V getValue(int index) {
+        return (V) values[index];
+    }
+
+    /**
+     * @return 값들을 담은 수정할 수 없는 List view
+     */
+    @SuppressWarnings("unchecked")
+    public List<V> values() {
+        return Collections.unmodifiableList((List<V>) Arrays.asList(values));
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.springbootboilerplate.util;
+
+import java.util.Collection;
+import java.util.function.Function;
+import java.util.function.ObjLongConsumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * long key 와 값을 {@code Pair<Long, V>} 대신 long[] / Object[] 두 배열로 담는 {@link KeyedColumns}.
+ * key 를 boxing 하지 않고 요소마다 Pair 를 만들지 않으므로 큰 Collection 을 한번 순회하는 용도에 적합하다.
+ *
+ * @param <V> 값
+ */
+public final class LongKeyedColumns<V> extends KeyedColumns<V> {
+
+    private final long[] keys;
+
+    private LongKeyedColumns(long[] keys, Object[] values) {
+        super(values);
+        this.keys = keys;
+    }
+
+    /**
+     * @param collection 원본 Collection, null 이면 빈 결과
+     * @param getKey long key 를 구하는 함수
+     * @param getValue 값을 구하는 함수
+     */
+    public static <T, V> LongKeyedColumns<V> of(
+            Collection<T> collection,
+            ToLongFunction<? super T> getKey,
+            Function<? super T, ? extends V> getValue) {
+        if (collection == null || collection.isEmpty()) {
+            return new LongKeyedColumns<>(new long[0], new Object[0]);
+        }
+        long[] keys = new long[collection.size()];
+        Object[] values = new Object[collection.size()];
+        int i = 0;
+        for (T t : collection) {
+            keys[i] = getKey.applyAsLong(t);
+            values[i] = getValue.apply(t);
+            i++;
+        }
+        return new LongKeyedColumns<>(keys, values);
+    }
+
+    public long getKey(int index) {
+        return keys[index];
+    }
+
+    /**
+     * @return key 배열의 복사본
+     */
+    public long[] keys() {
+        return keys.clone();
+    }
+
+    /**
+     * 순서대로 (값, key) 를 boxing 없이 전달
+     */
+    public void forEach(ObjLongConsumer<? super V> action) {
+        for (int i = 0; i < keys.length; i++) {
+            action.accept(getValue(i), keys[i]);
+        }
+    }
+}
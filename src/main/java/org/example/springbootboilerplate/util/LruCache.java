@@ -0,0 +1,41 @@
+package org.example.springbootboilerplate.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 최대 갯수를 넘으면 가장 오래 사용하지 않은 항목부터 제거하는 thread-safe cache.
+ *
+ * @param <K> key
+ * @param <V> value
+ */
+public class LruCache<K, V> {
+
+    private final Map<K, V> entries;
+
+    public LruCache(int maxEntries) {
+        int capacity = Math.max(1, maxEntries);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    public synchronized V get(K key) {
+        return entries.get(key);
+    }
+
+    public synchronized void put(K key, V value) {
+        entries.put(key, value);
+    }
+
+    public synchronized void remove(K key) {
+        entries.remove(key);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+}
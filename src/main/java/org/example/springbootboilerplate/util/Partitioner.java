@@ -0,0 +1,196 @@
+package org.example.springbootboilerplate.util;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collector;
+
+/**
+ * 하나의 Collection 을 N 개의 bucket 으로 나누는 유틸.
+ * classifier 는 요소 하나당 한번만 호출되며, Collector 는 스레드마다 자기 bucket 을 만들고 마지막에 합치기 때문에 parallel stream 에서도 안전하다.
+ *
+ * @Example <pre>
+ *     List < List < User > > buckets = users.parallelStream()
+ *          .collect(Partitioner.byKeys(User::getUserRole, UserRole.ADMIN, UserRole.MEMBER));
+ *     // buckets.get(0) -> ADMIN, buckets.get(1) -> MEMBER, buckets.get(2) -> 그 외
+ *
+ *     EnumMap < UserRole, List < User > > byRole = Partitioner.partitionByEnum(users, UserRole.class, User::getUserRole);
+ * </pre>
+ */
+public final class Partitioner {
+
+    /**
+     * key 갯수가 이 값보다 많으면 선형 탐색 대신 HashMap 으로 bucket 을 찾는다.
+     */
+    private static final int LINEAR_SEARCH_LIMIT = 8;
+
+    private Partitioner() {
+    }
+
+    /**
+     * @param classifier 요소의 key 를 구하는 함수
+     * @param keys bucket 순서대로의 key, 같은 key 가 여러번 있으면 앞쪽 bucket 으로 들어감
+     * @return keys.length + 1 개의 bucket, 마지막 bucket 은 어떤 key 와도 같지 않은 나머지
+     */
+    @SafeVarargs
+    public static <T, K> Collector<T, ?, List<List<T>>> byKeys(Function<? super T, ? extends K> classifier, K... keys) {
+        BucketIndex<K> bucketIndex = new BucketIndex<>(keys);
+        int bucketCount = keys.length + 1;
+        return Collector.of(
+                () -> Partitioner.<T>newBuckets(bucketCount, 0),
+                (buckets, t) -> buckets.get(bucketIndex.indexOf(classifier.apply(t))).add(t),
+                Partitioner::mergeBuckets);
+    }
+
+    /**
+     * {@link #byKeys} 와 같은 결과를 순차적으로 만들되, 각 bucket 을 정확한 크기로 미리 할당한다.
+     *
+     * @param collection 나눌 Collection, null 이면 빈 bucket 들을 반환
+     * @param classifier 요소의 key 를 구하는 함수
+     * @param keys bucket 순서대로의 key
+     * @return keys.length + 1 개의 수정 가능한 ArrayList bucket
+     */
+    @SafeVarargs
+    public static <T, K> List<List<T>> partition(
+            Collection<T> collection,
+            Function<? super T, ? extends K> classifier,
+            K... keys) {
+        int bucketCount = keys.length + 1;
+        if (collection == null || collection.isEmpty()) {
+            return newBuckets(bucketCount, 0);
+        }
+        BucketIndex<K> bucketIndex = new BucketIndex<>(keys);
+        int[] indexes = new int[collection.size()];
+        int[] counts = new int[bucketCount];
+        int i = 0;
+        for (T t : collection) {
+            int index = bucketIndex.indexOf(classifier.apply(t));
+            indexes[i++] = index;
+            counts[index]++;
+        }
+
+        List<List<T>> buckets = new ArrayList<>(bucketCount);
+        for (int count : counts) {
+            buckets.add(new ArrayList<>(count));
+        }
+        i = 0;
+        for (T t : collection) {
+            buckets.get(indexes[i++]).add(t);
+        }
+        return buckets;
+    }
+
+    /**
+     * enum 의 ordinal 을 bucket index 로 사용하는 Collector, classifier 결과가 null 인 요소는 제외된다.
+     *
+     * @return 모든 enum 상수를 key 로 갖는 {@link EnumMap}, 해당하는 요소가 없다면 빈 List
+     */
+    public static <T, E extends Enum<E>> Collector<T, ?, EnumMap<E, List<T>>> byEnum(
+            Class<E> enumType,
+            Function<? super T, E> classifier) {
+        E[] constants = enumType.getEnumConstants();
+        return Collector.of(
+                () -> Partitioner.<T>newBuckets(constants.length, 0),
+                (buckets, t) -> {
+                    E key = classifier.apply(t);
+                    if (key != null) {
+                        buckets.get(key.ordinal()).add(t);
+                    }
+                },
+                Partitioner::mergeBuckets,
+                buckets -> toEnumMap(enumType, constants, buckets));
+    }
+
+    /**
+     * {@link #byEnum} 과 같은 결과를 순차적으로 만들되, 각 bucket 을 정확한 크기로 미리 할당한다.
+     */
+    public static <T, E extends Enum<E>> EnumMap<E, List<T>> partitionByEnum(
+            Collection<T> collection,
+            Class<E> enumType,
+            Function<? super T, E> classifier) {
+        E[] constants = enumType.getEnumConstants();
+        if (collection == null || collection.isEmpty()) {
+            return toEnumMap(enumType, constants, newBuckets(constants.length, 0));
+        }
+        int[] indexes = new int[collection.size()];
+        int[] counts = new int[constants.length];
+        int i = 0;
+        for (T t : collection) {
+            E key = classifier.apply(t);
+            int index = key == null ? -1 : key.ordinal();
+            indexes[i++] = index;
+            if (index >= 0) {
+                counts[index]++;
+            }
+        }
+
+        List<List<T>> buckets = new ArrayList<>(constants.length);
+        for (int count : counts) {
+            buckets.add(new ArrayList<>(count));
+        }
+        i = 0;
+        for (T t : collection) {
+            int index = indexes[i++];
+            if (index >= 0) {
+                buckets.get(index).add(t);
+            }
+        }
+        return toEnumMap(enumType, constants, buckets);
+    }
+
+    private static <T> List<List<T>> newBuckets(int bucketCount, int initialCapacity) {
+        List<List<T>> buckets = new ArrayList<>(bucketCount);
+        for (int i = 0; i < bucketCount; i++) {
+            buckets.add(new ArrayList<>(initialCapacity));
+        }
+        return buckets;
+    }
+
+    private static <T> List<List<T>> mergeBuckets(List<List<T>> left, List<List<T>> right) {
+        for (int i = 0; i < left.size(); i++) {
+            left.get(i).addAll(right.get(i));
+        }
+        return left;
+    }
+
+    private static <T, E extends Enum<E>> EnumMap<E, List<T>> toEnumMap(Class<E> enumType, E[] constants, List<List<T>> buckets) {
+        EnumMap<E, List<T>> result = new EnumMap<>(enumType);
+        for (E constant : constants) {
+            result.put(constant, buckets.get(constant.ordinal()));
+        }
+        return result;
+    }
+
+    /**
+     * key -> bucket index 조회, 찾지 못하면 마지막 (나머지) bucket index
+     */
+    private static class BucketIndex<K> {
+        private final K[] keys;
+        private final Map<Object, Integer> indexByKey;
+
+        private BucketIndex(K[] keys) {
+            this.keys = keys;
+            if (keys.length > LINEAR_SEARCH_LIMIT) {
+                Map<Object, Integer> map = new HashMap<>();
+                for (int i = keys.length - 1; i >= 0; i--) {
+                    map.put(keys[i], i);
+                }
+                this.indexByKey = map;
+            }
+            else {
+                this.indexByKey = null;
+            }
+        }
+
+        private int indexOf(Object key) {
+            if (indexByKey != null) {
+                return indexByKey.getOrDefault(key, keys.length);
+            }
+            for (int i = 0; i < keys.length; i++) {
+                if (Objects.equals(keys[i], key)) {
+                    return i;
+                }
+            }
+            return keys.length;
+        }
+    }
+}
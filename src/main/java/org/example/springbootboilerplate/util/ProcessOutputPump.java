@@ -0,0 +1,149 @@
+package org.example.springbootboilerplate.util;
+
+import jakarta.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 프로세스의 stdout / stderr 을 프로세스 실행과 동시에 읽어내는 Runnable.
+ * 파이프 버퍼가 가득 차서 자식 프로세스가 멈추는 것을 막고, 마지막 N byte 만 {@link ByteRingBuffer} 에 유지한다.
+ * listener 가 있을 경우 줄 단위로 전달하며, maxLineLength 를 넘는 줄은 UTF-8 문자 경계에서 잘라서 전달한다.
+ */
+@Slf4j
+public class ProcessOutputPump implements Runnable {
+
+    public enum Source {
+        STDOUT,
+        STDERR
+    }
+
+    @FunctionalInterface
+    public interface LineListener {
+        void onLine(Source source, String line);
+    }
+
+    private static final int READ_BUFFER_SIZE = 8192;
+
+    private final InputStream inputStream;
+    private final Source source;
+    private final ByteRingBuffer ringBuffer;
+    @Nullable
+    private final LineListener listener;
+    private final byte[] lineBuffer;
+    private int lineLength;
+    private boolean lineOverflow;
+
+    public ProcessOutputPump(
+            InputStream inputStream,
+            Source source,
+            int bufferSize,
+            int maxLineLength,
+            @Nullable LineListener listener) {
+        this.inputStream = inputStream;
+        this.source = source;
+        this.ringBuffer = new ByteRingBuffer(bufferSize);
+        this.listener = listener;
+        this.lineBuffer = listener != null ? new byte[Math.max(1, maxLineLength)] : new byte[0];
+    }
+
+    public ByteRingBuffer getRingBuffer() {
+        return ringBuffer;
+    }
+
+    @Override
+    public void run() {
+        byte[] readBuffer = new byte[READ_BUFFER_SIZE];
+        try (InputStream stream = inputStream) {
+            int read;
+            while ((read = stream.read(readBuffer)) != -1) {
+                ringBuffer.write(readBuffer, 0, read);
+                if (listener != null) {
+                    splitLines(readBuffer, read);
+                }
+            }
+            if (listener != null && (lineLength > 0 || lineOverflow)) {
+                flushLine();
+            }
+        }
+        catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    /**
+     * UTF-8 에서 '\n' 은 multibyte 문자 안에 나타나지 않으므로 byte 단위로 줄을 나눠도 안전하다.
+     */
+    private void splitLines(byte[] bytes, int length) {
+        for (int i = 0; i < length; i++) {
+            byte value = bytes[i];
+            if (value == '\n') {
+                flushLine();
+            }
+            else if (lineLength < lineBuffer.length) {
+                lineBuffer[lineLength++] = value;
+            }
+            else {
+                lineOverflow = true;
+            }
+        }
+    }
+
+    private void flushLine() {
+        int length = lineLength;
+        if (length > 0 && lineBuffer[length - 1] == '\r') {
+            length--;
+        }
+        if (lineOverflow) {
+            length = characterBoundary(lineBuffer, length);
+        }
+        String line = new String(lineBuffer, 0, length, StandardCharsets.UTF_8);
+        lineLength = 0;
+        lineOverflow = false;
+        try {
+            listener.onLine(source, line);
+        }
+        catch (RuntimeException exception) {
+            // listener 의 실패로 스트림 읽기가 멈추면 자식 프로세스가 다시 파이프에서 멈추게 되므로 로그만 남긴다.
+            log.warn("output listener failed source=[{}]", source, exception);
+        }
+    }
+
+    /**
+     * maxLineLength 에서 자른 줄이 multibyte 문자 중간에서 끝나지 않도록, 마지막 문자가 완성되지 않았다면 그 문자 앞에서 자른다.
+     *
+     * @return length 이하의 UTF-8 문자 경계
+     */
+    static int characterBoundary(byte[] bytes, int length) {
+        int start = length - 1;
+        // 마지막 문자의 시작 byte 를 찾는다. UTF-8 문자는 최대 4 byte
+        while (start > 0 && length - start < 4 && (bytes[start] & 0xC0) == 0x80) {
+            start--;
+        }
+        if (start < 0) {
+            return length;
+        }
+        int lead = bytes[start] & 0xFF;
+        int expected;
+        if (lead < 0x80) {
+            expected = 1;
+        }
+        else if ((lead & 0xE0) == 0xC0) {
+            expected = 2;
+        }
+        else if ((lead & 0xF0) == 0xE0) {
+            expected = 3;
+        }
+        else if ((lead & 0xF8) == 0xF0) {
+            expected = 4;
+        }
+        else {
+            // 올바른 UTF-8 이 아니라면 그대로 둔다.
+            return length;
+        }
+        return start + expected > length ? start : length;
+    }
+}
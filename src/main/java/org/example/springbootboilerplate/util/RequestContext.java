@@ -0,0 +1,116 @@
+package org.example.springbootboilerplate.util;
+
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+/**
+ * {@link RequestHolder} 의 header 를 다른 스레드 (executor, virtual thread, CompletableFuture 단계) 로 넘기기 위한 읽기 전용 snapshot.
+ * 작업을 넘기는 시점에 {@link #capture()} 하고 실행하는 스레드에서 {@link #restore()} 한 뒤, 끝나면 실행 전 상태로 되돌린다.
+ * header 가 없는 경우 공유 인스턴스를 사용하고 header Map 도 복사하지 않으므로 모든 작업을 감싸도 비용이 거의 없다.
+ *
+ * @Example <pre>
+ *     executor.execute(RequestContext.wrap(() -> feignClient.call()));
+ *
+ *     CompletableFuture.supplyAsync(this::load, RequestContext.wrap(executor));
+ * </pre>
+ */
+public final class RequestContext {
+
+    private static final RequestContext EMPTY = new RequestContext(null);
+
+    private final Map<String, String> headers;
+
+    private RequestContext(Map<String, String> headers) {
+        this.headers = headers;
+    }
+
+    /**
+     * 현재 스레드의 header snapshot, RequestHolder 가 비어있고 Servlet 요청 스레드라면 요청 header 를 사용.
+     * RequestHolder 의 Map 은 호출한 쪽이 계속 수정할 수 있으므로 이 시점에 복사한다.
+     */
+    public static RequestContext capture() {
+        Map<String, String> headers = RequestHolder.getRequestHeaders();
+        if (headers != null) {
+            return of(headers);
+        }
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes) {
+            return of(Util.getRequestHeaders());
+        }
+        return EMPTY;
+    }
+
+    public static RequestContext of(Map<String, String> headers) {
+        if (headers == null || headers.isEmpty()) {
+            return EMPTY;
+        }
+        if (headers instanceof HeaderSnapshot) {
+            return new RequestContext(headers);
+        }
+        return new RequestContext(Collections.unmodifiableMap(new HashMap<>(headers)));
+    }
+
+    public boolean isEmpty() {
+        return headers == null;
+    }
+
+    /**
+     * @return 읽기 전용 header Map, 없다면 빈 Map
+     */
+    public Map<String, String> getHeaders() {
+        return headers == null ? Collections.emptyMap() : headers;
+    }
+
+    /**
+     * 현재 스레드에 snapshot 을 설정, 반환된 Scope 를 close 하면 이전 상태로 되돌린다.
+     * 작업 안에서 {@link RequestHolder#getRequestHeaders()} 는 읽기 전용 snapshot 을 반환한다.
+     * pool 스레드에 이전 작업의 header 가 남아있더라도 이 snapshot 으로 덮어쓰거나 비우기 때문에 작업 사이에 header 가 섞이지 않는다.
+     */
+    public Scope restore() {
+        Map<String, String> previous = RequestHolder.getRequestHeaders();
+        if (previous == headers) {
+            return Scope.NOOP;
+        }
+        RequestHolder.restoreRequestHeaders(headers);
+        return () -> RequestHolder.restoreRequestHeaders(previous);
+    }
+
+    public static Runnable wrap(Runnable task) {
+        RequestContext context = capture();
+        return () -> {
+            try (Scope ignored = context.restore()) {
+                task.run();
+            }
+        };
+    }
+
+    public static <V> Callable<V> wrap(Callable<V> task) {
+        RequestContext context = capture();
+        return () -> {
+            try (Scope ignored = context.restore()) {
+                return task.call();
+            }
+        };
+    }
+
+    /**
+     * 넘겨받는 모든 작업을 {@link #wrap(Runnable)} 하는 Executor
+     */
+    public static Executor wrap(Executor executor) {
+        return command -> executor.execute(wrap(command));
+    }
+
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        Scope NOOP = () -> {
+        };
+
+        @Override
+        void close();
+    }
+}
@@ -4,19 +4,42 @@ import lombok.NoArgsConstructor;
 
 import java.util.Map;
 
+/**
+ * 현재 스레드의 요청 header 보관소.
+ * 넘겨받은 Map 을 그대로 보관하므로 다른 스레드로 넘길 때는 {@link RequestContext#capture()} 로 복사본을 만든다.
+ */
 @NoArgsConstructor
 public class RequestHolder {
     private final static ThreadLocal<Map<String, String>> requestHeaders = new ThreadLocal<>();
 
+    /**
+     * @return 설정한 header Map, 설정된 적 없다면 null
+     */
     public static Map<String, String> getRequestHeaders() {
         return requestHeaders.get();
     }
 
     public static void setRequestHeaders(Map<String, String> requestHeaders) {
+        if (requestHeaders == null) {
+            clearRequestHeaders();
+            return;
+        }
         RequestHolder.requestHeaders.set(requestHeaders);
     }
 
     public static void clearRequestHeaders() {
         requestHeaders.remove();
     }
+
+    /**
+     * 이미 읽기 전용인 snapshot 을 복사 없이 설정, null 이면 제거
+     */
+    static void restoreRequestHeaders(Map<String, String> snapshot) {
+        if (snapshot == null) {
+            requestHeaders.remove();
+        }
+        else {
+            requestHeaders.set(snapshot);
+        }
+    }
 }
@@ -0,0 +1,180 @@
+package org.example.springbootboilerplate.util;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * 같은 key 로 동시에 들어온 비동기 작업을 하나로 합쳐주는 유틸.
+ * 실행 중인 작업이 있다면 새로 실행하지 않고 같은 결과를 공유하며, resultTtl 이 0 보다 크면 완료된 결과를 잠시 재사용한다.
+ * 결과 값은 호출자 사이에서 공유되므로 변경하지 않아야 한다.
+ * 호출자마다 별도의 future 를 반환하므로 cancel 하면 그 호출자만 빠지고, 모든 호출자가 cancel 한 경우에만 실행 중인 작업을 취소한다.
+ *
+ * @param <K> 작업 key, equals / hashCode 가 구현되어 있어야 함
+ * @param <V> 작업 결과
+ */
+public class SingleFlight<K, V> {
+
+    /**
+     * 결과 cache 가 이 크기를 넘으면 만료된 항목을 정리한다.
+     */
+    private static final int RESULT_CACHE_CLEANUP_THRESHOLD = 1024;
+
+    private final Map<K, Flight<V>> inFlight = new ConcurrentHashMap<>();
+    private final Map<K, CachedResult<V>> results = new ConcurrentHashMap<>();
+    private final long resultTtlNanos;
+    private final Predicate<V> cacheable;
+
+    private final LongAdder executedCount = new LongAdder();
+    private final LongAdder coalescedCount = new LongAdder();
+    private final LongAdder cachedCount = new LongAdder();
+
+    /**
+     * @param resultTtl 완료된 결과를 재사용하는 시간, 0 이면 재사용하지 않음
+     * @param cacheable 재사용해도 되는 결과인지 판단 (실패한 결과는 재시도 할 수 있도록 보통 제외)
+     */
+    public SingleFlight(Duration resultTtl, Predicate<V> cacheable) {
+        this.resultTtlNanos = resultTtl.toNanos();
+        this.cacheable = cacheable;
+    }
+
+    public CompletableFuture<V> execute(K key, Supplier<CompletableFuture<V>> supplier) {
+        if (resultTtlNanos > 0) {
+            CachedResult<V> cached = results.get(key);
+            if (cached != null) {
+                if (cached.expireAtNanos - System.nanoTime() > 0) {
+                    cachedCount.increment();
+                    return CompletableFuture.completedFuture(cached.value);
+                }
+                results.remove(key, cached);
+            }
+        }
+
+        while (true) {
+            Flight<V> flight = new Flight<>();
+            Flight<V> existing = inFlight.putIfAbsent(key, flight);
+            if (existing != null) {
+                CompletableFuture<V> caller = existing.join();
+                if (caller != null) {
+                    coalescedCount.increment();
+                    return caller;
+                }
+                // 마지막 호출자가 막 cancel 한 실행이라면 새로 실행한다.
+                inFlight.remove(key, existing);
+                continue;
+            }
+
+            CompletableFuture<V> caller = flight.join();
+            executedCount.increment();
+            CompletableFuture<V> actual;
+            try {
+                actual = supplier.get();
+            }
+            catch (Throwable throwable) {
+                actual = CompletableFuture.failedFuture(throwable);
+            }
+            CompletableFuture<V> running = actual;
+            flight.start(running);
+            running.whenComplete((value, throwable) -> {
+                if (throwable == null && resultTtlNanos > 0 && cacheable.test(value)) {
+                    putResult(key, value);
+                }
+                inFlight.remove(key, flight);
+                if (throwable != null) {
+                    flight.shared.completeExceptionally(throwable);
+                }
+                else {
+                    flight.shared.complete(value);
+                }
+            });
+            return caller;
+        }
+    }
+
+    private void putResult(K key, V value) {
+        long now = System.nanoTime();
+        if (results.size() >= RESULT_CACHE_CLEANUP_THRESHOLD) {
+            results.values().removeIf(cached -> cached.expireAtNanos - now <= 0);
+        }
+        results.put(key, new CachedResult<>(value, now + resultTtlNanos));
+    }
+
+    public long getExecutedCount() {
+        return executedCount.sum();
+    }
+
+    public long getCoalescedCount() {
+        return coalescedCount.sum();
+    }
+
+    public long getCachedCount() {
+        return cachedCount.sum();
+    }
+
+    private static class CachedResult<V> {
+        private final V value;
+        private final long expireAtNanos;
+
+        private CachedResult(V value, long expireAtNanos) {
+            this.value = value;
+            this.expireAtNanos = expireAtNanos;
+        }
+    }
+
+    /**
+     * key 하나의 실행, 아직 cancel 하지 않은 호출자 수를 세어 마지막 호출자가 cancel 할 때 실행을 취소한다.
+     */
+    private static class Flight<V> {
+        private final CompletableFuture<V> shared = new CompletableFuture<>();
+        private CompletableFuture<V> running;
+        private int callers;
+        private boolean cancelled;
+
+        /**
+         * @return 호출자 전용 future, 모든 호출자가 cancel 해서 이미 취소된 실행이라면 null
+         */
+        private synchronized CompletableFuture<V> join() {
+            if (cancelled) {
+                return null;
+            }
+            callers++;
+            CompletableFuture<V> caller = new CompletableFuture<>();
+            shared.whenComplete((value, throwable) -> {
+                if (throwable != null) {
+                    caller.completeExceptionally(throwable);
+                }
+                else {
+                    caller.complete(value);
+                }
+            });
+            caller.whenComplete((value, throwable) -> {
+                if (caller.isCancelled()) {
+                    leave();
+                }
+            });
+            return caller;
+        }
+
+        private synchronized void start(CompletableFuture<V> running) {
+            this.running = running;
+        }
+
+        private void leave() {
+            CompletableFuture<V> toCancel = null;
+            synchronized (this) {
+                callers--;
+                if (callers == 0 && !shared.isDone()) {
+                    cancelled = true;
+                    toCancel = running;
+                }
+            }
+            if (toCancel != null) {
+                toCancel.cancel(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package org.example.springbootboilerplate.util;
+
+import jakarta.annotation.Nullable;
+
+import java.util.Optional;
+
+/**
+ * 여러 Collection 에서 추출한 값이 정확히 하나인지에 대한 결과.
+ * EMPTY: 추출된 값이 없음, SINGLE: 중복을 제외하면 하나의 값, AMBIGUOUS: 서로 다른 값이 두개 이상
+ *
+ * @param <T> 추출한 값
+ */
+public final class SingleValue<T> {
+
+    public enum State {
+        EMPTY,
+        SINGLE,
+        AMBIGUOUS
+    }
+
+    private static final SingleValue<?> EMPTY = new SingleValue<>(State.EMPTY, null, null);
+
+    private final State state;
+    private final T value;
+    private final T conflict;
+
+    private SingleValue(State state, @Nullable T value, @Nullable T conflict) {
+        this.state = state;
+        this.value = value;
+        this.conflict = conflict;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> SingleValue<T> empty() {
+        return (SingleValue<T>) EMPTY;
+    }
+
+    public static <T> SingleValue<T> single(T value) {
+        return new SingleValue<>(State.SINGLE, value, null);
+    }
+
+    /**
+     * @param value 처음 발견한 값
+     * @param conflict value 와 다른 것으로 처음 발견한 값
+     */
+    public static <T> SingleValue<T> ambiguous(T value, T conflict) {
+        return new SingleValue<>(State.AMBIGUOUS, value, conflict);
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public boolean isSingle() {
+        return state == State.SINGLE;
+    }
+
+    /**
+     * @return SINGLE 이면 그 값, AMBIGUOUS 라면 처음 발견한 값, EMPTY 라면 null
+     */
+    @Nullable
+    public T getValue() {
+        return value;
+    }
+
+    /**
+     * @return AMBIGUOUS 일 때 처음 값과 다른 값, 그 외에는 null
+     */
+    @Nullable
+    public T getConflict() {
+        return conflict;
+    }
+
+    /**
+     * @return SINGLE 일 때만 값이 있는 Optional
+     */
+    public Optional<T> toOptional() {
+        return isSingle() ? Optional.of(value) : Optional.empty();
+    }
+
+    @Override
+    public String toString() {
+        return switch (state) {
+            case EMPTY -> "SingleValue[EMPTY]";
+            case SINGLE -> "SingleValue[SINGLE " + value + "]";
+            case AMBIGUOUS -> "SingleValue[AMBIGUOUS " + value + ", " + conflict + "]";
+        };
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.springbootboilerplate.util;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 초당 ratePerSecond 개씩 채워지고 최대 capacity 개까지 쌓이는 token bucket.
+ * acquire 는 token 이 생길 때까지 호출 스레드를 재운다.
+ */
+public class TokenBucket {
+    private final long capacity;
+    private final double nanosPerToken;
+    private double tokens;
+    private long lastRefillNanos;
+
+    public TokenBucket(long capacity, double ratePerSecond) {
+        if (capacity <= 0 || ratePerSecond <= 0) {
+            throw new IllegalArgumentException("capacity and ratePerSecond must be positive");
+        }
+        this.capacity = capacity;
+        this.nanosPerToken = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        this.tokens = capacity;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    public void acquire() throws InterruptedException {
+        while (true) {
+            long waitNanos;
+            synchronized (this) {
+                refill();
+                if (tokens >= 1) {
+                    tokens -= 1;
+                    return;
+                }
+                waitNanos = (long) Math.ceil((1 - tokens) * nanosPerToken);
+            }
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    public synchronized boolean tryAcquire() {
+        refill();
+        if (tokens >= 1) {
+            tokens -= 1;
+            return true;
+        }
+        return false;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefillNanos) / nanosPerToken);
+        lastRefillNanos = now;
+    }
+}
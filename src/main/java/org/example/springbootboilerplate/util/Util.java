@@ -1,118 +1,302 @@
 package org.example.springbootboilerplate.util;
 
 import io.kubernetes.client.openapi.ApiClient;
-import io.kubernetes.client.util.Config;
 import jakarta.annotation.Nullable;
-import jakarta.servlet.http.HttpServletRequest;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.commons.lang3.tuple.Triple;
+import org.example.springbootboilerplate.service.K8SClientRegistry;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.io.IOException;
-import java.lang.reflect.Array;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
-import java.util.stream.Stream;
+import java.util.function.IntFunction;
 
 public class Util {
 
+    /**
+     * 요청당 한번 만든 {@link HeaderSnapshot} 을 저장하는 request attribute 이름
+     */
+    private static final String HEADER_SNAPSHOT_ATTRIBUTE = HeaderSnapshot.class.getName();
+
     /**
      * general 속성을 가진 Array 의 앞 뒤를 붙혀주는 Util 성 일급함수
      *
      * @param firstArray
      * @param secondArray
-     * @return T[] - 전달 받은 두 Array 를 순차대로 합친 결과
+     * @return T[] - 전달 받은 두 Array 를 순차대로 합친 결과, firstArray 와 같은 component type
      * @param <T>
      */
-    @SuppressWarnings("unchecked")
     public static <T> T[] concatArray(T[] firstArray, T[] secondArray) {
-        return Stream.concat(Arrays.stream(firstArray), Arrays.stream(secondArray)).toArray(size ->
-                (T[]) Array.newInstance(
-                        firstArray.getClass().getComponentType(), size));
+        T[] result = Arrays.copyOf(firstArray, firstArray.length + secondArray.length);
+        System.arraycopy(secondArray, 0, result, firstArray.length, secondArray.length);
+        return result;
     }
 
     /**
      * general 속성을 가진 Array list 를 하나로 합쳐주는 함수 (갯 수 제한 없음)
      * Array 들은 같은 타입이여야지만 성립됨
+     * 전체 길이를 먼저 계산해서 결과 배열 하나에 한번씩만 복사한다.
+     * <ul>
+     *     <li>다른 overload 와 같이 위치에 관계없이 null Array 는 무시</li>
+     *     <li>arrays 가 비어있거나 모두 null 이면 null 반환</li>
+     *     <li>null 이 아닌 Array 가 하나뿐이라면 복사하지 않고 그 Array 를 그대로 반환</li>
+     *     <li>결과의 component type 은 첫 Array 를 따름</li>
+     * </ul>
      * @param arrays
      * @return
      * @param <T>
      */
     @SafeVarargs
     public static <T> T[] concatAllArray(T[] ...arrays) {
-        T[] result = null;
+        int first = -1;
+        int count = 0;
+        int totalLength = 0;
+        for (int i = 0; i < arrays.length; i++) {
+            T[] array = arrays[i];
+            if (array == null) {
+                continue;
+            }
+            if (first < 0) {
+                first = i;
+            }
+            count++;
+            totalLength = Math.addExact(totalLength, array.length);
+        }
+        if (first < 0) {
+            return null;
+        }
+        if (count == 1) {
+            return arrays[first];
+        }
+
+        T[] result = Arrays.copyOf(arrays[first], totalLength);
+        int position = arrays[first].length;
+        for (int i = first + 1; i < arrays.length; i++) {
+            if (arrays[i] != null) {
+                System.arraycopy(arrays[i], 0, result, position, arrays[i].length);
+                position += arrays[i].length;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Array 들을 하나의 Array 로 합치는 함수, component type 을 generator 로 받기 때문에 reflection 없이 배열을 만든다.
+     * null Array 는 위치에 관계없이 무시하고, 하나뿐이어도 항상 새 Array 를 반환한다.
+     *
+     * @param arrays 합칠 Array 목록
+     * @param generator 결과 배열 생성 함수 (ex. {@code String[]::new})
+     * @return 합쳐진 새 Array, arrays 가 비어있다면 길이 0 Array
+     */
+    public static <T> T[] concatAllArray(Collection<T[]> arrays, IntFunction<T[]> generator) {
+        int totalLength = 0;
         for (T[] array : arrays) {
-            if (Objects.isNull(result)) {
-                result = array;
+            if (array != null) {
+                totalLength = Math.addExact(totalLength, array.length);
             }
-            else {
-                result = concatArray(result, array);
+        }
+        T[] result = generator.apply(totalLength);
+        int position = 0;
+        for (T[] array : arrays) {
+            if (array != null) {
+                System.arraycopy(array, 0, result, position, array.length);
+                position += array.length;
             }
         }
         return result;
     }
 
     /**
-     * 특정 kubeConfig 를 읽고 싶을 때, path 를 입력받아 사용, null 일 경우 defaultClient 사용
-//     * @param kubeConfigPath kubeConfig path
-     * @return ApiClient - K8S Api Client
-     * @throws IOException
+     * Array 들을 순서대로 하나의 List 로 합치는 함수, 전체 크기로 한번만 할당한다. null Array 는 무시한다.
+     *
+     * @param arrays
+     * @return {@link List} < {@link T} > 수정 가능한 ArrayList
      */
-    public static ApiClient getK8SAPIClient(@Nullable String kubeConfigPath) throws IOException {
-        try {
-            if (Objects.nonNull(kubeConfigPath)) {
-                return Config.fromConfig(kubeConfigPath);
+    @SafeVarargs
+    public static <T> List<T> concatAllList(T[]... arrays) {
+        int totalLength = 0;
+        for (T[] array : arrays) {
+            if (array != null) {
+                totalLength = Math.addExact(totalLength, array.length);
             }
-            else {
-                return Config.defaultClient();
+        }
+        List<T> result = new ArrayList<>(totalLength);
+        for (T[] array : arrays) {
+            if (array != null) {
+                Collections.addAll(result, array);
             }
         }
-        catch (Exception exception) {
-            return Config.defaultClient();
+        return result;
+    }
+
+    /**
+     * int Array 들을 하나로 합쳐주는 함수, boxing 없이 복사한다. null Array 는 무시한다.
+     */
+    public static int[] concatAllArray(int[]... arrays) {
+        int totalLength = 0;
+        for (int[] array : arrays) {
+            if (array != null) {
+                totalLength = Math.addExact(totalLength, array.length);
+            }
+        }
+        int[] result = new int[totalLength];
+        int position = 0;
+        for (int[] array : arrays) {
+            if (array != null) {
+                System.arraycopy(array, 0, result, position, array.length);
+                position += array.length;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * long Array 들을 하나로 합쳐주는 함수, boxing 없이 복사한다. null Array 는 무시한다.
+     */
+    public static long[] concatAllArray(long[]... arrays) {
+        int totalLength = 0;
+        for (long[] array : arrays) {
+            if (array != null) {
+                totalLength = Math.addExact(totalLength, array.length);
+            }
+        }
+        long[] result = new long[totalLength];
+        int position = 0;
+        for (long[] array : arrays) {
+            if (array != null) {
+                System.arraycopy(array, 0, result, position, array.length);
+                position += array.length;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * byte Array 들을 하나로 합쳐주는 함수, null Array 는 무시한다.
+     */
+    public static byte[] concatAllArray(byte[]... arrays) {
+        int totalLength = 0;
+        for (byte[] array : arrays) {
+            if (array != null) {
+                totalLength = Math.addExact(totalLength, array.length);
+            }
+        }
+        byte[] result = new byte[totalLength];
+        int position = 0;
+        for (byte[] array : arrays) {
+            if (array != null) {
+                System.arraycopy(array, 0, result, position, array.length);
+                position += array.length;
+            }
         }
+        return result;
+    }
+
+    /**
+     * 특정 kubeConfig 를 읽고 싶을 때, path 를 입력받아 사용
+     *
+     * @param kubeConfigPath kubeConfig path, null 일 경우 $KUBECONFIG, ${HOME}/.kube/config 순서로 찾는다.
+     * @return ApiClient - kubeConfig 별로 공유되는 K8S Api Client
+     * @throws IOException kubeConfig 를 읽거나 해석하지 못한 경우, defaultClient 로 대체하지 않는다.
+     * @deprecated 매번 새로 만들지 않고 {@link K8SClientRegistry} 가 캐싱한 client 를 반환한다. {@link K8SClientRegistry} 를 주입받아 사용.
+     */
+    @Deprecated
+    public static ApiClient getK8SAPIClient(@Nullable String kubeConfigPath) throws IOException {
+        return K8SClientRegistry.shared().getClient(kubeConfigPath);
     }
 
+    /**
+     * @implNote content-length header 를 제외한 header Map 반환, 전달받은 Map 은 변경하지 않음.
+     *
+     * @param requestHeader 원본 header
+     * @return content-length 가 없다면 원본 그대로, 있다면 content-length 만 뺀 복사본
+     */
     public static Map<String, Collection<String>> allowResolveHeader (Map<String, Collection<String>> requestHeader) {
-        Set<String> keys = requestHeader.keySet();
-        if (
-                keys.contains(HttpHeaders.CONTENT_LENGTH.toLowerCase())) {
-            requestHeader.remove(HttpHeaders.CONTENT_LENGTH.toLowerCase());
+        boolean hasContentLength = false;
+        for (String key : requestHeader.keySet()) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(key)) {
+                hasContentLength = true;
+                break;
+            }
         }
-        return requestHeader;
+        if (!hasContentLength) {
+            return requestHeader;
+        }
+        Map<String, Collection<String>> resolved = new LinkedHashMap<>(requestHeader);
+        resolved.keySet().removeIf(HttpHeaders.CONTENT_LENGTH::equalsIgnoreCase);
+        return resolved;
     }
 
     public static Resource stringToResource (String value) {
         return new ByteArrayResource(value.getBytes());
     }
 
+    /**
+     * @implNote <p>
+     *     현재 요청의 header 를 대소문자 구분 없이 조회할 수 있는 읽기 전용 Map 으로 반환.<br/>
+     *     요청당 한번만 header 를 복사하고 request attribute 에 저장해 같은 요청 안에서 다시 호출하면 그대로 재사용.<br/>
+     *     요청 스레드가 아니라면 {@link RequestHolder} 의 header 를 반환.
+     * </p>
+     *
+     * @return {@link HeaderSnapshot}, 요청 스레드가 아니고 RequestHolder 도 비어있다면 null
+     */
     public static Map<String, String> getRequestHeaders() {
-        ServletRequestAttributes requestAttributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+        ServletRequestAttributes requestAttributes = currentRequestAttributes();
         if (requestAttributes != null) {
-            HttpServletRequest request = requestAttributes.getRequest();
-            Enumeration<String> headers = request.getHeaderNames();
-            Map<String, String> headersMap = new HashMap<String, String>();
-            while (headers.hasMoreElements()) {
-                String key = headers.nextElement();
-                headersMap.put(key, request.getHeader(key));
+            HeaderSnapshot snapshot = (HeaderSnapshot) requestAttributes.getAttribute(
+                    HEADER_SNAPSHOT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            if (snapshot == null) {
+                snapshot = HeaderSnapshot.from(requestAttributes.getRequest());
+                requestAttributes.setAttribute(HEADER_SNAPSHOT_ATTRIBUTE, snapshot, RequestAttributes.SCOPE_REQUEST);
             }
-            return headersMap;
+            return snapshot;
         }
         else {
             return RequestHolder.getRequestHeaders();
         }
     }
+
+    /**
+     * @implNote <p>
+     *     allowList 에 있는 header 만 담은 읽기 전용 Map 반환, 전달할 header 만 필요할 때 사용.<br/>
+     *     이미 요청의 전체 snapshot 이 있다면 거기서 고르고, 없다면 전체 header 를 읽지 않고 allowList 의 header 만 읽음.
+     * </p>
+     *
+     * @param allowList header 이름, 대소문자 구분 없음
+     * @return {@link HeaderSnapshot}, header 가 없다면 빈 Map
+     */
+    public static Map<String, String> getRequestHeaders(Collection<String> allowList) {
+        ServletRequestAttributes requestAttributes = currentRequestAttributes();
+        if (requestAttributes != null) {
+            HeaderSnapshot snapshot = (HeaderSnapshot) requestAttributes.getAttribute(
+                    HEADER_SNAPSHOT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            return snapshot != null
+                    ? snapshot.filter(allowList)
+                    : HeaderSnapshot.from(requestAttributes.getRequest(), allowList);
+        }
+        return HeaderSnapshot.of(RequestHolder.getRequestHeaders()).filter(allowList);
+    }
+
+    private static ServletRequestAttributes currentRequestAttributes() {
+        return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes servletRequestAttributes
+                ? servletRequestAttributes
+                : null;
+    }
+
     /**
      * @implNote <p>
      *     pair 의 left 값이 Collection 이여야하고 right 값은 left Collection 값의 제너릭 타입을 같은 타입으로 가져야함.<br/>
      *     right Function 의 경우 left Collection 내부의 값을 추출 할 수 있는 Function 으로 구성해줘야 정확한 하나의 값을 얻을 수 있음.<br/>
      *     정확한 값으로 선언 및 사용했다면, Collection 에서 특정한 T class 의 중복 값이 하나도 없는 순수 하나의 객체와 그 값을 얻을 있음.<br/>
-     *     만약 추출된 결과가 2개 이상 혹은 없다면 null 을 반환. - Collection 에서 특정 값 추출 및 중복 제거를 통한 하나의 객체 반환이 목적이기 때문
+     *     만약 추출된 결과가 2개 이상 혹은 없다면 null 을 반환. - Collection 에서 특정 값 추출 및 중복 제거를 통한 하나의 객체 반환이 목적이기 때문<br/>
+     *     없는 경우와 2개 이상인 경우를 구분해야 한다면 {@link #findSingleDataByCollections} 를 사용.
      * </p>
      *
      * @Example <pre>
@@ -167,26 +351,92 @@ public class Util {
      */
     @SafeVarargs
     public static <T> T getSingleDataByCollections(Pair<?, Function<?, T>>... pairs) {
-        try {
-            if (pairs == null || pairs.length == 0) {
-                return null;
+        SingleValue<T> result = findSingleDataByCollections(pairs);
+        return result.isSingle() ? result.getValue() : null;
+    }
+
+    /**
+     * @implNote <p>
+     *     {@link #getSingleDataByCollections} 와 같은 규칙으로 값을 찾지만 중간 Set 을 만들지 않고 처음 발견한 값만 기억함.<br/>
+     *     처음 값과 다른 값을 발견하는 즉시 탐색을 멈추고 AMBIGUOUS 를 반환하며, 추출된 값이 하나도 없다면 EMPTY 를 반환.<br/>
+     *     left 가 null 인 pair 는 빈 Collection 으로 취급하고, right Function 에서 발생한 예외는 그대로 전달.
+     * </p>
+     *
+     * @param pairs {@link Pair} left: {@link Collection}, right: {@link Function}
+     * @return {@link SingleValue} < {@link T} >
+     */
+    @SafeVarargs
+    public static <T> SingleValue<T> findSingleDataByCollections(Pair<?, Function<?, T>>... pairs) {
+        return findSingleDataByCollections(false, pairs);
+    }
+
+    /**
+     * @param parallel true 라면 각 Collection 을 parallel stream 으로 탐색, 아주 큰 Collection 에서만 의미가 있음
+     * @param pairs {@link Pair} left: {@link Collection}, right: {@link Function}
+     * @return {@link SingleValue} < {@link T} >
+     * @see #findSingleDataByCollections(Pair[])
+     */
+    @SafeVarargs
+    public static <T> SingleValue<T> findSingleDataByCollections(boolean parallel, Pair<?, Function<?, T>>... pairs) {
+        if (pairs == null || pairs.length == 0) {
+            return SingleValue.empty();
+        }
+        if (parallel) {
+            return findSingleDataInParallel(pairs);
+        }
+        T first = null;
+        for (Pair<?, Function<?, T>> pair : pairs) {
+            if (pair == null || pair.getLeft() == null) {
+                continue;
             }
-            Set<T> set = new HashSet<>();
-            for (Pair<?, Function<?, T>> pair : pairs) {
-                Collection<?> collection = (Collection<?>) pair.getLeft();
-                @SuppressWarnings("unchecked")
-                Function<Object, T> function = (Function<Object, T>) pair.getRight();
-                set.addAll(collection.stream()
-                        .filter(Objects::nonNull)
-                        .map(function)
-                        .filter(Objects::nonNull)
-                        .collect(Collectors.toSet()));
+            Collection<?> collection = (Collection<?>) pair.getLeft();
+            @SuppressWarnings("unchecked")
+            Function<Object, T> function = (Function<Object, T>) pair.getRight();
+            for (Object element : collection) {
+                if (element == null) {
+                    continue;
+                }
+                T value = function.apply(element);
+                if (value == null) {
+                    continue;
+                }
+                if (first == null) {
+                    first = value;
+                }
+                else if (!first.equals(value)) {
+                    return SingleValue.ambiguous(first, value);
+                }
             }
-            return set.size() == 1 ? set.iterator().next() : null;
         }
-        catch (Exception e) {
-            return null;
+        return first == null ? SingleValue.empty() : SingleValue.single(first);
+    }
+
+    private static <T> SingleValue<T> findSingleDataInParallel(Pair<?, Function<?, T>>[] pairs) {
+        AtomicReference<T> first = new AtomicReference<>();
+        AtomicReference<T> conflict = new AtomicReference<>();
+        for (Pair<?, Function<?, T>> pair : pairs) {
+            if (pair == null || pair.getLeft() == null) {
+                continue;
+            }
+            Collection<?> collection = (Collection<?>) pair.getLeft();
+            @SuppressWarnings("unchecked")
+            Function<Object, T> function = (Function<Object, T>) pair.getRight();
+            boolean mismatch = collection.parallelStream()
+                    .filter(Objects::nonNull)
+                    .map(function)
+                    .filter(Objects::nonNull)
+                    .anyMatch(value -> {
+                        if (first.compareAndSet(null, value) || first.get().equals(value)) {
+                            return false;
+                        }
+                        conflict.compareAndSet(null, value);
+                        return true;
+                    });
+            if (mismatch) {
+                return SingleValue.ambiguous(first.get(), conflict.get());
+            }
         }
+        return first.get() == null ? SingleValue.empty() : SingleValue.single(first.get());
     }
 
     /**
@@ -243,22 +493,8 @@ public class Util {
         if (collection == null || collection.isEmpty()) {
             return Pair.of(new ArrayList<>(), new ArrayList<>());
         }
-        return collection.stream().reduce(
-                Pair.of(new ArrayList<>(), new ArrayList<>()),
-                (pre, t) -> {
-                    if (getFlag.apply(t).equals(flag)) {
-                        pre.getLeft().add(t);
-                    } else {
-                        pre.getRight().add(t);
-                    }
-                    return pre;
-                },
-                (pre, curr) -> {
-                    pre.getLeft().addAll(curr.getLeft());
-                    pre.getRight().addAll(curr.getRight());
-                    return pre;
-                }
-        );
+        List<List<T>> buckets = Partitioner.partition(collection, getFlag, flag);
+        return Pair.of(buckets.get(0), buckets.get(1));
     }
 
     /**
@@ -285,23 +521,10 @@ public class Util {
         if (collection == null || collection.isEmpty()) {
             return Pair.of(new ArrayList<>(), new ArrayList<>());
         }
-        return collection.stream().reduce(
-                Pair.of(new ArrayList<>(), new ArrayList<>()),
-                (pre, t) -> {
-                    if (getFlag.apply(t).equals(flag)) {
-                        pre.getLeft().add(t);
-                    }
-                    if (getFlag.apply(t).equals(otherFlag)) {
-                        pre.getRight().add(t);
-                    }
-                    return pre;
-                },
-                (pre, curr) -> {
-                    pre.getLeft().addAll(curr.getLeft());
-                    pre.getRight().addAll(curr.getRight());
-                    return pre;
-                }
-        );
+        List<List<T>> buckets = Partitioner.partition(collection, getFlag, flag, otherFlag);
+        // flag 와 otherFlag 가 같다면 기존처럼 양쪽 모두에 들어가야 함
+        List<T> right = Objects.equals(flag, otherFlag) ? new ArrayList<>(buckets.get(0)) : buckets.get(1);
+        return Pair.of(buckets.get(0), right);
     }
 
     /**
@@ -376,44 +599,13 @@ public class Util {
             return Triple.of(new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
         }
 
-        return collection.stream().reduce(
-                Triple.of(new ArrayList<>(), new ArrayList<>(), new ArrayList<>()),
-                (pre, t) -> {
-                    if (flag.length == 3) {
-                        if (getFlag.apply(t).equals(flag[0])) {
-                            pre.getLeft().add(t);
-                        } else if (getFlag.apply(t).equals(flag[1])) {
-                            pre.getMiddle().add(t);
-                        } else if (getFlag.apply(t).equals(flag[2])) {
-                            pre.getRight().add(t);
-                        }
-                    }
-                    else if (flag.length == 2) {
-                        if (getFlag.apply(t).equals(flag[0])) {
-                            pre.getLeft().add(t);
-                        } else if (getFlag.apply(t).equals(flag[1])) {
-                            pre.getMiddle().add(t);
-                        } else {
-                            pre.getRight().add(t);
-                        }
-                    }
-                    else {
-                        if (getFlag.apply(t).equals(flag[0])) {
-                            pre.getLeft().add(t);
-                        } else  {
-                            pre.getMiddle().add(t);
-                            pre.getRight().add(t);
-                        }
-                    }
-                    return pre;
-                },
-                (pre, curr) -> {
-                    pre.getLeft().addAll(curr.getLeft());
-                    pre.getMiddle().addAll(curr.getMiddle());
-                    pre.getRight().addAll(curr.getRight());
-                    return pre;
-                }
-        );
+        List<List<T>> buckets = Partitioner.partition(collection, getFlag, flag);
+        if (flag.length > 1) {
+            // flag 가 셋이라면 어떤 flag 와도 맞지 않는 마지막 bucket 은 버려지고, 둘이라면 Right 가 됨
+            return Triple.of(buckets.get(0), buckets.get(1), buckets.get(2));
+        }
+        // flag 가 하나라면 일치하지 않는 값은 Middle, Right 모두에 들어감
+        return Triple.of(buckets.get(0), buckets.get(1), new ArrayList<>(buckets.get(1)));
     }
 
     public static <T, V, Y> Pair<List<V>, List<Y>> getPairListByFunctions(
@@ -425,23 +617,12 @@ public class Util {
         if (collection == null || collection.isEmpty()) {
             return Pair.of(new ArrayList<>(), new ArrayList<>());
         }
-        return collection.stream().reduce(
-                Pair.of(new ArrayList<>(), new ArrayList<>()),
-                (pre, t) -> {
-                    pre.getLeft().add(getLeft.apply(t));
-                    pre.getRight().add(getRight.apply(t));
-                    return pre;
-                },
-                (pre, curr) -> {
-                    pre.getLeft().addAll(curr.getLeft());
-                    pre.getRight().addAll(curr.getRight());
-                    return pre;
-                }
-        );
+        return ZipView.map(collection, getLeft, getRight).unzip();
     }
 
     /**
-     * @implNote 하나의 Collection 에서 두 함수를 이용해 각 함수의 결과를 Pair 로 갖는 List 값을 반환
+     * @implNote 하나의 Collection 에서 두 함수를 이용해 각 함수의 결과를 Pair 로 갖는 List 값을 반환<br/>
+     *     결과를 한번만 순회한다면 Pair List 를 만들지 않는 {@link ZipView#map} 을 사용.
      *
      * @param collection {@code Collection}
      * @param getLeft {@code Function<T, V>}
@@ -460,13 +641,12 @@ public class Util {
         if (collection == null || collection.isEmpty()) {
             return new ArrayList<>();
         }
-        return collection.stream().map(
-                t -> Pair.of(getLeft.apply(t), getRight.apply(t))
-        ).toList();
+        return ZipView.map(collection, getLeft, getRight).toList();
     }
 
     /**
-     * @implNote 두 사이즈가 같은 리스트를 하나의 리스트 안에 각각 Pair 값으로 존재하게끔 만들어주는 메소드, 하나의 {@code List<Pair<T, V>>} 반환
+     * @implNote 두 사이즈가 같은 리스트를 하나의 리스트 안에 각각 Pair 값으로 존재하게끔 만들어주는 메소드, 하나의 {@code List<Pair<T, V>>} 반환<br/>
+     *     결과를 한번만 순회한다면 Pair List 를 만들지 않는 {@link ZipView#of} 를 사용.
      *
      * @param tCollection {@code List<T>}
      * @param vCollection {@code List<V>}
@@ -481,17 +661,16 @@ public class Util {
         if (tCollection.size() != vCollection.size()) {
             return new ArrayList<>();
         }
-        return IntStream.range(0, tCollection.size())
-                .mapToObj(i -> Pair.of(tCollection.get(i), vCollection.get(i)))
-                .toList();
+        return ZipView.of(tCollection, vCollection).toList();
     }
 
     /**
-     * @implNote 두 사이즈가 같은 Collection 을 하나의 List 안에 각각 Pair 값으로 존재하게끔 만들어주는 메소드, 하나의 {@code List<Pair<T, V>>} 반환
+     * @implNote 두 사이즈가 같은 Collection 을 하나의 List 안에 각각 Pair 값으로 존재하게끔 만들어주는 메소드, 하나의 {@code List<Pair<T, V>>} 반환<br/>
+     *     결과를 한번만 순회한다면 Pair List 를 만들지 않는 {@link ZipView#of} 를 사용.
      *
      * @param tCollection {@code List<T>}
      * @param vCollection {@code List<V>}
-     * @return {@code List<Pair<T, V>>}
+     * @return {@code List<Pair<T, V>>}, 사이즈가 다르거나 순회 도중 한쪽이 먼저 끝나면 빈 List
      * @param <T> 반환 {@code List<Pair<T, V>>} 의 Pair 의 Left 제너릭타입
      * @param <V> 반환 {@code List<Pair<T, V>>} 의 Pair 의 Right 제너릭타입
      */
@@ -499,18 +678,12 @@ public class Util {
         if (tCollection == null || tCollection.isEmpty() || vCollection == null || vCollection.isEmpty()) {
             return new ArrayList<>();
         }
-        if (tCollection.size() != vCollection.size()) {
-            return new ArrayList<>();
-        }
-        Iterator<T> titerator = tCollection.iterator();
-        Iterator<V> viterator = vCollection.iterator();
-        try {
-            return IntStream.range(0, tCollection.size())
-                    .mapToObj(i -> Pair.of(titerator.next(), viterator.next()))
-                    .toList();
-        }
-        catch (NoSuchElementException e) {
+        int size = tCollection.size();
+        if (size != vCollection.size()) {
             return new ArrayList<>();
         }
+        // ZipView 는 짧은 쪽에서 멈추므로, size() 와 실제 요소 수가 다르면 일부만 짝짓지 않고 빈 List 반환
+        List<Pair<T, V>> pairs = ZipView.of(tCollection, vCollection).toList();
+        return pairs.size() == size ? pairs : new ArrayList<>();
     }
 }
@@ -0,0 +1,325 @@
+package org.example.springbootboilerplate.util;
+
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 두 값을 짝지은 결과를 미리 List 로 만들지 않고 필요할 때 만들어주는 lazy view.
+ * {@link #forEach(BiConsumer)} 는 Pair 를 만들지 않으며, {@link #stream()} / {@link #iterator()} 는 요소 하나를 꺼낼 때 Pair 하나를 만든다.
+ * 원본 Collection 을 복사하지 않으므로 view 를 사용하는 동안 원본이 변경되지 않아야 한다.
+ *
+ * @Example <pre>
+ *     ZipView.of(spaceIds, quotas).forEach((spaceId, quota) -> patch(spaceId, quota));
+ *
+ *     Map < String, String > namespaceBySpaceId = ZipView.map(spaces, Space::getId, Space::getNamespace)
+ *          .parallelStream()
+ *          .collect(Collectors.toMap(Pair::getLeft, Pair::getRight));
+ * </pre>
+ *
+ * @param <A> left 값
+ * @param <B> right 값
+ */
+public abstract class ZipView<A, B> implements Iterable<Pair<A, B>> {
+
+    private ZipView() {
+    }
+
+    /**
+     * 사이즈가 같은 두 List 를 index 기준으로 짝지음, RandomAccess List 라면 parallel stream 에서 index 범위로 나뉜다.
+     *
+     * @throws IllegalArgumentException 두 List 의 사이즈가 다른 경우
+     */
+    public static <A, B> ZipView<A, B> of(List<A> left, List<B> right) {
+        requireSameSize(left.size(), right.size());
+        if (left instanceof RandomAccess && right instanceof RandomAccess) {
+            return new IndexedZip<>(left, right);
+        }
+        return new IteratorZip<>(left, right);
+    }
+
+    /**
+     * 사이즈가 같은 두 Collection 을 iterator 순서대로 짝지음.
+     *
+     * @throws IllegalArgumentException 두 Collection 의 사이즈가 다른 경우
+     */
+    public static <A, B> ZipView<A, B> of(Collection<A> left, Collection<B> right) {
+        if (left instanceof List<A> leftList && right instanceof List<B> rightList) {
+            return of(leftList, rightList);
+        }
+        requireSameSize(left.size(), right.size());
+        return new IteratorZip<>(left, right);
+    }
+
+    /**
+     * 하나의 Collection 의 각 요소에 두 함수를 적용한 결과를 짝지음, 함수는 요소를 꺼낼 때마다 호출된다.
+     */
+    public static <T, A, B> ZipView<A, B> map(
+            Collection<T> collection,
+            Function<? super T, ? extends A> getLeft,
+            Function<? super T, ? extends B> getRight) {
+        return new MappedZip<>(collection, getLeft, getRight);
+    }
+
+    public abstract int size();
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Pair 를 만들지 않고 순서대로 두 값을 전달
+     */
+    public abstract void forEach(BiConsumer<? super A, ? super B> action);
+
+    @Override
+    public Iterator<Pair<A, B>> iterator() {
+        return Spliterators.iterator(spliterator());
+    }
+
+    public Stream<Pair<A, B>> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    public Stream<Pair<A, B>> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * @return 수정할 수 없는 {@code List<Pair<A, B>>}, 모든 Pair 를 한번에 만든다
+     */
+    public List<Pair<A, B>> toList() {
+        List<Pair<A, B>> list = new ArrayList<>(size());
+        forEach((left, right) -> list.add(Pair.of(left, right)));
+        return Collections.unmodifiableList(list);
+    }
+
+    /**
+     * Pair 없이 left / right 를 각각의 List 로 나눠 담은 struct-of-arrays 형태로 반환
+     *
+     * @return {@link Pair} < left {@link List}, right {@link List} >, 두 List 모두 수정 가능
+     */
+    public Pair<List<A>, List<B>> unzip() {
+        List<A> lefts = new ArrayList<>(size());
+        List<B> rights = new ArrayList<>(size());
+        forEach((left, right) -> {
+            lefts.add(left);
+            rights.add(right);
+        });
+        return Pair.of(lefts, rights);
+    }
+
+    private static void requireSameSize(int leftSize, int rightSize) {
+        if (leftSize != rightSize) {
+            throw new IllegalArgumentException("zip size mismatch left=[" + leftSize + "] right=[" + rightSize + "]");
+        }
+    }
+
+    private static final class IndexedZip<A, B> extends ZipView<A, B> {
+        private final List<A> left;
+        private final List<B> right;
+
+        private IndexedZip(List<A> left, List<B> right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public int size() {
+            return left.size();
+        }
+
+        @Override
+        public void forEach(BiConsumer<? super A, ? super B> action) {
+            for (int i = 0, size = left.size(); i < size; i++) {
+                action.accept(left.get(i), right.get(i));
+            }
+        }
+
+        @Override
+        public Spliterator<Pair<A, B>> spliterator() {
+            return new IndexedSpliterator<>(left, right, 0, left.size());
+        }
+    }
+
+    /**
+     * [origin, fence) 범위의 index 를 담당하며 절반씩 나눠지는 Spliterator
+     */
+    private static final class IndexedSpliterator<A, B> implements Spliterator<Pair<A, B>> {
+        private final List<A> left;
+        private final List<B> right;
+        private int origin;
+        private final int fence;
+
+        private IndexedSpliterator(List<A> left, List<B> right, int origin, int fence) {
+            this.left = left;
+            this.right = right;
+            this.origin = origin;
+            this.fence = fence;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Pair<A, B>> action) {
+            if (origin >= fence) {
+                return false;
+            }
+            action.accept(Pair.of(left.get(origin), right.get(origin)));
+            origin++;
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Pair<A, B>> action) {
+            for (int i = origin; i < fence; i++) {
+                action.accept(Pair.of(left.get(i), right.get(i)));
+            }
+            origin = fence;
+        }
+
+        @Override
+        public Spliterator<Pair<A, B>> trySplit() {
+            int middle = (origin + fence) >>> 1;
+            if (middle <= origin) {
+                return null;
+            }
+            IndexedSpliterator<A, B> prefix = new IndexedSpliterator<>(left, right, origin, middle);
+            origin = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - origin;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL;
+        }
+    }
+
+    private static final class IteratorZip<A, B> extends ZipView<A, B> {
+        private final Collection<A> left;
+        private final Collection<B> right;
+
+        private IteratorZip(Collection<A> left, Collection<B> right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public int size() {
+            return left.size();
+        }
+
+        @Override
+        public void forEach(BiConsumer<? super A, ? super B> action) {
+            Iterator<A> leftIterator = left.iterator();
+            Iterator<B> rightIterator = right.iterator();
+            while (leftIterator.hasNext() && rightIterator.hasNext()) {
+                action.accept(leftIterator.next(), rightIterator.next());
+            }
+        }
+
+        @Override
+        public Spliterator<Pair<A, B>> spliterator() {
+            Iterator<A> leftIterator = left.iterator();
+            Iterator<B> rightIterator = right.iterator();
+            Iterator<Pair<A, B>> iterator = new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return leftIterator.hasNext() && rightIterator.hasNext();
+                }
+
+                @Override
+                public Pair<A, B> next() {
+                    return Pair.of(leftIterator.next(), rightIterator.next());
+                }
+            };
+            // 순차 iterator 는 index 로 나눌 수 없으므로 batch 단위로 나눠지는 기본 Spliterator 를 사용
+            return Spliterators.spliterator(iterator, left.size(), Spliterator.ORDERED | Spliterator.NONNULL);
+        }
+    }
+
+    private static final class MappedZip<T, A, B> extends ZipView<A, B> {
+        private final Collection<T> collection;
+        private final Function<? super T, ? extends A> getLeft;
+        private final Function<? super T, ? extends B> getRight;
+
+        private MappedZip(
+                Collection<T> collection,
+                Function<? super T, ? extends A> getLeft,
+                Function<? super T, ? extends B> getRight) {
+            this.collection = collection;
+            this.getLeft = getLeft;
+            this.getRight = getRight;
+        }
+
+        @Override
+        public int size() {
+            return collection.size();
+        }
+
+        @Override
+        public void forEach(BiConsumer<? super A, ? super B> action) {
+            for (T t : collection) {
+                action.accept(getLeft.apply(t), getRight.apply(t));
+            }
+        }
+
+        @Override
+        public Spliterator<Pair<A, B>> spliterator() {
+            return new MappedSpliterator<>(collection.spliterator(), getLeft, getRight);
+        }
+    }
+
+    /**
+     * 원본 Collection 의 Spliterator 를 그대로 나누면서 요소를 꺼낼 때 Pair 로 변환
+     */
+    private static final class MappedSpliterator<T, A, B> implements Spliterator<Pair<A, B>> {
+        private final Spliterator<T> source;
+        private final Function<? super T, ? extends A> getLeft;
+        private final Function<? super T, ? extends B> getRight;
+
+        private MappedSpliterator(
+                Spliterator<T> source,
+                Function<? super T, ? extends A> getLeft,
+                Function<? super T, ? extends B> getRight) {
+            this.source = source;
+            this.getLeft = getLeft;
+            this.getRight = getRight;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Pair<A, B>> action) {
+            return source.tryAdvance(t -> action.accept(Pair.of(getLeft.apply(t), getRight.apply(t))));
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Pair<A, B>> action) {
+            source.forEachRemaining(t -> action.accept(Pair.of(getLeft.apply(t), getRight.apply(t))));
+        }
+
+        @Override
+        public Spliterator<Pair<A, B>> trySplit() {
+            Spliterator<T> prefix = source.trySplit();
+            return prefix == null ? null : new MappedSpliterator<>(prefix, getLeft, getRight);
+        }
+
+        @Override
+        public long estimateSize() {
+            return source.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            int characteristics = source.characteristics() & (ORDERED | SIZED | SUBSIZED);
+            return characteristics | NONNULL;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+-- ProvisioningJobRecorder 가 JDBC 로 직접 저장하므로 컬럼 이름을 바꾸면 recorder 의 SQL 도 함께 바꿔야 한다.
+-- 파일 / 외부 DB 에서도 매 시작 시 실행되므로 이미 있는 테이블 / 인덱스는 그대로 둔다.
+
+create table if not exists provisioning_job (
+    id           varchar(36)              not null primary key,
+    operation    varchar(32)              not null,
+    space_id     varchar(128),
+    state        varchar(16)              not null,
+    queued_at    timestamp(6) with time zone,
+    started_at   timestamp(6) with time zone,
+    finished_at  timestamp(6) with time zone,
+    queue_millis bigint,
+    run_millis   bigint,
+    exit_code    integer,
+    stderr       varchar(2000)
+);
+
+create index if not exists idx_provisioning_job_queued on provisioning_job (queued_at, id);
+create index if not exists idx_provisioning_job_state_queued on provisioning_job (state, queued_at, id);
+create index if not exists idx_provisioning_job_space_queued on provisioning_job (space_id, queued_at, id);
+
+create table if not exists space_status (
+    space_id   varchar(128)             not null primary key,
+    job_id     varchar(36),
+    operation  varchar(32),
+    state      varchar(16),
+    exit_code  integer,
+    queued_at  timestamp(6) with time zone,
+    updated_at timestamp(6) with time zone
+);
+
+create index if not exists idx_space_status_updated on space_status (updated_at, space_id);
+create index if not exists idx_space_status_state_updated on space_status (state, updated_at, space_id);
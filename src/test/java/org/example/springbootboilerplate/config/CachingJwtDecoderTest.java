@@ -0,0 +1,105 @@
+package org.example.springbootboilerplate.config;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.example.springbootboilerplate.properties.KeycloakProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPrivateKey;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CachingJwtDecoderTest {
+
+    private static final String ISSUER = "https://keycloak.example.com/realms/space";
+    private static final String AUDIENCE = "space-api";
+
+    private KeyPair keyPair;
+    private CachingJwtDecoder decoder;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        keyPair = generator.generateKeyPair();
+
+        KeycloakProperties properties = new KeycloakProperties();
+        properties.setPublicKey(Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()));
+        properties.getResourceServer().setIssuer(ISSUER);
+        properties.getResourceServer().setAudiences(Set.of(AUDIENCE));
+        decoder = new CachingJwtDecoder(JwtSecurityConfig.createDecoder(properties), 16);
+    }
+
+    private String sign(KeyPair signingKey, Instant expiresAt) throws Exception {
+        return sign(signingKey, expiresAt, ISSUER, AUDIENCE);
+    }
+
+    private String sign(KeyPair signingKey, Instant expiresAt, String issuer, String audience) throws Exception {
+        SignedJWT jwt = new SignedJWT(
+                new JWSHeader(JWSAlgorithm.RS256),
+                new JWTClaimsSet.Builder()
+                        .subject("user")
+                        .issuer(issuer)
+                        .audience(audience)
+                        .issueTime(new Date())
+                        .expirationTime(Date.from(expiresAt))
+                        .build());
+        jwt.sign(new RSASSASigner((RSAPrivateKey) signingKey.getPrivate()));
+        return jwt.serialize();
+    }
+
+    @Test
+    void verifiesLocallyAndCachesValidatedTokens() throws Exception {
+        String token = sign(keyPair, Instant.now().plusSeconds(300));
+
+        assertThat(decoder.decode(token).getSubject()).isEqualTo("user");
+        assertThat(decoder.decode(token).getSubject()).isEqualTo("user");
+        assertThat(decoder.getMissCount()).isEqualTo(1);
+        assertThat(decoder.getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsForeignSignatureAndExpiredTokens() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+
+        assertThatThrownBy(() -> decoder.decode(sign(generator.generateKeyPair(), Instant.now().plusSeconds(300))))
+                .isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> decoder.decode(sign(keyPair, Instant.now().minusSeconds(600))))
+                .isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void rejectsWrongIssuerOrAudience() {
+        Instant expiresAt = Instant.now().plusSeconds(300);
+
+        assertThatThrownBy(() -> decoder.decode(sign(keyPair, expiresAt, "https://keycloak.example.com/realms/other", AUDIENCE)))
+                .isInstanceOf(JwtException.class)
+                .hasMessageContaining("iss");
+        assertThatThrownBy(() -> decoder.decode(sign(keyPair, expiresAt, ISSUER, "other-client")))
+                .isInstanceOf(JwtException.class)
+                .hasMessageContaining("aud");
+    }
+
+    @Test
+    void requiresIssuerAndAudiences() {
+        KeycloakProperties properties = new KeycloakProperties();
+        properties.setPublicKey(Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()));
+
+        assertThatThrownBy(() -> JwtSecurityConfig.createDecoder(properties)).isInstanceOf(IllegalStateException.class);
+        properties.setUrl(ISSUER);
+        assertThatThrownBy(() -> JwtSecurityConfig.createDecoder(properties)).isInstanceOf(IllegalStateException.class);
+    }
+}
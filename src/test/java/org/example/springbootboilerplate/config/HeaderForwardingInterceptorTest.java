@@ -0,0 +1,62 @@
+package org.example.springbootboilerplate.config;
+
+import feign.RequestTemplate;
+import feign.Target;
+import org.example.springbootboilerplate.properties.FeignProperties;
+import org.example.springbootboilerplate.util.RequestHolder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HeaderForwardingInterceptorTest {
+
+    private HeaderForwardingInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        FeignProperties feignProperties = new FeignProperties();
+        feignProperties.getForwardHeaders().add("Authorization");
+        feignProperties.getClientForwardHeaders().put("gitlab", List.of("Authorization"));
+        interceptor = new HeaderForwardingInterceptor(feignProperties);
+
+        RequestHolder.setRequestHeaders(Map.of(
+                "authorization", "Bearer user-token",
+                "x-request-id", "request-1"));
+    }
+
+    @AfterEach
+    void clear() {
+        RequestHolder.clearRequestHeaders();
+    }
+
+    @Test
+    void credentialsAreNotForwardedByDefault() {
+        RequestTemplate template = template("billing");
+
+        interceptor.apply(template);
+
+        assertThat(interceptor.getAllowList()).containsExactly("accept-language", "x-request-id", "x-trace-id");
+        assertThat(template.headers()).containsKey("x-request-id").doesNotContainKey("authorization");
+    }
+
+    @Test
+    void credentialsAreForwardedToOptedInClient() {
+        RequestTemplate template = template("gitlab");
+
+        interceptor.apply(template);
+
+        assertThat(template.headers().get("authorization")).containsExactly("Bearer user-token");
+        assertThat(template.headers()).containsKey("x-request-id");
+    }
+
+    private static RequestTemplate template(String client) {
+        RequestTemplate template = new RequestTemplate();
+        template.feignTarget(new Target.HardCodedTarget<>(Object.class, client, "http://localhost"));
+        return template;
+    }
+}
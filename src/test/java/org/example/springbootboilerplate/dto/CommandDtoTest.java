@@ -0,0 +1,142 @@
+package org.example.springbootboilerplate.dto;
+
+import org.apache.commons.lang3.SystemUtils;
+import org.example.springbootboilerplate.properties.K8SProperties;
+import org.example.springbootboilerplate.util.CommandTemplate;
+import org.example.springbootboilerplate.util.Util;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * template 으로 만든 argv 가 template 도입 전의 Util.concatAllArray 조합과 같은지 확인한다.
+ */
+class CommandDtoTest {
+
+    private static final String QUOTA = "{\"spec\":{\"hard\":{\"requests.cpu\":\"2\"}}}";
+
+    @ParameterizedTest
+    @NullSource
+    @ValueSource(strings = "/home/user/.kube/config")
+    void installMatchesBaseline(String kubeConfigPath) {
+        K8SProperties k8SProperties = init(kubeConfigPath);
+        K8SProperties.ChartProperty chart = k8SProperties.getChart();
+
+        String[] cmd = CommandDto.InstallCommand.builder()
+                .spaceId("space-1")
+                .vclusterNamespace("vcluster-space-1")
+                .chartPath("/tmp/values.yaml")
+                .build()
+                .toCMD();
+
+        assertThat(cmd).containsExactly(Util.concatAllArray(
+                new String[]{"helm", "install"},
+                kubeConfig("--kubeconfig", kubeConfigPath),
+                new String[]{"space-1", "--create-namespace", "-n", "vcluster-space-1",
+                        "--repo", chart.getRepo(), chart.getName(), "--version", chart.getVersion(), "-f", "/tmp/values.yaml"}));
+    }
+
+    @ParameterizedTest
+    @NullSource
+    @ValueSource(strings = "/home/user/.kube/config")
+    void localInstallMatchesBaseline(String kubeConfigPath) {
+        init(kubeConfigPath);
+
+        String[] cmd = CommandDto.InstallCommand.builder()
+                .spaceId("space-1")
+                .vclusterNamespace("vcluster-space-1")
+                .chartPath("/tmp/values.yaml")
+                .chartArchive("/cache/vcluster-0.15.5.tgz")
+                .build()
+                .toCMD();
+
+        assertThat(cmd).containsExactly(Util.concatAllArray(
+                new String[]{"helm", "install"},
+                kubeConfig("--kubeconfig", kubeConfigPath),
+                new String[]{"space-1", "--create-namespace", "-n", "vcluster-space-1",
+                        "/cache/vcluster-0.15.5.tgz", "-f", "/tmp/values.yaml"}));
+    }
+
+    @ParameterizedTest
+    @NullSource
+    @ValueSource(strings = "/home/user/.kube/config")
+    void deleteStorageClassMatchesBaseline(String kubeConfigPath) {
+        init(kubeConfigPath);
+
+        String[] withType = CommandDto.DeleteStorageClass.builder().spaceId("space-1").type("nfs").build().toCMD();
+        String[] defaultType = CommandDto.DeleteStorageClass.builder().spaceId("space-1").build().toCMD();
+
+        assertThat(withType).containsExactly(Util.concatAllArray(
+                new String[]{"vcluster", "connect"},
+                kubeConfig("--kube-config", kubeConfigPath),
+                new String[]{"space-1", "--", "kubectl", "delete", "sc", "nfs"}));
+        assertThat(defaultType).containsExactly(Util.concatAllArray(
+                new String[]{"vcluster", "connect"},
+                kubeConfig("--kube-config", kubeConfigPath),
+                new String[]{"space-1", "--", "kubectl", "delete", "sc", "block"}));
+    }
+
+    @ParameterizedTest
+    @NullSource
+    @ValueSource(strings = "/home/user/.kube/config")
+    void resourceQuotaPatchMatchesBaseline(String kubeConfigPath) {
+        init(kubeConfigPath);
+
+        String[] cmd = CommandDto.ResourceQuotaPatch.builder().spaceId("space-1").resourceQuota(QUOTA).build().toCMD();
+
+        assertThat(cmd).containsExactly(Util.concatAllArray(
+                new String[]{"kubectl", "patch", "-p"},
+                new String[]{baselineJson(QUOTA), "resourcequota", "space-1-quota", "--namespace", "vcluster-space-1"},
+                kubeConfig("--kubeconfig", kubeConfigPath)));
+    }
+
+    @Test
+    void eachFillReturnsNewArray() {
+        init(null);
+        CommandDto.ResourceQuotaPatch patch = CommandDto.ResourceQuotaPatch.builder().spaceId("space-1").resourceQuota(QUOTA).build();
+
+        String[] first = patch.toCMD();
+        first[0] = "changed";
+
+        assertThat(patch.toCMD()[0]).isEqualTo("kubectl");
+    }
+
+    @Test
+    void templateRequiresEverySlot() {
+        CommandTemplate template = CommandTemplate.builder()
+                .literal("kubectl", "delete", "sc")
+                .slot()
+                .build();
+
+        assertThat(template.fill("standard")).containsExactly("kubectl", "delete", "sc", "standard");
+        assertThatThrownBy(template::fill).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static K8SProperties init(String kubeConfigPath) {
+        K8SProperties k8SProperties = new K8SProperties();
+        k8SProperties.setKubeConfigPath(kubeConfigPath);
+        K8SProperties.BlockStorageProperty blockStorage = new K8SProperties.BlockStorageProperty();
+        blockStorage.setName("block");
+        k8SProperties.setBlockStorage(blockStorage);
+        new CommandDto(k8SProperties).init();
+        return k8SProperties;
+    }
+
+    private static String[] kubeConfig(String flag, String kubeConfigPath) {
+        return kubeConfigPath == null ? new String[]{} : new String[]{flag, kubeConfigPath};
+    }
+
+    /**
+     * template 도입 전의 JSONValidator
+     */
+    private static String baselineJson(String json) {
+        if (SystemUtils.OS_NAME.toLowerCase().contains("window")) {
+            return json.replaceAll("\"", "\\\\\"");
+        }
+        return json;
+    }
+}
@@ -0,0 +1,133 @@
+package org.example.springbootboilerplate.service;
+
+import org.example.springbootboilerplate.dto.CommandDto;
+import org.example.springbootboilerplate.dto.CommandRequest;
+import org.example.springbootboilerplate.dto.CommandResult;
+import org.example.springbootboilerplate.dto.ResourceQuotaSpec;
+import org.example.springbootboilerplate.properties.CmdProperties;
+import org.example.springbootboilerplate.properties.K8SProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CmdServiceTest {
+
+    private static final String QUOTA = "{\"spec\":{\"hard\":{\"requests.cpu\":\"2\"}}}";
+
+    private final List<String> events = new CopyOnWriteArrayList<>();
+    private volatile IOException startFailure;
+    private CommandExecutor commandExecutor;
+    private ResourceQuotaReconciler reconciler;
+    private CmdService cmdService;
+
+    @BeforeEach
+    void setUp() {
+        CommandListener recorder = new CommandListener() {
+            @Override
+            public void onQueued(CommandRequest request) {
+                events.add("queued " + request.getJobId());
+            }
+
+            @Override
+            public void onStarted(CommandRequest request, long queuedNanos) {
+                events.add("started " + request.getJobId());
+            }
+
+            @Override
+            public void onFinished(CommandRequest request, CommandResult result, Throwable throwable, long runNanos) {
+                events.add("finished " + request.getJobId());
+            }
+        };
+        CmdProperties cmdProperties = new CmdProperties();
+        // kubectl 없이 실행되도록 프로세스 실행만 대신한다.
+        commandExecutor = new CommandExecutor(
+                cmdProperties,
+                new StaticListableBeanFactory(Map.of("recorder", recorder)).getBeanProvider(CommandListener.class)) {
+            @Override
+            CommandResult run(CommandRequest request) throws IOException {
+                if (startFailure != null) {
+                    throw startFailure;
+                }
+                events.add("run " + request.getJobId());
+                return CommandResult.builder().exitCode(0).stdout("").stderr("").build();
+            }
+        };
+
+        K8SProperties k8SProperties = new K8SProperties();
+        k8SProperties.setResourceQuotaPatchMode(K8SProperties.PatchMode.CLI);
+        k8SProperties.setResourceQuotaSkipUnchanged(true);
+        new CommandDto(k8SProperties).init();
+        reconciler = new ResourceQuotaReconciler(null, null) {
+            @Override
+            public ResourceQuotaSpec minimalPatch(CommandDto.ResourceQuotaPatch patch, ResourceQuotaSpec desired) {
+                return desired;
+            }
+        };
+        cmdService = new CmdService(commandExecutor, null, k8SProperties, reconciler, cmdProperties, null);
+        cmdService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        commandExecutor.destroy();
+    }
+
+    @Test
+    void cliPatchRunsUnderSubmittedJobId() throws Exception {
+        CommandResult result = cmdService.patchResourceQuotaAsync("space-1", QUOTA).get(5, TimeUnit.SECONDS);
+
+        assertThat(result.isSuccess()).isTrue();
+        // onFinished 는 future 완료 콜백에서 호출되므로 잠깐 기다린다.
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (events.size() < 4 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(events).hasSize(4);
+        assertThat(events).extracting(event -> event.substring(0, event.indexOf(' ')))
+                .containsExactly("queued", "started", "run", "finished");
+        assertThat(events).extracting(event -> event.substring(event.indexOf(' ') + 1))
+                .containsOnly(events.get(0).substring(events.get(0).indexOf(' ') + 1));
+    }
+
+    @Test
+    void rejectedCliPatchWithoutSpecIsNotCountedAsApplied() {
+        commandExecutor.destroy();
+
+        // spec.hard 외의 항목이 있어 비교 없이 CLI 로 보내는 patch
+        CompletableFuture<CommandResult> future = cmdService.patchResourceQuotaAsync(
+                "space-1", "{\"metadata\":{\"labels\":{\"team\":\"a\"}}}");
+
+        assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class);
+        assertThat(reconciler.getAppliedCount()).isZero();
+    }
+
+    @Test
+    void callbackMethodWaitsAndRunsCallbackOnCallerThread() throws Exception {
+        List<Thread> callbackThreads = new CopyOnWriteArrayList<>();
+
+        cmdService.patchResourceQuota("space-1", QUOTA, ignored -> callbackThreads.add(Thread.currentThread()), null);
+
+        assertThat(callbackThreads).containsExactly(Thread.currentThread());
+    }
+
+    @Test
+    void callbackMethodRethrowsProcessStartFailure() {
+        startFailure = new IOException("kubectl not found");
+
+        assertThatThrownBy(() -> cmdService.patchResourceQuota("space-1", QUOTA, null, null))
+                .isInstanceOf(IOException.class)
+                .hasMessage("kubectl not found");
+    }
+}
@@ -0,0 +1,165 @@
+package org.example.springbootboilerplate.service;
+
+import org.example.springbootboilerplate.dto.CommandRequest;
+import org.example.springbootboilerplate.dto.CommandResult;
+import org.example.springbootboilerplate.dto.OperationType;
+import org.example.springbootboilerplate.properties.CmdProperties;
+import org.example.springbootboilerplate.util.ProcessOutputPump;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CommandExecutorTest {
+
+    private static final CommandResult SUCCESS = CommandResult.builder().exitCode(0).stdout("").stderr("").build();
+
+    private CommandExecutor commandExecutor;
+
+    @AfterEach
+    void tearDown() {
+        if (commandExecutor != null) {
+            commandExecutor.destroy();
+        }
+    }
+
+    @Test
+    void rejectsWhenQueueIsFull() throws Exception {
+        commandExecutor = newExecutor(CmdProperties.QueueFullPolicy.REJECT, Duration.ZERO);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<CommandResult> running = commandExecutor.submit(request(), () -> {
+            release.await();
+            return SUCCESS;
+        });
+        CompletableFuture<CommandResult> rejected = commandExecutor.submit(request(), () -> SUCCESS);
+
+        assertThatThrownBy(() -> rejected.get(1, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(RejectedExecutionException.class);
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS).isSuccess()).isTrue();
+    }
+
+    @Test
+    void waitsForFreeSlot() throws Exception {
+        commandExecutor = newExecutor(CmdProperties.QueueFullPolicy.WAIT, Duration.ofSeconds(5));
+        CountDownLatch release = new CountDownLatch(1);
+        commandExecutor.submit(request(), () -> {
+            release.await();
+            return SUCCESS;
+        });
+
+        CompletableFuture<CompletableFuture<CommandResult>> waiting =
+                CompletableFuture.supplyAsync(() -> commandExecutor.submit(request(), () -> SUCCESS));
+        Thread.sleep(200);
+        assertThat(waiting).isNotDone();
+
+        release.countDown();
+        assertThat(waiting.get(5, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS).isSuccess()).isTrue();
+    }
+
+    @Test
+    void waitGivesUpAfterQueueWaitTimeout() throws Exception {
+        commandExecutor = newExecutor(CmdProperties.QueueFullPolicy.WAIT, Duration.ofMillis(100));
+        CountDownLatch release = new CountDownLatch(1);
+        commandExecutor.submit(request(), () -> {
+            release.await();
+            return SUCCESS;
+        });
+
+        long startNanos = System.nanoTime();
+        CompletableFuture<CommandResult> rejected = commandExecutor.submit(request(), () -> SUCCESS);
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos)).isGreaterThanOrEqualTo(90);
+        assertThatThrownBy(() -> rejected.get(1, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(RejectedExecutionException.class);
+        release.countDown();
+    }
+
+    @Test
+    @EnabledOnOs({OS.LINUX, OS.MAC})
+    void timeoutKillsProcessTree() throws Exception {
+        commandExecutor = newExecutor(CmdProperties.QueueFullPolicy.REJECT, Duration.ZERO);
+        CompletableFuture<long[]> pids = new CompletableFuture<>();
+
+        CommandResult result = commandExecutor.submit(shellRequest(Duration.ofMillis(500), pids)).get(10, TimeUnit.SECONDS);
+
+        assertThat(result.isTimedOut()).isTrue();
+        assertThat(result.isSuccess()).isFalse();
+        assertDead(pids.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @EnabledOnOs({OS.LINUX, OS.MAC})
+    void cancelKillsRunningProcessTree() throws Exception {
+        commandExecutor = newExecutor(CmdProperties.QueueFullPolicy.REJECT, Duration.ZERO);
+        CompletableFuture<long[]> pids = new CompletableFuture<>();
+
+        CompletableFuture<CommandResult> future = commandExecutor.submit(shellRequest(null, pids));
+        long[] started = pids.get(10, TimeUnit.SECONDS);
+        future.cancel(true);
+
+        assertThat(future).isCancelled();
+        assertDead(started);
+    }
+
+    /**
+     * 자식 프로세스를 하나 띄우고 "{shell pid} {자식 pid}" 를 출력한 뒤 기다리는 shell
+     */
+    private static CommandRequest shellRequest(Duration timeout, CompletableFuture<long[]> pids) {
+        return CommandRequest.builder()
+                .operation(OperationType.INSTALL)
+                .spaceId("space-1")
+                .cmd(new String[]{"sh", "-c", "sleep 30 & echo $$ $!; wait"})
+                .timeout(timeout)
+                .lineListener((source, line) -> {
+                    String[] tokens = line.trim().split(" ");
+                    if (source == ProcessOutputPump.Source.STDOUT && tokens.length == 2) {
+                        pids.complete(new long[]{Long.parseLong(tokens[0]), Long.parseLong(tokens[1])});
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * init 으로 넘어간 자식 프로세스는 reap 될 때까지 살아있는 것으로 보일 수 있어 잠시 기다린다.
+     */
+    private static void assertDead(long[] pids) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        for (long pid : pids) {
+            while (ProcessHandle.of(pid).map(ProcessHandle::isAlive).orElse(false) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+            assertThat(ProcessHandle.of(pid).map(ProcessHandle::isAlive).orElse(false)).as("pid %d alive", pid).isFalse();
+        }
+    }
+
+    private CommandExecutor newExecutor(CmdProperties.QueueFullPolicy policy, Duration queueWaitTimeout) {
+        CmdProperties cmdProperties = new CmdProperties();
+        cmdProperties.getExecutor().setMaxConcurrency(1);
+        cmdProperties.getExecutor().setQueueCapacity(0);
+        cmdProperties.getExecutor().setQueueFullPolicy(policy);
+        cmdProperties.getExecutor().setQueueWaitTimeout(queueWaitTimeout);
+        return new CommandExecutor(cmdProperties, new StaticListableBeanFactory().getBeanProvider(CommandListener.class));
+    }
+
+    private static CommandRequest request() {
+        return CommandRequest.builder()
+                .operation(OperationType.INSTALL)
+                .spaceId("space-1")
+                .cmd(new String[0])
+                .build();
+    }
+}
@@ -0,0 +1,104 @@
+package org.example.springbootboilerplate.service;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.springbootboilerplate.dto.CommandRequest;
+import org.example.springbootboilerplate.dto.CommandResult;
+import org.example.springbootboilerplate.dto.OperationType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CommandMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private CommandMetrics commandMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        commandMetrics = new CommandMetrics(meterRegistry);
+    }
+
+    @Test
+    void recordsQueueWaitRunAndExitClass() {
+        CommandRequest request = request();
+
+        commandMetrics.onQueued(request);
+        assertThat(gauge("cmd.queued")).isEqualTo(1);
+
+        commandMetrics.onStarted(request, TimeUnit.MILLISECONDS.toNanos(5));
+        assertThat(gauge("cmd.queued")).isZero();
+        assertThat(gauge("cmd.inflight")).isEqualTo(1);
+        Timer queueWait = meterRegistry.get("cmd.queue.wait").tag("operation", "INSTALL").timer();
+        assertThat(queueWait.count()).isEqualTo(1);
+        assertThat(queueWait.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(5);
+
+        commandMetrics.onFinished(request, result(141), null, TimeUnit.MILLISECONDS.toNanos(20));
+        assertThat(gauge("cmd.inflight")).isZero();
+        assertThat(meterRegistry.get("cmd.run").tags("operation", "INSTALL", "outcome", "success").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("cmd.exit").tags("exit.code", "141", "exit.class", "sigpipe").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void recordsFailureOutcome() {
+        CommandRequest request = request();
+        commandMetrics.onQueued(request);
+        commandMetrics.onStarted(request, 0);
+
+        commandMetrics.onFinished(request, result(1), null, 0);
+
+        assertThat(meterRegistry.get("cmd.run").tags("outcome", "failure").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cmd.exit").tags("exit.code", "1", "exit.class", "error").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void startAfterCancelDoesNotLeakInflight() {
+        CommandRequest request = request();
+        commandMetrics.onQueued(request);
+
+        // 대기 중에 취소되어 onFinished 가 먼저 오고, 이미 꺼낸 작업의 onStarted 가 뒤에 오는 경우
+        commandMetrics.onFinished(request, null, new CancellationException(), 0);
+        commandMetrics.onStarted(request, TimeUnit.MILLISECONDS.toNanos(5));
+
+        assertThat(gauge("cmd.queued")).isZero();
+        assertThat(gauge("cmd.inflight")).isZero();
+        assertThat(meterRegistry.find("cmd.queue.wait").timer()).isNull();
+        assertThat(meterRegistry.get("cmd.run").tags("outcome", "cancelled").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectedRequestOnlyRecordsRun() {
+        CommandRequest request = request();
+
+        commandMetrics.onFinished(request, null, new RejectedExecutionException("full"), 0);
+
+        assertThat(gauge("cmd.queued")).isZero();
+        assertThat(gauge("cmd.inflight")).isZero();
+        assertThat(meterRegistry.get("cmd.run").tags("outcome", "rejected").timer().count()).isEqualTo(1);
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).tag("operation", "INSTALL").gauge().value();
+    }
+
+    private static CommandRequest request() {
+        return CommandRequest.builder()
+                .operation(OperationType.INSTALL)
+                .spaceId("space-1")
+                .cmd(new String[]{"helm", "install"})
+                .build();
+    }
+
+    private static CommandResult result(int exitCode) {
+        return CommandResult.builder().exitCode(exitCode).stdout("").stderr("").build();
+    }
+}
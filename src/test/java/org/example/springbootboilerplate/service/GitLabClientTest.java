@@ -0,0 +1,80 @@
+package org.example.springbootboilerplate.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.example.springbootboilerplate.properties.GitLabProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GitLabClientTest {
+
+    private HttpServer server;
+    private GitLabClient gitLabClient;
+    private final AtomicInteger requests = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/v4/projects", this::projects);
+        server.start();
+
+        GitLabProperties properties = new GitLabProperties();
+        properties.setUrl("http://127.0.0.1:" + server.getAddress().getPort());
+        properties.setToken("token");
+        properties.setPerPage(2);
+        gitLabClient = new GitLabClient(properties, new ObjectMapper());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    /**
+     * page 1: [1, 2], page 2: [3], page 별 ETag 를 주고 If-None-Match 가 같으면 304
+     */
+    private void projects(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        String page = exchange.getRequestURI().getQuery().contains("page=2") ? "2" : "1";
+        String etag = "\"projects-" + page + "\"";
+        exchange.getResponseHeaders().add("ETag", etag);
+        if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+        exchange.getResponseHeaders().add("X-Next-Page", page.equals("1") ? "2" : "");
+        byte[] body = (page.equals("1") ? "[{\"id\":1},{\"id\":2}]" : "[{\"id\":3}]").getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(body);
+        }
+    }
+
+    @Test
+    void streamsPagesLazilyAndRevalidatesWithETag() {
+        assertThat(gitLabClient.listProjects(Map.of()).limit(1).toList()).hasSize(1);
+        assertThat(requests.get()).isEqualTo(1);
+
+        List<Integer> ids = gitLabClient.listProjects(Map.of()).map(project -> project.get("id").asInt()).toList();
+        List<Integer> again = gitLabClient.listProjects(Map.of()).map(project -> project.get("id").asInt()).toList();
+
+        assertThat(ids).containsExactly(1, 2, 3);
+        assertThat(again).isEqualTo(ids);
+        assertThat(gitLabClient.getFetchedCount()).isEqualTo(2);
+        assertThat(gitLabClient.getNotModifiedCount()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,158 @@
+package org.example.springbootboilerplate.service;
+
+import org.example.springbootboilerplate.dto.CommandRequest;
+import org.example.springbootboilerplate.dto.CommandResult;
+import org.example.springbootboilerplate.properties.CmdProperties;
+import org.example.springbootboilerplate.properties.K8SProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HelmChartCacheTest {
+
+    private static final byte[] CHART = "vcluster chart archive".getBytes(StandardCharsets.UTF_8);
+    private static final String FILE_NAME = "vcluster-0.15.5.tgz";
+
+    @TempDir
+    Path tempDir;
+
+    private final List<CommandRequest> queued = new CopyOnWriteArrayList<>();
+    /**
+     * helm pull 대신 실행된 request, 실행되면 CHART 를 --destination 에 쓴다.
+     */
+    private final List<CommandRequest> pulls = new CopyOnWriteArrayList<>();
+    private K8SProperties k8SProperties;
+    private CommandExecutor commandExecutor;
+    private HelmChartCache helmChartCache;
+
+    @BeforeEach
+    void setUp() {
+        k8SProperties = new K8SProperties();
+        k8SProperties.getChart().setCacheDir(tempDir.resolve("cache").toString());
+        CommandListener recorder = new CommandListener() {
+            @Override
+            public void onQueued(CommandRequest request) {
+                queued.add(request);
+            }
+        };
+        commandExecutor = new CommandExecutor(
+                new CmdProperties(),
+                new StaticListableBeanFactory(Map.of("recorder", recorder)).getBeanProvider(CommandListener.class)) {
+            @Override
+            CommandResult run(CommandRequest request) throws IOException {
+                pulls.add(request);
+                List<String> cmd = Arrays.asList(request.getCmd());
+                Path destination = Path.of(cmd.get(cmd.indexOf("--destination") + 1));
+                Files.write(destination.resolve(FILE_NAME), CHART);
+                return CommandResult.builder().exitCode(0).stdout("").stderr("").build();
+            }
+        };
+        helmChartCache = new HelmChartCache(k8SProperties, commandExecutor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        commandExecutor.destroy();
+    }
+
+    @Test
+    void vendoredChartIsUsedWithoutPull() throws Exception {
+        Path vendorDir = Files.createDirectories(tempDir.resolve("vendor"));
+        Path vendored = Files.write(vendorDir.resolve(FILE_NAME), CHART);
+        k8SProperties.getChart().setVendorDir(vendorDir.toString());
+        k8SProperties.getChart().setDigest(sha256(CHART));
+
+        CommandResult result = helmChartCache.preloadAsync().get(5, TimeUnit.SECONDS);
+
+        assertThat(result.isSuccess()).isTrue();
+        assertThat(helmChartCache.getLocalChart()).contains(vendored);
+        assertThat(pulls).isEmpty();
+    }
+
+    @Test
+    void vendoredChartWithWrongDigestIsIgnoredOffline() throws Exception {
+        Path vendorDir = Files.createDirectories(tempDir.resolve("vendor"));
+        Files.write(vendorDir.resolve(FILE_NAME), CHART);
+        k8SProperties.getChart().setVendorDir(vendorDir.toString());
+        k8SProperties.getChart().setDigest(sha256("other".getBytes(StandardCharsets.UTF_8)));
+        k8SProperties.getChart().setOffline(true);
+
+        CommandResult result = helmChartCache.preloadAsync().get(5, TimeUnit.SECONDS);
+
+        assertThat(result.isSuccess()).isFalse();
+        assertThat(result.getStderr()).contains("offline");
+        assertThat(helmChartCache.getLocalChart()).isEmpty();
+        assertThat(pulls).isEmpty();
+    }
+
+    @Test
+    void offlineWithoutLocalChartFails() throws Exception {
+        k8SProperties.getChart().setOffline(true);
+
+        CommandResult result = helmChartCache.preloadAsync().get(5, TimeUnit.SECONDS);
+
+        assertThat(result.isSuccess()).isFalse();
+        assertThat(helmChartCache.getLocalChart()).isEmpty();
+        assertThat(pulls).isEmpty();
+    }
+
+    @Test
+    void pulledChartIsCachedUnderSubmittedJob() throws Exception {
+        CommandResult result = helmChartCache.preloadAsync().get(5, TimeUnit.SECONDS);
+
+        assertThat(result.isSuccess()).isTrue();
+        Path cached = helmChartCache.getLocalChart().orElseThrow();
+        assertThat(cached.startsWith(tempDir.resolve("cache"))).isTrue();
+        assertThat(Files.readAllBytes(cached)).isEqualTo(CHART);
+        assertThat(Files.readString(cached.resolveSibling(FILE_NAME + ".sha256")).trim()).isEqualTo(sha256(CHART));
+
+        assertThat(queued).hasSize(1);
+        assertThat(pulls).hasSize(1);
+        assertThat(pulls.get(0).getJobId()).isEqualTo(queued.get(0).getJobId());
+        assertThat(queued.get(0).getSpaceId()).isNull();
+        assertThat(pulls.get(0).getSpaceId()).isNull();
+
+        // 새 인스턴스도 sidecar digest 로 확인한 cache 를 pull 없이 사용
+        HelmChartCache restarted = new HelmChartCache(k8SProperties, commandExecutor);
+        assertThat(restarted.preloadAsync().get(5, TimeUnit.SECONDS).isSuccess()).isTrue();
+        assertThat(restarted.getLocalChart()).contains(cached);
+        assertThat(pulls).hasSize(1);
+    }
+
+    @Test
+    void pulledChartWithWrongDigestIsNotCached() throws Exception {
+        k8SProperties.getChart().setDigest(sha256("other".getBytes(StandardCharsets.UTF_8)));
+
+        CommandResult result = helmChartCache.preloadAsync().get(5, TimeUnit.SECONDS);
+
+        assertThat(result.isSuccess()).isFalse();
+        assertThat(result.getStderr()).contains("digest mismatch");
+        assertThat(helmChartCache.getLocalChart()).isEmpty();
+        assertThat(pulls).hasSize(1);
+        try (Stream<Path> files = Files.walk(tempDir.resolve("cache"))) {
+            assertThat(files.filter(Files::isRegularFile)).isEmpty();
+        }
+    }
+
+    private static String sha256(byte[] bytes) throws NoSuchAlgorithmException {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+    }
+}
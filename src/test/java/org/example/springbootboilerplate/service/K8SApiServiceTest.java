@@ -0,0 +1,125 @@
+package org.example.springbootboilerplate.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.kubernetes.client.custom.Quantity;
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.models.V1ResourceQuota;
+import io.kubernetes.client.util.ClientBuilder;
+import org.example.springbootboilerplate.dto.CommandDto;
+import org.example.springbootboilerplate.dto.CommandResult;
+import org.example.springbootboilerplate.properties.CmdProperties;
+import org.example.springbootboilerplate.properties.K8SProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class K8SApiServiceTest {
+
+    private static final String PATCH = "{\"spec\":{\"hard\":{\"requests.cpu\":\"4\"}}}";
+    private static final String QUOTA = "{\"apiVersion\":\"v1\",\"kind\":\"ResourceQuota\","
+            + "\"metadata\":{\"name\":\"a-quota\",\"namespace\":\"vcluster-a\",\"resourceVersion\":\"11\"},"
+            + "\"spec\":{\"hard\":{\"requests.cpu\":\"4\"}}}";
+    private static final String FORBIDDEN = "{\"kind\":\"Status\",\"apiVersion\":\"v1\",\"status\":\"Failure\","
+            + "\"message\":\"resourcequotas \\\"a-quota\\\" is forbidden\",\"reason\":\"Forbidden\",\"code\":403}";
+
+    private HttpServer server;
+    private K8SApiService k8SApiService;
+    private volatile int status = 200;
+    private volatile String method;
+    private volatile String path;
+    private volatile String contentType;
+    private volatile String body;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", this::handle);
+        server.start();
+
+        String basePath = "http://127.0.0.1:" + server.getAddress().getPort();
+        K8SClientRegistry registry = new K8SClientRegistry(new K8SProperties()) {
+            @Override
+            public ApiClient getClient() {
+                return new ClientBuilder().setBasePath(basePath).build();
+            }
+        };
+        k8SApiService = new K8SApiService(registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void patchSendsStrategicMergePatch() throws Exception {
+        V1ResourceQuota patched = k8SApiService.patchResourceQuota(patch("a"));
+
+        assertThat(method).isEqualTo("PATCH");
+        assertThat(path).isEqualTo("/api/v1/namespaces/vcluster-a/resourcequotas/a-quota");
+        assertThat(contentType).startsWith("application/strategic-merge-patch+json");
+        assertThat(body).isEqualTo(PATCH);
+        assertThat(patched.getSpec().getHard()).containsEntry("requests.cpu", Quantity.fromString("4"));
+    }
+
+    @Test
+    void apiPatchFailureIsMappedToCommandResult() throws Exception {
+        status = 403;
+        K8SProperties k8SProperties = new K8SProperties();
+        k8SProperties.setResourceQuotaPatchMode(K8SProperties.PatchMode.API);
+        k8SProperties.setResourceQuotaSkipUnchanged(false);
+        CmdProperties cmdProperties = new CmdProperties();
+        CommandExecutor commandExecutor = new CommandExecutor(
+                cmdProperties, new StaticListableBeanFactory().getBeanProvider(CommandListener.class));
+        try {
+            CmdService cmdService = new CmdService(
+                    commandExecutor, k8SApiService, k8SProperties, new ResourceQuotaReconciler(null, null), cmdProperties, null);
+            cmdService.init();
+
+            CommandResult result = cmdService.patchResourceQuotaAsync("a", PATCH).get(5, TimeUnit.SECONDS);
+
+            assertThat(method).isEqualTo("PATCH");
+            assertThat(result.isSuccess()).isFalse();
+            assertThat(result.getExitCode()).isEqualTo(1);
+            assertThat(result.getStderr()).startsWith("code=[403] ").contains("is forbidden");
+        }
+        finally {
+            commandExecutor.destroy();
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        method = exchange.getRequestMethod();
+        path = exchange.getRequestURI().getPath();
+        contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        try (InputStream inputStream = exchange.getRequestBody()) {
+            body = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        byte[] response = (status == 200 ? QUOTA : FORBIDDEN).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, response.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(response);
+        }
+    }
+
+    private static CommandDto.ResourceQuotaPatch patch(String spaceId) {
+        return CommandDto.ResourceQuotaPatch.builder()
+                .spaceId(spaceId)
+                .resourceQuota(PATCH)
+                .build();
+    }
+}
@@ -0,0 +1,114 @@
+package org.example.springbootboilerplate.service;
+
+import io.kubernetes.client.openapi.ApiClient;
+import org.example.springbootboilerplate.properties.K8SProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class K8SClientRegistryTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void samePathSharesOneClient() throws IOException {
+        Path kubeConfig = writeKubeConfig("http://127.0.0.1:6443");
+        K8SClientRegistry registry = newRegistry(Duration.ofMinutes(1));
+
+        ApiClient first = registry.getClient(kubeConfig.toString());
+        ApiClient second = registry.getClient(kubeConfig.toString());
+        // 같은 파일을 가리키는 다른 표기도 같은 client
+        ApiClient third = registry.getClient(directory.resolve(".").resolve("config").toString());
+
+        assertThat(second).isSameAs(first);
+        assertThat(third).isSameAs(first);
+        assertThat(registry.getMissCount()).isEqualTo(1);
+        assertThat(registry.getHitCount()).isEqualTo(2);
+        assertThat(registry.getRebuildCount()).isZero();
+    }
+
+    @Test
+    void touchWithoutContentChangeKeepsClient() throws IOException {
+        Path kubeConfig = writeKubeConfig("http://127.0.0.1:6443");
+        K8SClientRegistry registry = newRegistry(Duration.ZERO);
+        ApiClient first = registry.getClient(kubeConfig.toString());
+
+        Files.setLastModifiedTime(kubeConfig, FileTime.fromMillis(System.currentTimeMillis() + 60_000));
+
+        assertThat(registry.getClient(kubeConfig.toString())).isSameAs(first);
+        assertThat(registry.getRebuildCount()).isZero();
+    }
+
+    @Test
+    void contentChangeRebuildsClient() throws IOException {
+        Path kubeConfig = writeKubeConfig("http://127.0.0.1:6443");
+        K8SClientRegistry registry = newRegistry(Duration.ZERO);
+        ApiClient first = registry.getClient(kubeConfig.toString());
+
+        writeKubeConfig("http://127.0.0.1:16443");
+        Files.setLastModifiedTime(kubeConfig, FileTime.fromMillis(System.currentTimeMillis() + 60_000));
+        ApiClient rebuilt = registry.getClient(kubeConfig.toString());
+
+        assertThat(rebuilt).isNotSameAs(first);
+        assertThat(rebuilt.getBasePath()).isEqualTo("http://127.0.0.1:16443");
+        assertThat(registry.getRebuildCount()).isEqualTo(1);
+        assertThat(registry.getClient(kubeConfig.toString())).isSameAs(rebuilt);
+    }
+
+    @Test
+    void changeIsNotCheckedWithinCheckInterval() throws IOException {
+        Path kubeConfig = writeKubeConfig("http://127.0.0.1:6443");
+        K8SClientRegistry registry = newRegistry(Duration.ofMinutes(1));
+        ApiClient first = registry.getClient(kubeConfig.toString());
+
+        writeKubeConfig("http://127.0.0.1:16443");
+
+        assertThat(registry.getClient(kubeConfig.toString())).isSameAs(first);
+        assertThat(registry.getRebuildCount()).isZero();
+    }
+
+    @Test
+    void missingKubeConfigFails() {
+        K8SClientRegistry registry = newRegistry(Duration.ZERO);
+
+        assertThatThrownBy(() -> registry.getClient(directory.resolve("missing").toString()))
+                .isInstanceOf(IOException.class);
+        assertThat(registry.getMissCount()).isEqualTo(1);
+    }
+
+    private static K8SClientRegistry newRegistry(Duration checkInterval) {
+        K8SProperties k8SProperties = new K8SProperties();
+        k8SProperties.getClient().setCheckInterval(checkInterval);
+        return new K8SClientRegistry(k8SProperties);
+    }
+
+    private Path writeKubeConfig(String server) throws IOException {
+        return Files.writeString(directory.resolve("config"), """
+                apiVersion: v1
+                kind: Config
+                clusters:
+                - name: test
+                  cluster:
+                    server: %s
+                contexts:
+                - name: test
+                  context:
+                    cluster: test
+                    user: test
+                current-context: test
+                users:
+                - name: test
+                  user:
+                    token: test-token
+                """.formatted(server));
+    }
+}
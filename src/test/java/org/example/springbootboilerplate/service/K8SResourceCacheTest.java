@@ -0,0 +1,176 @@
+package org.example.springbootboilerplate.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.util.ClientBuilder;
+import org.example.springbootboilerplate.properties.K8SProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class K8SResourceCacheTest {
+
+    private static final Map<String, String> LISTS = Map.of(
+            "/api/v1/namespaces",
+            "{\"kind\":\"NamespaceList\",\"apiVersion\":\"v1\",\"metadata\":{\"resourceVersion\":\"10\"},\"items\":["
+                    + namespace("vcluster-a") + "," + namespace("kube-system") + "]}",
+            "/api/v1/resourcequotas",
+            "{\"kind\":\"ResourceQuotaList\",\"apiVersion\":\"v1\",\"metadata\":{\"resourceVersion\":\"10\"},\"items\":["
+                    + quota("vcluster-a", "a-quota") + "," + quota("vcluster-a", "other") + "," + quota("default", "a-quota") + "]}",
+            "/apis/storage.k8s.io/v1/storageclasses",
+            "{\"kind\":\"StorageClassList\",\"apiVersion\":\"storage.k8s.io/v1\",\"metadata\":{\"resourceVersion\":\"10\"},\"items\":["
+                    + storageClass("block") + "," + storageClass("nfs") + "," + storageClass("standard") + "]}");
+
+    /**
+     * watch 요청에 한번 보내는 이벤트, 필터를 통과하는 것과 통과하지 못하는 것을 함께 보낸다.
+     */
+    private static final Map<String, List<String>> WATCH_EVENTS = Map.of(
+            "/api/v1/namespaces", List.of(event(namespace("vcluster-b")), event(namespace("monitoring"))),
+            "/api/v1/resourcequotas", List.of(event(quota("vcluster-b", "b-quota")), event(quota("monitoring", "b-quota"))),
+            "/apis/storage.k8s.io/v1/storageclasses", List.of(event(storageClass("gp3"))));
+
+    private HttpServer server;
+    private final List<String> quotaQueries = new CopyOnWriteArrayList<>();
+    private final CountDownLatch stopped = new CountDownLatch(1);
+    private K8SResourceCache cache;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", this::handle);
+        server.start();
+
+        K8SProperties k8SProperties = new K8SProperties();
+        K8SProperties.BlockStorageProperty blockStorage = new K8SProperties.BlockStorageProperty();
+        blockStorage.setName("block");
+        k8SProperties.setBlockStorage(blockStorage);
+        K8SProperties.NfsStorageProperty nfsStorage = new K8SProperties.NfsStorageProperty();
+        nfsStorage.setName("nfs");
+        k8SProperties.setNfsStorage(nfsStorage);
+
+        String basePath = "http://127.0.0.1:" + server.getAddress().getPort();
+        K8SClientRegistry registry = new K8SClientRegistry(k8SProperties) {
+            @Override
+            public ApiClient newWatchClient() {
+                ApiClient apiClient = new ClientBuilder().setBasePath(basePath).build();
+                apiClient.setHttpClient(apiClient.getHttpClient()
+                        .newBuilder()
+                        .readTimeout(0, TimeUnit.MILLISECONDS)
+                        .build());
+                return apiClient;
+            }
+        };
+        cache = new K8SResourceCache(k8SProperties, registry);
+        cache.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        cache.stop();
+        stopped.countDown();
+        server.stop(0);
+    }
+
+    @Test
+    void onlySpaceResourcesAndConfiguredStorageClassesAreCached() throws InterruptedException {
+        assertThat(cache.awaitReady(Duration.ofSeconds(10))).isTrue();
+
+        assertThat(cache.getSpaceNamespace("a")).isPresent();
+        assertThat(cache.getResourceQuota("a")).isPresent();
+        assertThat(cache.getBlockStorageClass()).isPresent();
+        assertThat(cache.getNfsStorageClass()).isPresent();
+        assertThat(cache.getStorageClass("standard")).isEmpty();
+
+        // watch 로 받은 이벤트도 같은 기준으로 걸러진다.
+        long deadline = System.currentTimeMillis() + 10_000;
+        while ((cache.getSpaceNamespace("b").isEmpty() || cache.getResourceQuota("b").isEmpty())
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(cache.getSpaceIds()).containsExactlyInAnyOrder("a", "b");
+        assertThat(cache.getResourceQuota("b")).isPresent();
+        assertThat(cache.getStorageClass("gp3")).isEmpty();
+    }
+
+    @Test
+    void quotaListAndWatchUseLabelSelector() throws InterruptedException {
+        assertThat(cache.awaitReady(Duration.ofSeconds(10))).isTrue();
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (quotaQueries.size() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(quotaQueries).hasSizeGreaterThanOrEqualTo(2)
+                .allSatisfy(query -> assertThat(query).contains("labelSelector=app=vcluster"));
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String query = exchange.getRequestURI().getQuery();
+        if (path.equals("/api/v1/resourcequotas")) {
+            quotaQueries.add(query);
+        }
+        String list = LISTS.get(path);
+        if (list == null) {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+            return;
+        }
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        if (query == null || !query.contains("watch=true")) {
+            byte[] body = list.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(body);
+            }
+            return;
+        }
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            for (String event : WATCH_EVENTS.get(path)) {
+                outputStream.write((event + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+            outputStream.flush();
+            // 실제 API 서버처럼 watch 응답을 열어둔다.
+            stopped.await(30, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String namespace(String name) {
+        return "{\"apiVersion\":\"v1\",\"kind\":\"Namespace\",\"metadata\":{\"name\":\"" + name + "\",\"resourceVersion\":\"10\"}}";
+    }
+
+    private static String quota(String namespace, String name) {
+        return "{\"apiVersion\":\"v1\",\"kind\":\"ResourceQuota\",\"metadata\":{\"name\":\"" + name
+                + "\",\"namespace\":\"" + namespace + "\",\"resourceVersion\":\"10\"},"
+                + "\"spec\":{\"hard\":{\"requests.cpu\":\"2\"}}}";
+    }
+
+    private static String storageClass(String name) {
+        return "{\"apiVersion\":\"storage.k8s.io/v1\",\"kind\":\"StorageClass\",\"metadata\":{\"name\":\"" + name
+                + "\",\"resourceVersion\":\"10\"},\"provisioner\":\"example.com/" + name + "\"}";
+    }
+
+    private static String event(String object) {
+        return "{\"type\":\"ADDED\",\"object\":" + object + "}";
+    }
+}
@@ -0,0 +1,103 @@
+package org.example.springbootboilerplate.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.example.springbootboilerplate.properties.KeycloakProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeycloakTokenManagerTest {
+
+    private HttpServer server;
+    private KeycloakTokenManager tokenManager;
+    private final AtomicInteger tokenRequests = new AtomicInteger();
+    private volatile int expiresIn = 300;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/realms/test/protocol/openid-connect/token", exchange -> {
+            int count = tokenRequests.incrementAndGet();
+            try {
+                Thread.sleep(100);
+            }
+            catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = ("{\"access_token\":\"token-" + count + "\",\"expires_in\":" + expiresIn + "}").getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(body);
+            }
+        });
+        server.start();
+
+        KeycloakProperties properties = new KeycloakProperties();
+        properties.setUrl("http://127.0.0.1:" + server.getAddress().getPort() + "/realms/test");
+        KeycloakProperties.Client client = new KeycloakProperties.Client();
+        client.setId("service");
+        client.setSecret("secret");
+        properties.setClient(client);
+        tokenManager = new KeycloakTokenManager(properties, new ObjectMapper());
+    }
+
+    @AfterEach
+    void tearDown() {
+        tokenManager.destroy();
+        server.stop(0);
+    }
+
+    @Test
+    void coalescesConcurrentRequestsAndReusesToken() {
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            List<CompletableFuture<String>> futures = IntStream.range(0, 8)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(tokenManager::getAccessToken, callers))
+                    .toList();
+
+            assertThat(futures.stream().map(CompletableFuture::join)).containsOnly("token-1");
+            assertThat(tokenManager.getAccessToken()).isEqualTo("token-1");
+            assertThat(tokenRequests.get()).isEqualTo(1);
+            assertThat(tokenManager.getHitCount()).isGreaterThanOrEqualTo(1);
+        }
+        finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void cachesPerAudience() {
+        assertThat(tokenManager.getAccessToken("gitlab")).isEqualTo("token-1");
+        assertThat(tokenManager.getAccessToken("k8s")).isEqualTo("token-2");
+        assertThat(tokenManager.getAccessToken("gitlab")).isEqualTo("token-1");
+        assertThat(tokenRequests.get()).isEqualTo(2);
+    }
+
+    @Test
+    void stopsRefreshingTokenThatIsNotRead() throws InterruptedException {
+        // 1초 token 은 0.5초 뒤 갱신이 예약된다.
+        expiresIn = 1;
+
+        assertThat(tokenManager.getAccessToken("idle")).isEqualTo("token-1");
+        // token-1 은 읽혔으므로 갱신되고, 갱신된 token-2 는 읽히지 않았으므로 더 갱신하지 않는다.
+        Thread.sleep(2_000);
+
+        assertThat(tokenRequests.get()).isEqualTo(2);
+        assertThat(tokenManager.getRefreshCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,143 @@
+package org.example.springbootboilerplate.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.springbootboilerplate.dto.CommandRequest;
+import org.example.springbootboilerplate.dto.CommandResult;
+import org.example.springbootboilerplate.dto.OperationType;
+import org.example.springbootboilerplate.properties.CmdProperties;
+import org.example.springbootboilerplate.util.ProcessOutputPump;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProvisioningEventBroadcasterTest {
+
+    private static final int BUFFER_SIZE = 16;
+
+    private ProvisioningEventBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        CmdProperties cmdProperties = new CmdProperties();
+        cmdProperties.getEvents().setBufferSize(BUFFER_SIZE);
+        broadcaster = new ProvisioningEventBroadcaster(cmdProperties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.destroy();
+    }
+
+    @Test
+    void noOutputListenerWithoutSubscribers() {
+        assertThat(broadcaster.outputListener(request("space-1"))).isNull();
+    }
+
+    @Test
+    void slowSubscriberDropsOutputButKeepsStateEvents() throws InterruptedException {
+        CommandRequest request = request("space-1");
+        RecordingEmitter emitter = new RecordingEmitter();
+        broadcaster.subscribe(request.getJobId(), null, emitter);
+
+        broadcaster.onQueued(request);
+        broadcaster.onStarted(request, 0);
+        ProcessOutputPump.LineListener lineListener = broadcaster.outputListener(request);
+        assertThat(lineListener).isNotNull();
+        // 첫 send 가 멈춰 있는 동안 출력은 버퍼 크기만큼만 쌓이고 나머지는 버려짐
+        for (int i = 0; i < 1000; i++) {
+            lineListener.onLine(ProcessOutputPump.Source.STDOUT, "line " + i);
+        }
+        broadcaster.onFinished(request, CommandResult.builder().exitCode(0).stdout("").stderr("").build(), null, 0);
+        emitter.release.countDown();
+
+        assertThat(emitter.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(emitter.events.get(0)).isEqualTo("queued");
+        assertThat(emitter.events).contains("started", "dropped");
+        assertThat(emitter.payloads.get(emitter.events.indexOf("dropped"))).doesNotContain("jobId");
+        assertThat(emitter.events.get(emitter.events.size() - 1)).isEqualTo("finished");
+        assertThat(emitter.events.stream().filter("output"::equals).count()).isLessThanOrEqualTo(BUFFER_SIZE);
+        assertThat(broadcaster.getDroppedCount()).isGreaterThan(900);
+        assertThat(broadcaster.getSubscriberCount()).isZero();
+    }
+
+    @Test
+    void spaceSubscriberOnlyReceivesItsSpace() throws InterruptedException {
+        RecordingEmitter emitter = new RecordingEmitter();
+        emitter.release.countDown();
+        broadcaster.subscribe(null, "space-1", emitter);
+
+        broadcaster.onQueued(request("space-2"));
+        broadcaster.onQueued(request("space-1"));
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (emitter.events.isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(50);
+        assertThat(emitter.events).containsExactly("queued");
+        assertThat(emitter.payloads.get(0)).contains("\"spaceId\":\"space-1\"");
+    }
+
+    private static CommandRequest request(String spaceId) {
+        return CommandRequest.builder()
+                .operation(OperationType.INSTALL)
+                .spaceId(spaceId)
+                .cmd(new String[]{"helm", "install"})
+                .build();
+    }
+
+    /**
+     * 첫 send 를 release 까지 멈춰 느린 클라이언트를 흉내내고, 보낸 event 이름을 기록한다.
+     */
+    private static class RecordingEmitter extends SseEmitter {
+        private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().findAndRegisterModules();
+
+        private final List<String> events = new CopyOnWriteArrayList<>();
+        private final List<String> payloads = new CopyOnWriteArrayList<>();
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final CountDownLatch completed = new CountDownLatch(1);
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            try {
+                release.await();
+            }
+            catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+            StringBuilder text = new StringBuilder();
+            for (ResponseBodyEmitter.DataWithMediaType data : builder.build()) {
+                text.append(data.getData() instanceof String string ? string : toJson(data.getData()));
+            }
+            String sent = text.toString();
+            if (sent.startsWith("event:")) {
+                events.add(sent.substring("event:".length(), sent.indexOf('\n')));
+                payloads.add(sent);
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+
+        private static String toJson(Object data) {
+            try {
+                return OBJECT_MAPPER.writeValueAsString(data);
+            }
+            catch (JsonProcessingException exception) {
+                throw new IllegalStateException(exception);
+            }
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package org.example.springbootboilerplate.service;
+
+import org.example.springbootboilerplate.dto.CommandRequest;
+import org.example.springbootboilerplate.dto.CommandResult;
+import org.example.springbootboilerplate.dto.OperationType;
+import org.example.springbootboilerplate.entity.JobState;
+import org.example.springbootboilerplate.entity.ProvisioningJob;
+import org.example.springbootboilerplate.entity.ProvisioningJobSummary;
+import org.example.springbootboilerplate.entity.SpaceStatus;
+import org.example.springbootboilerplate.properties.CmdProperties;
+import org.example.springbootboilerplate.repository.ProvisioningJobRepository;
+import org.example.springbootboilerplate.repository.SpaceStatusRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * recorder 는 별도 스레드 / 커넥션으로 저장하므로 테스트 트랜잭션 없이 실행한다.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProvisioningJobRecorderTest {
+
+    @Autowired
+    private ProvisioningJobRepository repository;
+    @Autowired
+    private SpaceStatusRepository spaceStatusRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private ProvisioningJobRecorder recorder;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (recorder != null) {
+            recorder.destroy();
+        }
+        repository.deleteAll();
+        spaceStatusRepository.deleteAll();
+    }
+
+    @Test
+    void recordsStateChangesAsOneRow() throws InterruptedException {
+        recorder = newRecorder();
+        CommandRequest request = request();
+        CommandResult result = CommandResult.builder().exitCode(0).stdout("").stderr("").build();
+
+        recorder.onQueued(request);
+        recorder.onStarted(request, TimeUnit.MILLISECONDS.toNanos(15));
+        recorder.onFinished(request, result, null, TimeUnit.MILLISECONDS.toNanos(120));
+        recorder.flush();
+
+        ProvisioningJob job = repository.findById(request.getJobId()).orElseThrow();
+        assertThat(job.getState()).isEqualTo(JobState.SUCCEEDED);
+        assertThat(job.getOperation()).isEqualTo(OperationType.INSTALL);
+        assertThat(job.getSpaceId()).isEqualTo("space-1");
+        assertThat(job.getQueueMillis()).isEqualTo(15);
+        assertThat(job.getRunMillis()).isEqualTo(120);
+        assertThat(job.getExitCode()).isZero();
+        assertThat(job.getQueuedAt()).isNotNull();
+        assertThat(job.getFinishedAt()).isNotNull();
+        assertThat(recorder.getWrittenCount()).isPositive();
+    }
+
+    @Test
+    void keepsTailOfLongStderr() throws InterruptedException {
+        recorder = newRecorder();
+        CommandRequest request = request();
+        String stderr = "x".repeat(5000) + "Error: chart not found";
+
+        recorder.onQueued(request);
+        recorder.flush();
+        recorder.onFinished(request, CommandResult.builder().exitCode(1).stdout("").stderr(stderr).build(), null, 0);
+        recorder.flush();
+
+        ProvisioningJob job = repository.findById(request.getJobId()).orElseThrow();
+        assertThat(job.getState()).isEqualTo(JobState.FAILED);
+        assertThat(job.getStderr()).hasSize(ProvisioningJob.MAX_STDERR_LENGTH).endsWith("Error: chart not found");
+    }
+
+    @Test
+    void marksUnfinishedJobsInterruptedOnStartup() {
+        ProvisioningJob running = new ProvisioningJob();
+        running.setId("job-running");
+        running.setOperation(OperationType.INSTALL);
+        running.setState(JobState.RUNNING);
+        running.setQueuedAt(Instant.now());
+        ProvisioningJob done = new ProvisioningJob();
+        done.setId("job-done");
+        done.setOperation(OperationType.INSTALL);
+        done.setState(JobState.SUCCEEDED);
+        repository.save(running);
+        repository.save(done);
+
+        recorder = newRecorder();
+
+        ProvisioningJob interrupted = repository.findById("job-running").orElseThrow();
+        assertThat(interrupted.getState()).isEqualTo(JobState.INTERRUPTED);
+        assertThat(interrupted.getStderr()).isEqualTo(ProvisioningJobRecorder.INTERRUPTED_MESSAGE);
+        assertThat(interrupted.getFinishedAt()).isNotNull();
+        assertThat(repository.findById("job-done").orElseThrow().getState()).isEqualTo(JobState.SUCCEEDED);
+    }
+
+    @Test
+    void spaceStatusKeepsLatestRequestedJob() throws InterruptedException {
+        recorder = newRecorder();
+        CommandRequest older = request();
+        CommandRequest newer = request();
+        CommandResult success = CommandResult.builder().exitCode(0).stdout("").stderr("").build();
+
+        recorder.onQueued(older);
+        recorder.flush();
+        recorder.onQueued(newer);
+        recorder.onStarted(newer, 0);
+        recorder.flush();
+        // 이전 작업이 늦게 끝나도 space 의 마지막 작업은 바뀌지 않음
+        recorder.onFinished(older, success, null, 0);
+        recorder.flush();
+
+        SpaceStatus space = spaceStatusRepository.findById("space-1").orElseThrow();
+        assertThat(space.getJobId()).isEqualTo(newer.getJobId());
+        assertThat(space.getState()).isEqualTo(JobState.RUNNING);
+
+        recorder.onFinished(newer, success, null, 0);
+        recorder.flush();
+        assertThat(spaceStatusRepository.findById("space-1").orElseThrow().getState()).isEqualTo(JobState.SUCCEEDED);
+    }
+
+    @Test
+    void finishedStateIsKeptWhenQueueIsFull() throws Exception {
+        CmdProperties cmdProperties = new CmdProperties();
+        cmdProperties.getJobStore().setQueueCapacity(2);
+        // writer 를 시작하지 않아 flush 를 호출하기 전까지 큐가 비워지지 않음
+        recorder = new ProvisioningJobRecorder(repository, spaceStatusRepository, jdbcTemplate, cmdProperties);
+        CommandRequest request = request();
+        recorder.onQueued(request);
+        recorder.onStarted(request, 0);
+        recorder.onQueued(request());
+        assertThat(recorder.getDroppedCount()).isEqualTo(1);
+
+        Thread finishing = new Thread(() -> recorder.onFinished(
+                request, CommandResult.builder().exitCode(0).stdout("").stderr("").build(), null, 0));
+        finishing.start();
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (finishing.getState() != Thread.State.TIMED_WAITING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        recorder.flush();
+        finishing.join(TimeUnit.SECONDS.toMillis(10));
+        recorder.flush();
+
+        assertThat(recorder.getDroppedCount()).isEqualTo(1);
+        assertThat(repository.findById(request.getJobId()).orElseThrow().getState()).isEqualTo(JobState.SUCCEEDED);
+    }
+
+    @Test
+    void finishesJobsEvictedFromMemory() throws InterruptedException {
+        CmdProperties cmdProperties = new CmdProperties();
+        cmdProperties.getJobStore().setQueueCapacity(2);
+        recorder = new ProvisioningJobRecorder(repository, spaceStatusRepository, jdbcTemplate, cmdProperties);
+        recorder.init();
+        CommandResult success = CommandResult.builder().exitCode(0).stdout("").stderr("").build();
+        List<CommandRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            CommandRequest request = request();
+            requests.add(request);
+            recorder.onQueued(request);
+            recorder.onStarted(request, TimeUnit.MILLISECONDS.toNanos(7));
+            recorder.flush();
+        }
+
+        // 메모리에는 최근 2개만 남아 있고, 나머지는 update 로 종료 상태가 반영되어야 함
+        for (CommandRequest request : requests) {
+            recorder.onFinished(request, success, null, 0);
+            recorder.flush();
+        }
+
+        for (CommandRequest request : requests) {
+            ProvisioningJob job = repository.findById(request.getJobId()).orElseThrow();
+            assertThat(job.getState()).isEqualTo(JobState.SUCCEEDED);
+            assertThat(job.getStartedAt()).isNotNull();
+            assertThat(job.getQueueMillis()).isEqualTo(7);
+        }
+        assertThat(recorder.getDroppedCount()).isZero();
+    }
+
+    @Test
+    void evictedJobDoesNotOverwriteNewerSpaceJob() throws InterruptedException {
+        CmdProperties cmdProperties = new CmdProperties();
+        cmdProperties.getJobStore().setQueueCapacity(2);
+        recorder = new ProvisioningJobRecorder(repository, spaceStatusRepository, jdbcTemplate, cmdProperties);
+        recorder.init();
+        CommandRequest evicted = request();
+        recorder.onQueued(evicted);
+        recorder.onStarted(evicted, 0);
+        recorder.flush();
+        Instant queuedAt = repository.findById(evicted.getJobId()).orElseThrow().getQueuedAt();
+        // 다른 space 의 작업으로 evicted 를 메모리에서 밀어냄
+        recorder.onQueued(request("space-2"));
+        recorder.onQueued(request("space-3"));
+        recorder.flush();
+        CommandRequest newer = request();
+        recorder.onQueued(newer);
+        recorder.flush();
+
+        recorder.onFinished(evicted, CommandResult.builder().exitCode(0).stdout("").stderr("").build(), null, 0);
+        recorder.flush();
+
+        ProvisioningJob job = repository.findById(evicted.getJobId()).orElseThrow();
+        assertThat(job.getState()).isEqualTo(JobState.SUCCEEDED);
+        assertThat(job.getQueuedAt()).isEqualTo(queuedAt);
+        SpaceStatus space = spaceStatusRepository.findById("space-1").orElseThrow();
+        assertThat(space.getJobId()).isEqualTo(newer.getJobId());
+        assertThat(space.getState()).isEqualTo(JobState.QUEUED);
+    }
+
+    @Test
+    void scrollsJobsByKeyset() {
+        Instant base = Instant.parse("2024-01-01T00:00:00Z");
+        for (int i = 0; i < 25; i++) {
+            ProvisioningJob job = new ProvisioningJob();
+            job.setId("job-" + (100 + i));
+            job.setOperation(OperationType.INSTALL);
+            job.setSpaceId("space-" + (i % 2));
+            job.setState(i % 3 == 0 ? JobState.FAILED : JobState.SUCCEEDED);
+            // 같은 queuedAt 이 있어도 id 로 순서가 정해지는지 확인
+            job.setQueuedAt(base.plusSeconds(i / 4));
+            repository.save(job);
+        }
+
+        List<String> ids = new ArrayList<>();
+        Instant afterQueuedAt = null;
+        String afterId = null;
+        Slice<ProvisioningJobSummary> page;
+        do {
+            page = repository.scroll(null, "space-0", null, null, afterQueuedAt, afterId, PageRequest.ofSize(4));
+            page.forEach(job -> ids.add(job.getId()));
+            if (page.hasContent()) {
+                ProvisioningJobSummary last = page.getContent().get(page.getNumberOfElements() - 1);
+                afterQueuedAt = last.getQueuedAt();
+                afterId = last.getId();
+            }
+        } while (page.hasNext());
+
+        assertThat(ids).hasSize(13).doesNotHaveDuplicates();
+        assertThat(ids.get(0)).isEqualTo("job-124");
+        assertThat(ids.get(ids.size() - 1)).isEqualTo("job-100");
+    }
+
+    @Test
+    void scrollsWithStateAndTimeRange() {
+        Instant base = Instant.parse("2024-01-01T00:00:00Z");
+        for (int i = 0; i < 10; i++) {
+            ProvisioningJob job = new ProvisioningJob();
+            job.setId("job-" + (100 + i));
+            job.setOperation(OperationType.INSTALL);
+            job.setSpaceId("space-" + i);
+            job.setState(i % 2 == 0 ? JobState.FAILED : JobState.SUCCEEDED);
+            job.setQueuedAt(base.plusSeconds(i));
+            repository.save(job);
+        }
+
+        Slice<ProvisioningJobSummary> failed = repository.scroll(
+                JobState.FAILED, null, base.plusSeconds(2), base.plusSeconds(8), null, null, PageRequest.ofSize(2));
+        assertThat(failed.getContent()).extracting(ProvisioningJobSummary::getId).containsExactly("job-106", "job-104");
+        assertThat(failed.hasNext()).isTrue();
+
+        ProvisioningJobSummary last = failed.getContent().get(1);
+        Slice<ProvisioningJobSummary> next = repository.scroll(
+                JobState.FAILED, null, base.plusSeconds(2), base.plusSeconds(8), last.getQueuedAt(), last.getId(), PageRequest.ofSize(2));
+        assertThat(next.getContent()).extracting(ProvisioningJobSummary::getId).containsExactly("job-102");
+        assertThat(next.hasNext()).isFalse();
+
+        assertThat(repository.scroll(null, null, null, null, null, null, Pageable.unpaged())).hasSize(10);
+    }
+
+    private ProvisioningJobRecorder newRecorder() {
+        ProvisioningJobRecorder created = new ProvisioningJobRecorder(
+                repository, spaceStatusRepository, jdbcTemplate, new CmdProperties());
+        created.init();
+        return created;
+    }
+
+    private static CommandRequest request() {
+        return request("space-1");
+    }
+
+    private static CommandRequest request(String spaceId) {
+        return CommandRequest.builder()
+                .operation(OperationType.INSTALL)
+                .spaceId(spaceId)
+                .cmd(new String[]{"helm", "install"})
+                .build();
+    }
+}
@@ -0,0 +1,107 @@
+package org.example.springbootboilerplate.service;
+
+import org.example.springbootboilerplate.dto.BulkPatchSummary;
+import org.example.springbootboilerplate.dto.CommandResult;
+import org.example.springbootboilerplate.properties.CmdProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResourceQuotaBulkServiceTest {
+
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(4);
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger maxRunning = new AtomicInteger();
+    private ResourceQuotaBulkService bulkService;
+
+    @AfterEach
+    void tearDown() {
+        if (bulkService != null) {
+            bulkService.destroy();
+        }
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void boundsParallelismAndSummarizesResults() throws Exception {
+        bulkService = newBulkService(2, 1000, 100);
+        Map<String, String> quotas = new LinkedHashMap<>();
+        for (int i = 0; i < 4; i++) {
+            quotas.put("ok-" + i, "{}");
+        }
+        quotas.put("skip-1", "{}");
+        quotas.put("skip-2", "{}");
+        quotas.put("fail-1", "{}");
+        quotas.put("throw-1", "{}");
+        Map<String, CommandResult> results = new ConcurrentHashMap<>();
+
+        BulkPatchSummary summary = bulkService.patchResourceQuotas(quotas, results::put).get(10, TimeUnit.SECONDS);
+
+        assertThat(maxRunning.get()).isLessThanOrEqualTo(2);
+        assertThat(summary.getTotal()).isEqualTo(8);
+        assertThat(summary.getSucceeded()).isEqualTo(4);
+        assertThat(summary.getSkipped()).isEqualTo(2);
+        assertThat(summary.getFailed()).isEqualTo(2);
+        assertThat(summary.getFailures())
+                .containsEntry("fail-1", "quota rejected")
+                .containsEntry("throw-1", "cannot build patch");
+        assertThat(results).hasSize(8);
+        assertThat(results.get("throw-1").getExitCode()).isEqualTo(-1);
+    }
+
+    @Test
+    void limitsStartRate() throws Exception {
+        // burst 1, 초당 20개 -> 첫 patch 이후 4개는 50ms 간격으로 시작
+        bulkService = newBulkService(8, 20, 1);
+        Map<String, String> quotas = new LinkedHashMap<>();
+        for (int i = 0; i < 5; i++) {
+            quotas.put("ok-" + i, "{}");
+        }
+
+        long startNanos = System.nanoTime();
+        BulkPatchSummary summary = bulkService.patchResourceQuotas(quotas, null).get(10, TimeUnit.SECONDS);
+
+        assertThat(summary.getSucceeded()).isEqualTo(5);
+        assertThat(Duration.ofNanos(System.nanoTime() - startNanos)).isGreaterThanOrEqualTo(Duration.ofMillis(180));
+    }
+
+    private ResourceQuotaBulkService newBulkService(int parallelism, double ratePerSecond, int burst) {
+        CmdProperties cmdProperties = new CmdProperties();
+        cmdProperties.getBulk().setParallelism(parallelism);
+        cmdProperties.getBulk().setRatePerSecond(ratePerSecond);
+        cmdProperties.getBulk().setBurst(burst);
+        CmdService cmdService = new CmdService(null, null, null, null, cmdProperties, null) {
+            @Override
+            public CompletableFuture<CommandResult> patchResourceQuotaAsync(String spaceId, String resourceQuota) {
+                if (spaceId.startsWith("throw-")) {
+                    throw new IllegalArgumentException("cannot build patch");
+                }
+                int current = running.incrementAndGet();
+                maxRunning.accumulateAndGet(current, Math::max);
+                CompletableFuture<CommandResult> future = new CompletableFuture<>();
+                scheduler.schedule(() -> {
+                    running.decrementAndGet();
+                    future.complete(CommandResult.builder()
+                            .exitCode(spaceId.startsWith("fail-") ? 1 : 0)
+                            .stdout("")
+                            .stderr(spaceId.startsWith("fail-") ? "quota rejected" : "")
+                            .skipped(spaceId.startsWith("skip-"))
+                            .build());
+                }, 30, TimeUnit.MILLISECONDS);
+                return future;
+            }
+        };
+        return new ResourceQuotaBulkService(cmdService, cmdProperties);
+    }
+}
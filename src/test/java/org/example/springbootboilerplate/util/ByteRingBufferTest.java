@@ -0,0 +1,60 @@
+package org.example.springbootboilerplate.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ByteRingBufferTest {
+
+    @Test
+    void keepsEverythingUnderCapacity() {
+        ByteRingBuffer ringBuffer = new ByteRingBuffer(8);
+        write(ringBuffer, "abc");
+        write(ringBuffer, "de");
+
+        assertThat(ringBuffer.toString(StandardCharsets.UTF_8)).isEqualTo("abcde");
+        assertThat(ringBuffer.isTruncated()).isFalse();
+        assertThat(ringBuffer.getTotalBytes()).isEqualTo(5);
+    }
+
+    @Test
+    void keepsLastBytesAfterWraparound() {
+        ByteRingBuffer ringBuffer = new ByteRingBuffer(8);
+        write(ringBuffer, "abcdef");
+        // 끝에 2 byte, 앞에 3 byte 로 나뉘어 쓰임
+        write(ringBuffer, "ghijk");
+
+        assertThat(ringBuffer.toString(StandardCharsets.UTF_8)).isEqualTo("defghijk");
+        assertThat(ringBuffer.isTruncated()).isTrue();
+        assertThat(ringBuffer.getTotalBytes()).isEqualTo(11);
+
+        write(ringBuffer, "lm");
+        assertThat(ringBuffer.toString(StandardCharsets.UTF_8)).isEqualTo("fghijklm");
+    }
+
+    @Test
+    void writeLargerThanCapacityKeepsTail() {
+        ByteRingBuffer ringBuffer = new ByteRingBuffer(4);
+        write(ringBuffer, "ab");
+        write(ringBuffer, "0123456789");
+
+        assertThat(ringBuffer.toString(StandardCharsets.UTF_8)).isEqualTo("6789");
+        assertThat(ringBuffer.getTotalBytes()).isEqualTo(12);
+    }
+
+    @Test
+    void zeroCapacityOnlyCounts() {
+        ByteRingBuffer ringBuffer = new ByteRingBuffer(0);
+        write(ringBuffer, "abc");
+
+        assertThat(ringBuffer.toByteArray()).isEmpty();
+        assertThat(ringBuffer.getTotalBytes()).isEqualTo(3);
+    }
+
+    private static void write(ByteRingBuffer ringBuffer, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        ringBuffer.write(bytes, 0, bytes.length);
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.springbootboilerplate.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProcessOutputPumpTest {
+
+    @Test
+    void splitsLinesAndKeepsTailInRingBuffer() {
+        List<String> lines = new ArrayList<>();
+        ProcessOutputPump pump = pump("first\r\nsecond\nlast", 8, 100, lines);
+
+        pump.run();
+
+        assertThat(lines).containsExactly("first", "second", "last");
+        assertThat(pump.getRingBuffer().toString(StandardCharsets.UTF_8)).isEqualTo("ond\nlast");
+        assertThat(pump.getRingBuffer().getTotalBytes()).isEqualTo(18);
+    }
+
+    @Test
+    void truncatesLongLines() {
+        List<String> lines = new ArrayList<>();
+        ProcessOutputPump pump = pump("0123456789\nshort\n", 1024, 4, lines);
+
+        pump.run();
+
+        assertThat(lines).containsExactly("0123", "shor");
+        // ring buffer 에는 잘리지 않은 원본이 남음
+        assertThat(pump.getRingBuffer().toString(StandardCharsets.UTF_8)).isEqualTo("0123456789\nshort\n");
+    }
+
+    @Test
+    void truncatesOnCharacterBoundary() {
+        List<String> lines = new ArrayList<>();
+        // 한글은 3 byte, 4 byte 에서 자르면 두번째 글자가 깨지므로 첫 글자까지만 전달
+        ProcessOutputPump pump = pump("가나다\nab가\n", 1024, 4, lines);
+
+        pump.run();
+
+        assertThat(lines).containsExactly("가", "ab");
+    }
+
+    @Test
+    void characterBoundary() {
+        byte[] bytes = "a가😀".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(ProcessOutputPump.characterBoundary(bytes, 1)).isEqualTo(1);
+        assertThat(ProcessOutputPump.characterBoundary(bytes, 2)).isEqualTo(1);
+        assertThat(ProcessOutputPump.characterBoundary(bytes, 3)).isEqualTo(1);
+        assertThat(ProcessOutputPump.characterBoundary(bytes, 4)).isEqualTo(4);
+        assertThat(ProcessOutputPump.characterBoundary(bytes, 7)).isEqualTo(4);
+        assertThat(ProcessOutputPump.characterBoundary(bytes, 8)).isEqualTo(8);
+    }
+
+    private static ProcessOutputPump pump(String output, int bufferSize, int maxLineLength, List<String> lines) {
+        return new ProcessOutputPump(
+                new ByteArrayInputStream(output.getBytes(StandardCharsets.UTF_8)),
+                ProcessOutputPump.Source.STDOUT,
+                bufferSize,
+                maxLineLength,
+                (source, line) -> lines.add(line));
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.springbootboilerplate.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestContextTest {
+
+    @AfterEach
+    void clear() {
+        RequestHolder.clearRequestHeaders();
+    }
+
+    @Test
+    void propagatesSnapshotAndClearsAfterTask() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            RequestHolder.setRequestHeaders(Map.of("authorization", "Bearer token"));
+            CompletableFuture<Map<String, String>> inTask = CompletableFuture.supplyAsync(
+                    RequestHolder::getRequestHeaders, RequestContext.wrap(executor));
+            RequestHolder.clearRequestHeaders();
+
+            assertThat(inTask.get()).containsEntry("authorization", "Bearer token");
+            assertThat(executor.submit(RequestHolder::getRequestHeaders).get()).isNull();
+            assertThat(CompletableFuture.supplyAsync(RequestHolder::getRequestHeaders, RequestContext.wrap(executor)).get())
+                    .isNull();
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void captureCopiesCallerMapWhichStaysWritable() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Map<String, String> headers = new HashMap<>();
+            headers.put("x-request-id", "first");
+            RequestHolder.setRequestHeaders(headers);
+            RequestHolder.getRequestHeaders().put("accept-language", "ko");
+
+            Runnable task = RequestContext.wrap(() -> assertThat(RequestHolder.getRequestHeaders())
+                    .containsExactlyInAnyOrderEntriesOf(Map.of("x-request-id", "first", "accept-language", "ko")));
+            // capture 이후의 수정은 이미 넘긴 작업에 보이지 않고, 이후 capture 에는 보인다.
+            headers.put("x-request-id", "second");
+            executor.submit(task).get();
+
+            assertThat(RequestHolder.getRequestHeaders()).isSameAs(headers);
+            assertThat(RequestContext.capture().getHeaders()).containsEntry("x-request-id", "second");
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+}
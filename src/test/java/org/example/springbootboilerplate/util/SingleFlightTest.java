@@ -0,0 +1,120 @@
+package org.example.springbootboilerplate.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SingleFlightTest {
+
+    @Test
+    void coalescesConcurrentCalls() {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>(Duration.ZERO, value -> true);
+        CompletableFuture<String> running = new CompletableFuture<>();
+        AtomicInteger executed = new AtomicInteger();
+        Supplier<CompletableFuture<String>> supplier = () -> {
+            executed.incrementAndGet();
+            return running;
+        };
+
+        CompletableFuture<String> first = singleFlight.execute("key", supplier);
+        CompletableFuture<String> second = singleFlight.execute("key", supplier);
+        CompletableFuture<String> other = singleFlight.execute("other", () -> CompletableFuture.completedFuture("other"));
+        running.complete("done");
+
+        assertThat(first).isCompletedWithValue("done");
+        assertThat(second).isCompletedWithValue("done");
+        assertThat(other).isCompletedWithValue("other");
+        assertThat(executed).hasValue(1);
+        assertThat(singleFlight.getExecutedCount()).isEqualTo(2);
+        assertThat(singleFlight.getCoalescedCount()).isEqualTo(1);
+
+        // 완료 이후에는 resultTtl 이 0 이므로 다시 실행
+        singleFlight.execute("key", supplier);
+        assertThat(executed).hasValue(2);
+    }
+
+    @Test
+    void failureIsSharedButNotCached() {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>(Duration.ofMinutes(1), value -> true);
+        CompletableFuture<String> running = new CompletableFuture<>();
+
+        CompletableFuture<String> first = singleFlight.execute("key", () -> running);
+        CompletableFuture<String> second = singleFlight.execute("key", () -> running);
+        running.completeExceptionally(new IllegalStateException("boom"));
+
+        assertThat(first).isCompletedExceptionally();
+        assertThat(second).isCompletedExceptionally();
+        assertThat(singleFlight.execute("key", () -> CompletableFuture.completedFuture("retry")))
+                .isCompletedWithValue("retry");
+    }
+
+    @Test
+    void reusesCacheableResultWithinTtl() throws InterruptedException {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>(Duration.ofMillis(200), "ok"::equals);
+        AtomicInteger executed = new AtomicInteger();
+        Supplier<CompletableFuture<String>> ok = () -> {
+            executed.incrementAndGet();
+            return CompletableFuture.completedFuture("ok");
+        };
+
+        assertThat(singleFlight.execute("key", ok)).isCompletedWithValue("ok");
+        assertThat(singleFlight.execute("key", ok)).isCompletedWithValue("ok");
+        assertThat(executed).hasValue(1);
+        assertThat(singleFlight.getCachedCount()).isEqualTo(1);
+
+        Thread.sleep(300);
+        assertThat(singleFlight.execute("key", ok)).isCompletedWithValue("ok");
+        assertThat(executed).hasValue(2);
+
+        // cacheable 이 아닌 결과는 재사용하지 않음
+        singleFlight.execute("failed", () -> CompletableFuture.completedFuture("failed"));
+        assertThat(singleFlight.execute("failed", () -> CompletableFuture.completedFuture("again")))
+                .isCompletedWithValue("again");
+    }
+
+    @Test
+    void cancelOfOneCallerKeepsSharedRun() {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>(Duration.ZERO, value -> true);
+        CompletableFuture<String> running = new CompletableFuture<>();
+
+        CompletableFuture<String> first = singleFlight.execute("key", () -> running);
+        CompletableFuture<String> second = singleFlight.execute("key", () -> running);
+        first.cancel(true);
+
+        assertThat(running).isNotCancelled();
+        running.complete("done");
+        assertThat(first).isCancelled();
+        assertThat(second).isCompletedWithValue("done");
+    }
+
+    @Test
+    void lastCallerCancelCancelsSharedRun() {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>(Duration.ZERO, value -> true);
+        CompletableFuture<String> running = new CompletableFuture<>();
+        AtomicInteger executed = new AtomicInteger();
+
+        CompletableFuture<String> first = singleFlight.execute("key", () -> {
+            executed.incrementAndGet();
+            return running;
+        });
+        CompletableFuture<String> second = singleFlight.execute("key", () -> running);
+        first.cancel(true);
+        second.cancel(true);
+
+        assertThat(running).isCancelled();
+        // 취소된 실행에는 합류하지 않고 새로 실행한다.
+        CompletableFuture<String> next = new CompletableFuture<>();
+        CompletableFuture<String> third = singleFlight.execute("key", () -> {
+            executed.incrementAndGet();
+            return next;
+        });
+        next.complete("again");
+        assertThat(third).isCompletedWithValue("again");
+        assertThat(executed).hasValue(2);
+    }
+}
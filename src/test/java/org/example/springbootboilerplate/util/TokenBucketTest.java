@@ -0,0 +1,41 @@
+package org.example.springbootboilerplate.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenBucketTest {
+
+    @Test
+    void burstIsAvailableImmediately() {
+        TokenBucket tokenBucket = new TokenBucket(3, 1);
+
+        assertThat(tokenBucket.tryAcquire()).isTrue();
+        assertThat(tokenBucket.tryAcquire()).isTrue();
+        assertThat(tokenBucket.tryAcquire()).isTrue();
+        assertThat(tokenBucket.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void acquireWaitsForRefill() throws InterruptedException {
+        // 초당 20개 -> burst 2개 이후 3개는 50ms 간격
+        TokenBucket tokenBucket = new TokenBucket(2, 20);
+
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            tokenBucket.acquire();
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+
+        assertThat(elapsedMillis).isBetween(130L, 1_000L);
+    }
+
+    @Test
+    void rejectsNonPositiveSettings() {
+        assertThatThrownBy(() -> new TokenBucket(0, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TokenBucket(1, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
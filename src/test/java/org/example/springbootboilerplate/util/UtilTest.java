@@ -0,0 +1,191 @@
+package org.example.springbootboilerplate.util;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UtilTest {
+
+    @Test
+    void concatAllArray() {
+        String[] first = {"helm", "install"};
+        String[] second = {"--kubeconfig", "/config"};
+        String[] empty = {};
+
+        assertThat(Util.concatAllArray(first, empty, second))
+                .containsExactly("helm", "install", "--kubeconfig", "/config");
+        assertThat(Util.concatAllArray(new Integer[]{1}, new Integer[]{2}))
+                .isInstanceOf(Integer[].class)
+                .containsExactly(1, 2);
+    }
+
+    @Test
+    void concatAllArrayKeepsEdgeCases() {
+        String[] only = {"kubectl"};
+
+        assertThat(Util.concatAllArray((String[]) null)).isNull();
+        assertThat(Util.concatAllArray(null, only)).isSameAs(only);
+        assertThat(Util.concatAllArray(only)).isSameAs(only);
+        assertThat(Util.concatAllArray(only, null)).isSameAs(only);
+        assertThat(Util.concatAllArray(null, only, null, new String[]{"apply"}, null)).containsExactly("kubectl", "apply");
+    }
+
+    @Test
+    void concatAllArrayVariants() {
+        String[] first = {"a", "b"};
+        String[] second = {"c"};
+
+        assertThat(Util.concatAllArray(List.of(first, second), String[]::new)).containsExactly("a", "b", "c");
+        assertThat(Util.concatAllList(first, null, second)).containsExactly("a", "b", "c");
+        assertThat(Util.concatAllArray(new int[]{1}, null, new int[]{2, 3})).containsExactly(1, 2, 3);
+        assertThat(Util.concatAllArray(new long[]{1L}, new long[]{2L})).containsExactly(1L, 2L);
+        // null 처리는 모든 overload 가 같다.
+        assertThat(Util.concatAllArray(Arrays.asList(null, first, null, second), String[]::new)).containsExactly("a", "b", "c");
+        assertThat(Util.concatAllArray(null, new long[]{1L}, null)).containsExactly(1L);
+        assertThat(Util.concatAllArray(new byte[]{1}, null, new byte[]{2})).containsExactly(1, 2);
+    }
+
+    @Test
+    void tripleWithCollectionsByFlagKeepsBranches() {
+        List<String> flags = List.of("U", "D", "A", "X", "U");
+
+        var three = Util.getTripleWithCollectionsByFlag(flags, flag -> flag, "U", "D", "A");
+        assertThat(three.getLeft()).containsExactly("U", "U");
+        assertThat(three.getMiddle()).containsExactly("D");
+        assertThat(three.getRight()).containsExactly("A");
+
+        var two = Util.getTripleWithCollectionsByFlag(flags, flag -> flag, "U", "D");
+        assertThat(two.getRight()).containsExactly("A", "X");
+
+        var one = Util.getTripleWithCollectionsByFlag(flags, flag -> flag, "U");
+        assertThat(one.getMiddle()).containsExactly("D", "A", "X");
+        assertThat(one.getRight()).containsExactly("D", "A", "X").isNotSameAs(one.getMiddle());
+    }
+
+    @Test
+    void partitionerIsParallelSafe() {
+        List<Integer> numbers = IntStream.range(0, 100_000).boxed().toList();
+
+        List<List<Integer>> buckets = numbers.parallelStream()
+                .collect(Partitioner.byKeys(number -> number % 3, 0, 1));
+        assertThat(buckets.get(0)).hasSize(33_334).isSorted();
+        assertThat(buckets.get(1)).hasSize(33_333).isSorted();
+        assertThat(buckets.get(2)).hasSize(33_333).isSorted();
+
+        EnumMap<Parity, List<Integer>> byParity = numbers.parallelStream()
+                .collect(Partitioner.byEnum(Parity.class, number -> number % 2 == 0 ? Parity.EVEN : Parity.ODD));
+        assertThat(byParity.get(Parity.EVEN)).hasSize(50_000);
+        assertThat(Partitioner.partitionByEnum(numbers, Parity.class, number -> null))
+                .containsOnlyKeys(Parity.values())
+                .allSatisfy((parity, bucket) -> assertThat(bucket).isEmpty());
+    }
+
+    @Test
+    void findSingleDataByCollectionsReportsState() {
+        Function<String, String> identity = value -> value;
+        List<String> same = List.of("space-1", "space-1");
+
+        assertThat(Util.findSingleDataByCollections(Pair.of(same, identity)).toOptional()).contains("space-1");
+        assertThat(Util.findSingleDataByCollections(Pair.of(List.of(), identity)).getState())
+                .isEqualTo(SingleValue.State.EMPTY);
+
+        SingleValue<String> ambiguous = Util.findSingleDataByCollections(true,
+                Pair.of(same, identity), Pair.of(List.of("space-2"), identity));
+        assertThat(ambiguous.getState()).isEqualTo(SingleValue.State.AMBIGUOUS);
+        assertThat(ambiguous.getConflict()).isEqualTo("space-2");
+        assertThat(Util.<String>getSingleDataByCollections(Pair.of(same, identity), Pair.of(List.of("space-2"), identity)))
+                .isNull();
+    }
+
+    @Test
+    void zipViewSplitsForParallelStreams() {
+        List<Integer> ids = IntStream.range(0, 10_000).boxed().toList();
+        List<String> names = ids.stream().map(id -> "space-" + id).toList();
+
+        assertThat(ZipView.of(ids, names).parallelStream()
+                .filter(pair -> pair.getRight().equals("space-" + pair.getLeft()))
+                .count()).isEqualTo(10_000);
+        assertThat(Util.getListPairByTwoList(List.of(1, 2), List.of("a", "b")))
+                .containsExactly(Pair.of(1, "a"), Pair.of(2, "b"));
+        assertThat(IntKeyedColumns.of(names, name -> name.length(), name -> name).getKey(0)).isEqualTo(7);
+        LongKeyedColumns<String> columns = LongKeyedColumns.of(ids, id -> id * 10L, id -> "space-" + id);
+        assertThat(columns.size()).isEqualTo(10_000);
+        assertThat(columns.getKey(3)).isEqualTo(30L);
+        assertThat(columns.values()).first().isEqualTo("space-0");
+        assertThatThrownBy(() -> ZipView.of(List.of(1), List.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void pairByTwoCollectionReturnsEmptyOnMismatch() {
+        // size() 는 3 이지만 실제로는 2개만 순회되는 Collection
+        Collection<String> shortIterating = new AbstractCollection<>() {
+            @Override
+            public Iterator<String> iterator() {
+                return List.of("a", "b").iterator();
+            }
+
+            @Override
+            public int size() {
+                return 3;
+            }
+        };
+
+        assertThat(Util.getListPairByTwoCollection(Set.of(1, 2), List.of("a"))).isEmpty();
+        assertThat(Util.getListPairByTwoCollection(new LinkedHashSet<>(List.of(1, 2, 3)), shortIterating)).isEmpty();
+        assertThat(Util.getListPairByTwoCollection(new LinkedHashSet<>(List.of(1, 2)), new LinkedHashSet<>(List.of("a", "b"))))
+                .containsExactly(Pair.of(1, "a"), Pair.of(2, "b"));
+    }
+
+    @Test
+    void requestHeadersAreMemoisedPerRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer token");
+        request.addHeader("X-Trace-Id", "trace");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        try {
+            Map<String, String> headers = Util.getRequestHeaders();
+
+            assertThat(Util.getRequestHeaders()).isSameAs(headers);
+            assertThat(headers.get("authorization")).isEqualTo("Bearer token");
+            assertThat(Util.getRequestHeaders(List.of("x-trace-id"))).containsOnlyKeys("X-Trace-Id");
+            assertThatThrownBy(() -> headers.put("x", "y")).isInstanceOf(UnsupportedOperationException.class);
+        }
+        finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @Test
+    void allowResolveHeaderDoesNotMutateCaller() {
+        Map<String, Collection<String>> headers = new HashMap<>();
+        headers.put("Content-Length", List.of("10"));
+        headers.put("authorization", List.of("Bearer token"));
+
+        assertThat(Util.allowResolveHeader(headers)).containsOnlyKeys("authorization");
+        assertThat(headers).containsKey("Content-Length");
+    }
+
+    private enum Parity {
+        EVEN,
+        ODD
+    }
+}